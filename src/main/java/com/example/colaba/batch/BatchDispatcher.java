@@ -0,0 +1,169 @@
+package com.example.colaba.batch;
+
+import com.example.colaba.dto.batch.BatchItemRequest;
+import com.example.colaba.dto.batch.BatchItemResponse;
+import com.example.colaba.dto.common.ErrorResponseDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Выполняет один GET под-запрос batch теми же компонентами Spring MVC, что и DispatcherServlet:
+ * маппинг @RequestMapping, резолверы аргументов, валидация, конвертеры и GlobalExceptionHandler.
+ * Ответ эндпоинта перехватывается в памяти и возвращается как {@link BatchItemResponse}.
+ */
+@Slf4j
+@Component
+public class BatchDispatcher {
+
+    private static final List<Class<?>> ASYNC_RETURN_TYPES = List.of(ResponseBodyEmitter.class,
+            StreamingResponseBody.class, DeferredResult.class, Callable.class, WebAsyncTask.class, CompletionStage.class);
+
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final RequestMappingHandlerAdapter handlerAdapter;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final ObjectMapper objectMapper;
+
+    public BatchDispatcher(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                           RequestMappingHandlerAdapter handlerAdapter,
+                           @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                           ObjectMapper objectMapper) {
+        this.handlerMapping = handlerMapping;
+        this.handlerAdapter = handlerAdapter;
+        this.exceptionResolver = exceptionResolver;
+        this.objectMapper = objectMapper;
+    }
+
+    public BatchItemResponse dispatch(HttpServletRequest original, HttpServletResponse originalResponse,
+                                      BatchItemRequest item) {
+        BatchSubRequest request = new BatchSubRequest(original, item.path(), item.headers());
+        BatchSubResponse response = new BatchSubResponse(originalResponse);
+        // ServletUriComponentsBuilder и прочие RequestContextHolder-клиенты видят под-запрос
+        RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            handle(request, response);
+        } finally {
+            RequestContextHolder.setRequestAttributes(previous);
+        }
+        return toItemResponse(item.id(), response);
+    }
+
+    private void handle(BatchSubRequest request, BatchSubResponse response) {
+        ServletRequestPathUtils.parseAndCache(request);
+        Object handler = null;
+        try {
+            HandlerExecutionChain chain = handlerMapping.getHandler(request);
+            if (chain == null) {
+                writeError(response, HttpServletResponse.SC_NOT_FOUND, "NotFound",
+                        "No endpoint for GET " + request.getRequestURI());
+                return;
+            }
+            handler = chain.getHandler();
+            if (handler instanceof HandlerMethod method && isStreaming(method)) {
+                writeError(response, HttpServletResponse.SC_BAD_REQUEST, "InvalidRequest",
+                        "Streaming endpoint GET " + request.getRequestURI() + " is not supported in a batch");
+                return;
+            }
+            handlerAdapter.handle(request, response, handler);
+        } catch (Exception e) {
+            if (exceptionResolver.resolveException(request, response, handler, e) == null) {
+                log.error("Unhandled batch sub-request failure: GET {}", request.getRequestURI(), e);
+                writeError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "InternalError",
+                        "Internal server error");
+            }
+        }
+    }
+
+    // Потоковым и async-ответам нужен startAsync, а у под-запроса его нет. Проверка до вызова: SSE-эндпоинт
+    // успел бы подписаться в брокере, а без async-колбэков подписка и копящиеся в emitter события остались бы навсегда
+    private static boolean isStreaming(HandlerMethod method) {
+        ResolvableType returnType = ResolvableType.forMethodReturnType(method.getMethod());
+        if (HttpEntity.class.isAssignableFrom(returnType.toClass())) {
+            returnType = returnType.getGeneric(0);
+        }
+        Class<?> body = returnType.toClass();
+        if (ASYNC_RETURN_TYPES.stream().anyMatch(type -> type.isAssignableFrom(body))) {
+            return true;
+        }
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), RequestMapping.class);
+        return mapping != null && Arrays.stream(mapping.produces())
+                .anyMatch(produces -> produces.trim().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    private void writeError(BatchSubResponse response, int status, String error, String message) {
+        response.reset();
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try {
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponseDto(error, status, message));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private BatchItemResponse toItemResponse(String id, BatchSubResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> header : response.getHeaderMap().entrySet()) {
+            // Тип тела и так JSON, остальные (ETag, Last-Modified, X-Total-Count, Location) — клиенту
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                headers.put(header.getKey(), String.join(", ", header.getValue()));
+            }
+        }
+        return new BatchItemResponse(id, response.getStatus(), headers, body(response));
+    }
+
+    private JsonNode body(BatchSubResponse response) {
+        byte[] bytes = response.getBody();
+        if (bytes.length == 0) {
+            return null;
+        }
+        String contentType = response.getContentType();
+        if (contentType != null && isJson(MediaType.parseMediaType(contentType))) {
+            try {
+                return objectMapper.readTree(bytes);
+            } catch (IOException e) {
+                log.warn("Batch sub-response is not valid JSON, returning it as text", e);
+            }
+        }
+        return TextNode.valueOf(new String(bytes, Charset.forName(response.getCharacterEncoding())));
+    }
+
+    // application/json и application/*+json (problem+json от DefaultHandlerExceptionResolver)
+    private static boolean isJson(MediaType type) {
+        return type.isCompatibleWith(MediaType.APPLICATION_JSON) || "json".equals(type.getSubtypeSuffix());
+    }
+}
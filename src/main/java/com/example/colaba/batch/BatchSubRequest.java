@@ -0,0 +1,237 @@
+package com.example.colaba.batch;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GET-запрос внутри POST /api/batch: свой путь, параметры, заголовки и атрибуты поверх исходного запроса.
+ * Атрибуты (переменные пути, разобранный путь, результаты HandlerMapping) хранятся локально, чтобы
+ * под-запросы — в том числе параллельные — не видели чужих и атрибутов самого POST; исходный запрос только читается.
+ */
+class BatchSubRequest extends HttpServletRequestWrapper {
+
+    private final String requestUri;
+    private final String servletPath;
+    private final String queryString;
+    private final Map<String, String[]> parameters = new LinkedHashMap<>();
+    private final Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    BatchSubRequest(HttpServletRequest original, String path, Map<String, String> headers) {
+        super(original);
+        UriComponents uri = UriComponentsBuilder.fromUriString(path).build();
+        String rawPath = uri.getPath() == null ? "" : uri.getPath();
+        this.requestUri = original.getContextPath() + rawPath;
+        this.servletPath = UriUtils.decode(rawPath, StandardCharsets.UTF_8);
+        this.queryString = uri.getQuery();
+        MultiValueMap<String, String> query = uri.getQueryParams();
+        query.forEach((name, values) -> parameters.put(UriUtils.decode(name, StandardCharsets.UTF_8),
+                values.stream().map(value -> value == null ? "" : UriUtils.decode(value, StandardCharsets.UTF_8))
+                        .toArray(String[]::new)));
+        this.headers.put(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        if (headers != null) {
+            this.headers.putAll(headers);
+        }
+        // Контекст, LocaleResolver и т. п. от DispatcherServlet; атрибуты маршрутизации самого /api/batch не копируются
+        for (String name : Collections.list(original.getAttributeNames())) {
+            if (name.startsWith(DispatcherServlet.class.getName())) {
+                attributes.put(name, original.getAttribute(name));
+            }
+        }
+    }
+
+    @Override
+    public String getMethod() {
+        return "GET";
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer();
+        url.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort()).append(requestUri);
+        return url;
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        String value = headers.get(name);
+        return Collections.enumeration(value == null ? List.of() : List.of(value));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(new ArrayList<>(headers.keySet()));
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = headers.get(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = headers.get(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date header " + name + ": " + value, e);
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return null;
+    }
+
+    @Override
+    public int getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return -1;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream empty = new ByteArrayInputStream(new byte[0]);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return true;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new IllegalStateException("Non-blocking IO is not supported for batch sub-requests");
+            }
+
+            @Override
+            public int read() {
+                return empty.read();
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    // Потоковые (async) ответы, например /api/projects/export, в batch не поддерживаются
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+}
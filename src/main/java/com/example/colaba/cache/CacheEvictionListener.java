@@ -0,0 +1,74 @@
+package com.example.colaba.cache;
+
+import com.example.colaba.db.AfterCommit;
+import com.example.colaba.entity.Project;
+import com.example.colaba.entity.Tag;
+import com.example.colaba.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener для кэшируемых справочных сущностей.
+ * Hibernate обновляет собственный L2 кэш сам; здесь — то, о чём он не знает:
+ * каскадные удаления в БД и другие инстансы приложения.
+ * Зависимости берутся через ObjectProvider: listener создаётся во время сборки EntityManagerFactory.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheEvictionListener {
+
+    private final ObjectProvider<ReferenceCacheEvictor> evictor;
+    private final ObjectProvider<ClusterCacheInvalidator> clusterInvalidator;
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        changed(entity, false);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        changed(entity, true);
+    }
+
+    // Bulk DELETE (JPQL/native) не вызывает entity listeners: сервис сообщает об удалении сам
+    public void onBulkRemove(Class<?> type, Object id) {
+        changed(type, id, true);
+    }
+
+    private void changed(Object entity, boolean removed) {
+        Class<?> type;
+        Object id;
+        switch (entity) {
+            case User user -> {
+                type = User.class;
+                id = user.getId();
+            }
+            case Project project -> {
+                type = Project.class;
+                id = project.getId();
+            }
+            case Tag tag -> {
+                type = Tag.class;
+                id = tag.getId();
+            }
+            default -> {
+                return;
+            }
+        }
+        changed(type, id, removed);
+    }
+
+    private void changed(Class<?> type, Object id, boolean removed) {
+        // NOTIFY уходит в текущей транзакции: другие инстансы получат его только после COMMIT
+        clusterInvalidator.ifAvailable(invalidator -> invalidator.publish(type, id, removed));
+
+        if (!removed) {
+            return;
+        }
+        AfterCommit.run("Cache eviction of " + type.getSimpleName() + " dependents",
+                () -> evictor.getObject().evictDependents(type));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.colaba.cache;
+
+/**
+ * Имена регионов Hibernate L2 кэша. Размер и TTL каждого региона задаются
+ * в {@code application.conf} (секция {@code caffeine.jcache}).
+ */
+public final class CacheRegions {
+    public static final String USERS = "users";
+    public static final String PROJECTS = "projects";
+    public static final String TAGS = "tags";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.colaba.cache;
+
+import com.example.colaba.entity.Project;
+import com.example.colaba.entity.Tag;
+import com.example.colaba.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Инвалидация L2 кэша между инстансами через PostgreSQL LISTEN/NOTIFY.
+ * <p>
+ * Изменение User/Project/Tag публикует {@code pg_notify} в той же транзакции,
+ * поэтому сообщение доставляется только после COMMIT и теряется при откате.
+ * Каждый инстанс держит одно соединение с LISTEN и сбрасывает у себя изменённую запись.
+ * После разрыва соединения пропущенные сообщения не восстановить — кэш сбрасывается целиком.
+ * Без этого компонента расхождение между инстансами ограничено TTL регионов.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "colaba.cache.cluster-invalidation.enabled", havingValue = "true")
+public class ClusterCacheInvalidator implements SmartLifecycle {
+
+    static final String CHANNEL = "colaba_cache_evict";
+    private static final int POLL_TIMEOUT_MS = 5_000;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+    private static final Map<String, Class<?>> TYPES = Map.of(
+            User.class.getSimpleName(), User.class,
+            Project.class.getSimpleName(), Project.class,
+            Tag.class.getSimpleName(), Tag.class
+    );
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReferenceCacheEvictor evictor;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread listener;
+
+    public void publish(Class<?> entityType, Object id, boolean removed) {
+        String payload = String.join(" ", instanceId, removed ? "R" : "U", entityType.getSimpleName(), String.valueOf(id));
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, payload);
+    }
+
+    void handle(String payload) {
+        String[] parts = payload.split(" ");
+        if (parts.length != 4 || instanceId.equals(parts[0])) {
+            return;
+        }
+        Class<?> type = TYPES.get(parts[2]);
+        if (type == null) {
+            return;
+        }
+        evictor.evict(type, Long.valueOf(parts[3]), "R".equals(parts[1]));
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, evicting L2 cache", e);
+                evictor.evictAll();
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
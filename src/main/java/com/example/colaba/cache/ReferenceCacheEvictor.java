@@ -0,0 +1,42 @@
+package com.example.colaba.cache;
+
+import com.example.colaba.entity.Project;
+import com.example.colaba.entity.Tag;
+import com.example.colaba.entity.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Сброс записей L2 кэша, которые Hibernate сам инвалидировать не может.
+ * Удаление пользователя каскадно (ON DELETE CASCADE в БД) удаляет его проекты,
+ * удаление проекта — теги, поэтому зависимые регионы сбрасываются целиком.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evict(Class<?> entityType, Object id, boolean removed) {
+        entityManagerFactory.getCache().evict(entityType, id);
+        if (removed) {
+            evictDependents(entityType);
+        }
+    }
+
+    public void evictDependents(Class<?> entityType) {
+        Cache cache = entityManagerFactory.getCache();
+        if (entityType == User.class) {
+            cache.evict(Project.class);
+            cache.evict(Tag.class);
+        } else if (entityType == Project.class) {
+            cache.evict(Tag.class);
+        }
+    }
+
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+    }
+}
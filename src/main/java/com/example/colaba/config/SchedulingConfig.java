@@ -0,0 +1,10 @@
+package com.example.colaba.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Фоновые задачи по расписанию (сверка счётчиков задач); cron "-" в настройках отключает задачу
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,8 +1,16 @@
 package com.example.colaba.controller;
 
+import com.example.colaba.dto.common.ResourceVersion;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public abstract class BaseController {
     private static final int DEFAULT_PAGE = 0;
@@ -18,4 +26,47 @@ public abstract class BaseController {
         }
         return pageable;
     }
+
+    // Лимит для cursor/scroll эндпоинтов: те же границы, что и у Pageable
+    static int validateLimit(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(limit, MAX_SIZE);
+    }
+
+    // fields=... строит ответ из выбранных колонок, а не из DTO: догрузки и режимы без COUNT к нему не применимы
+    static void rejectWithFields(String parameter, boolean present) {
+        if (present) {
+            throw new IllegalArgumentException("fields cannot be combined with " + parameter);
+        }
+    }
+
+    // Условный GET. С If-None-Match/If-Modified-Since сначала дешёвый запрос версии: совпала — 304 без
+    // загрузки ресурса (null от обработчика после checkNotModified), иначе checkNotModified уже выставил
+    // ETag/Last-Modified. Без условных заголовков версия считается по готовому ответу
+    static <T> ResponseEntity<T> conditionalGet(WebRequest request, Supplier<ResourceVersion> currentVersion,
+                                                Supplier<T> body, Function<T, ResourceVersion> versionOf) {
+        return conditionalGet(request, currentVersion, body, versionOf, (builder, result) -> builder);
+    }
+
+    static <T> ResponseEntity<T> conditionalGet(WebRequest request, Supplier<ResourceVersion> currentVersion,
+                                                Supplier<T> body, Function<T, ResourceVersion> versionOf,
+                                                BiFunction<ResponseEntity.BodyBuilder, T, ResponseEntity.BodyBuilder> headers) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            ResourceVersion version = currentVersion.get();
+            if (request.checkNotModified(version.etag(), version.lastModified())) {
+                return null;
+            }
+            T result = body.get();
+            return headers.apply(ResponseEntity.ok(), result).body(result);
+        }
+        T result = body.get();
+        ResourceVersion version = versionOf.apply(result);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(version.etag());
+        if (version.lastModified() != ResourceVersion.NO_LAST_MODIFIED) {
+            builder.lastModified(version.lastModified());
+        }
+        return headers.apply(builder, result).body(result);
+    }
 }
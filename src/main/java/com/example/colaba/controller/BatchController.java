@@ -0,0 +1,42 @@
+package com.example.colaba.controller;
+
+import com.example.colaba.dto.batch.BatchRequest;
+import com.example.colaba.dto.batch.BatchResponse;
+import com.example.colaba.service.BatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+@Tag(name = "Batch", description = "Several read requests in one round trip")
+public class BatchController extends BaseController {
+    private final BatchService batchService;
+
+    /**
+     * Несколько GET к существующим эндпоинтам одним запросом (например, экран задачи:
+     * задача, её теги, комментарии). Ответ — статус, заголовки и тело каждого под-запроса по порядку.
+     */
+    @PostMapping
+    @Operation(summary = "Execute several read requests in one round trip", description = "Accepts up to " + BatchService.MAX_REQUESTS + " GET sub-requests, each with an optional client id, a path with query string under /api/ (for example /api/tasks/42?include=tags) and optional headers such as If-None-Match. Each sub-request is routed to the regular endpoint, so parameters, validation and error responses are the same as for a direct call. The response lists the status, headers (ETag, Last-Modified, X-Total-Count, ...) and JSON body of every sub-request in request order; a failing sub-request does not fail the batch. By default sub-requests run one after another in a single read-only REPEATABLE READ transaction: one pooled connection and one consistent snapshot for the whole batch. With parallel=true they run concurrently (bounded by colaba.batch.max-parallelism), each in its own read-only transaction, without a shared snapshot. Streaming and async endpoints such as /api/projects/export and /api/projects/{id}/events are not invoked; their sub-requests get 400.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Responses of all sub-requests"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch, non-GET method or path outside /api/")
+    })
+    public ResponseEntity<BatchResponse> execute(@Valid @RequestBody BatchRequest batch,
+                                                 HttpServletRequest request,
+                                                 HttpServletResponse response) {
+        return ResponseEntity.ok(batchService.execute(batch, request, response));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.colaba.controller;
+
+import com.example.colaba.dto.cache.CacheRegionStatsResponse;
+import com.example.colaba.service.CacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "Second-level cache diagnostics")
+public class CacheStatsController extends BaseController {
+    private final CacheStatsService cacheStatsService;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get L2 cache statistics", description = "Returns hit, miss and put counters for the users, projects and tags second-level cache regions since application start. The list is empty when the second-level cache is disabled.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-region cache statistics")
+    })
+    public ResponseEntity<List<CacheRegionStatsResponse>> getStats() {
+        return ResponseEntity.ok(cacheStatsService.getRegionStats());
+    }
+}
@@ -1,27 +1,40 @@
 package com.example.colaba.controller;
 
+import com.example.colaba.dto.comment.CommentField;
 import com.example.colaba.dto.comment.CommentResponse;
 import com.example.colaba.dto.comment.CommentScrollResponse;
+import com.example.colaba.dto.comment.CommentVersionRow;
 import com.example.colaba.dto.comment.CreateCommentRequest;
+import com.example.colaba.dto.comment.PrefixCommentsRequest;
 import com.example.colaba.dto.comment.UpdateCommentRequest;
+import com.example.colaba.dto.common.BulkUpdateResponse;
+import com.example.colaba.dto.common.ResourceVersion;
+import com.example.colaba.dto.common.SliceResponse;
+import com.example.colaba.pagination.CountMode;
 import com.example.colaba.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.util.Map;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/comments")
 @RequiredArgsConstructor
 @Tag(name = "Comments", description = "API for managing comments")
 public class CommentController extends BaseController {
+    private static final int MAX_BULK_CHUNK = 10_000;
 
     private final CommentService commentService;
 
@@ -40,26 +53,54 @@ public class CommentController extends BaseController {
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get comment by ID")
+    @Operation(summary = "Get comment by ID", description = "The response carries a weak ETag and Last-Modified; a matching If-None-Match (or an unchanged If-Modified-Since) gets 304 Not Modified without loading the comment.")
     @ApiResponse(responseCode = "200", description = "Comment found")
+    @ApiResponse(responseCode = "304", description = "Comment not modified")
     @ApiResponse(responseCode = "404", description = "Comment not found")
-    public ResponseEntity<CommentResponse> getCommentById(@PathVariable @Positive Long id) {  // @Positive для валидации
-        CommentResponse comment = commentService.getCommentById(id);
-        return ResponseEntity.ok(comment);
+    public ResponseEntity<CommentResponse> getCommentById(@PathVariable @Positive Long id,  // @Positive для валидации
+                                                          WebRequest request) {
+        return conditionalGet(request, () -> commentService.getCommentVersion(id), () -> commentService.getCommentById(id),
+                comment -> CommentVersionRow.from(comment).version());
     }
 
 
+    @GetMapping("/counts/by-tasks")
+    @Operation(summary = "Get comment counts for several tasks", description = "Returns a map of task ID to its number of comments, computed with a single GROUP BY query. Every requested task ID is present in the map; tasks without comments (or unknown IDs) map to 0. At most " + CommentService.MAX_TASK_IDS + " IDs.")
+    @ApiResponse(responseCode = "200", description = "Comment counts by task ID")
+    @ApiResponse(responseCode = "400", description = "Too many task IDs")
+    public ResponseEntity<Map<Long, Long>> getCommentCountsByTasks(@RequestParam Set<Long> ids) {
+        return ResponseEntity.ok(commentService.getCommentCountsByTaskIds(ids));
+    }
+
     @GetMapping("/task/{taskId}")
-    @Operation(summary = "Get paginated comments by task ID")
+    @Operation(summary = "Get paginated comments by task ID", description = "count=none skips the COUNT query (hasNext only), count=estimate adds an approximate total from the query plan. With count=exact the page carries a weak ETag; a matching If-None-Match gets 304 Not Modified after a version-only query; there is no Last-Modified, so If-Modified-Since is ignored. fields=id,userId,createdAt (comma-separated CommentResponse property names; id is always returned) selects only those columns, e.g. to skip content; requires count=exact, no ETag.")
     @ApiResponse(responseCode = "200", description = "Paginated comments")
-    public ResponseEntity<Page<CommentResponse>> getCommentsByTask(
+    @ApiResponse(responseCode = "304", description = "Page not modified")
+    @ApiResponse(responseCode = "400", description = "Unknown count mode or field")
+    public ResponseEntity<?> getCommentsByTask(
             @PathVariable @Positive Long taskId,  // taskId required
-            Pageable pageable) {
-        pageable = validatePageable(pageable);
-        Page<CommentResponse> comments = commentService.getCommentsByTask(taskId, pageable);
-        return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(comments.getTotalElements()))  // Требование: total в header
-                .body(comments);
+            Pageable pageable,
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Pageable page = validatePageable(pageable);
+        CountMode mode = CountMode.from(count);
+        Set<CommentField> selected = CommentField.parse(fields);
+        if (!selected.isEmpty()) {
+            rejectWithFields("count=" + count, mode != CountMode.EXACT);
+            Page<Map<String, Object>> comments = commentService.getCommentFieldsByTask(taskId, selected, page);
+            return ResponseEntity.ok()
+                    .header("X-Total-Count", String.valueOf(comments.getTotalElements()))
+                    .body(comments);
+        }
+        if (mode != CountMode.EXACT) {  // Без COUNT: X-Total-Count не отдаём
+            SliceResponse<CommentResponse> comments = commentService.getCommentsByTaskSlice(taskId, page, mode == CountMode.ESTIMATE);
+            return ResponseEntity.ok(comments);
+        }
+        return conditionalGet(request, () -> commentService.getCommentsByTaskVersion(taskId, page),
+                () -> commentService.getCommentsByTask(taskId, page),
+                comments -> ResourceVersion.ofPage(comments.map(comment -> CommentVersionRow.from(comment).version())),
+                (builder, comments) -> builder.header("X-Total-Count", String.valueOf(comments.getTotalElements())));  // Требование: total в header
     }
 
     // Infinite scroll by task (требование: без total count)
@@ -70,8 +111,7 @@ public class CommentController extends BaseController {
             @PathVariable @Positive Long taskId,
             @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int limit) {
-        if (limit > 50) limit = 50;
-        CommentScrollResponse response = commentService.getCommentsByTaskScroll(taskId, cursor, limit);
+        CommentScrollResponse response = commentService.getCommentsByTaskScroll(taskId, cursor, validateLimit(limit));
         return ResponseEntity.ok(response);
     }
 
@@ -86,6 +126,22 @@ public class CommentController extends BaseController {
         return ResponseEntity.ok(updated);
     }
 
+    // Bulk prefix для всех комментариев задачи. chunkSize — коммитить пачками (без долгих блокировок)
+    @PatchMapping("/task/{taskId}/content-prefix")
+    @Operation(summary = "Prefix content of all comments of a task", description = "Prepends the prefix to every comment of the task with a single set-based UPDATE and returns the number of affected rows. With chunkSize the update runs in keyset-ordered batches, each committed separately, so row locks are held only per batch; this mode is not atomic. Updated comments are reindexed for search and published to project event subscribers as comment.updated after the update (or each batch) commits.")
+    @ApiResponse(responseCode = "200", description = "Number of updated comments")
+    @ApiResponse(responseCode = "400", description = "Validation error")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    public ResponseEntity<BulkUpdateResponse> prefixCommentsByTask(
+            @PathVariable @Positive Long taskId,
+            @RequestParam(required = false) @Positive @Max(MAX_BULK_CHUNK) Integer chunkSize,
+            @Valid @RequestBody PrefixCommentsRequest request) {
+        long updated = chunkSize == null
+                ? commentService.bulkUpdateContentForTask(taskId, request.prefix())
+                : commentService.bulkUpdateContentForTaskChunked(taskId, request.prefix(), chunkSize);
+        return ResponseEntity.ok(new BulkUpdateResponse(updated));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete comment by ID")
     @ApiResponse(responseCode = "204", description = "Comment deleted")
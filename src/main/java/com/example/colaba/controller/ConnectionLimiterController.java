@@ -0,0 +1,33 @@
+package com.example.colaba.controller;
+
+import com.example.colaba.db.ConnectionLimiter;
+import com.example.colaba.dto.db.ConnectionLimiterStatsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/db")
+@RequiredArgsConstructor
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Tag(name = "Database", description = "Database connection limiter diagnostics")
+public class ConnectionLimiterController extends BaseController {
+    private final ConnectionLimiter connectionLimiter;
+
+    @GetMapping("/limiter")
+    @Operation(summary = "Get database concurrency limiter statistics", description = "Available only when virtual threads are enabled (spring.threads.virtual.enabled=true). Requests then run on virtual threads and wait for a database permit instead of a Tomcat worker thread. Returns the number of permits, permits in use, an estimate of threads waiting, and counters since application start: permits granted, acquire timeouts, and average and maximum wait time in milliseconds.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Limiter statistics")
+    })
+    public ResponseEntity<ConnectionLimiterStatsResponse> getStats() {
+        return ResponseEntity.ok(connectionLimiter.getStats());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.colaba.controller;
+
+import com.example.colaba.dto.search.IndexSearchHitResponse;
+import com.example.colaba.dto.search.SearchHitType;
+import com.example.colaba.dto.search.SearchIndexStatusResponse;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.service.SearchIndexService;
+import com.example.colaba.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search/index")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "colaba.search.lucene.enabled", havingValue = "true")
+@Tag(name = "Search index", description = "Embedded Lucene index over tasks and comments, served without database round trips")
+public class IndexSearchController extends BaseController {
+    private final SearchIndexService searchIndexService;
+
+    @GetMapping
+    @Operation(summary = "Search the embedded index", description = "Searches the in-process Lucene index. Every query word must match a task title (exactly or with typos: one edit for words of 3-5 characters, two for longer ones) or the task description / comment text; exact title matches rank highest. Optional filters by projectId, status (tasks only — comments have no status) and types are applied inside the index, so no database query is made. Results reflect committed changes within about a second. At most " + SearchService.MAX_QUERY_LENGTH + " query characters; limit capped at 50.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Hits ordered by score"),
+            @ApiResponse(responseCode = "400", description = "Blank or too long query")
+    })
+    public ResponseEntity<List<IndexSearchHitResponse>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Set<TaskStatus> status,
+            @RequestParam(required = false) Set<SearchHitType> types,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchIndexService.search(q, projectId, status, types, validateLimit(limit)));
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild the embedded index", description = "Starts a background rebuild of the index from the database. Searches keep seeing the previous documents until each one is rewritten; documents of deleted rows are dropped at the end. Changes made through the API while the rebuild runs are kept: the rebuild does not overwrite them with its older snapshot. Needed after bulk operations that bypass the services (task import, user purge) and after losing the index directory. Repeated calls while a rebuild is running return its status.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Rebuild started or already running; poll the Location header for progress")
+    })
+    public ResponseEntity<SearchIndexStatusResponse> rebuild() {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/search/index/status"))
+                .body(searchIndexService.rebuild());
+    }
+
+    @GetMapping("/status")
+    @Operation(summary = "Get embedded index status", description = "Returns the number of indexed documents and the state of the last rebuild on this instance.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Index status")
+    })
+    public ResponseEntity<SearchIndexStatusResponse> getStatus() {
+        return ResponseEntity.ok(searchIndexService.getStatus());
+    }
+}
@@ -1,21 +1,38 @@
 package com.example.colaba.controller;
 
 import com.example.colaba.dto.project.CreateProjectRequest;
+import com.example.colaba.dto.project.ProjectField;
 import com.example.colaba.dto.project.ProjectResponse;
 import com.example.colaba.dto.project.ProjectScrollResponse;
+import com.example.colaba.dto.project.ProjectStatsResponse;
+import com.example.colaba.dto.project.ProjectTaskCountsResponse;
+import com.example.colaba.dto.project.ProjectVersionRow;
 import com.example.colaba.dto.project.UpdateProjectRequest;
+import com.example.colaba.dto.task.TaskChangesResponse;
+import com.example.colaba.service.ProjectEventService;
 import com.example.colaba.service.ProjectService;
+import com.example.colaba.service.ProjectStatsService;
+import com.example.colaba.service.ProjectTaskCounterService;
+import com.example.colaba.service.TaskSyncService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 @RestController
@@ -24,7 +41,15 @@ import java.util.Map;
 @Tag(name = "Projects", description = "API for managing projects, including creation, updates, owner changes, and retrieval")
 public class ProjectController extends BaseController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int EXPORT_FLUSH_EVERY = 100;
+
     private final ProjectService projectService;
+    private final ProjectStatsService projectStatsService;
+    private final ProjectTaskCounterService projectTaskCounterService;
+    private final ProjectEventService projectEventService;
+    private final TaskSyncService taskSyncService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Создать проект
@@ -81,55 +106,157 @@ public class ProjectController extends BaseController {
      * Получить проект по id
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Get project by ID", description = "Retrieves a specific project by its ID.")
+    @Operation(summary = "Get project by ID", description = "Retrieves a specific project by its ID. The response carries a weak ETag and Last-Modified; a request with a matching If-None-Match (or an unchanged If-Modified-Since) gets 304 Not Modified after a version-only query, without loading the project.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Project found"),
+            @ApiResponse(responseCode = "304", description = "Project not modified since the given ETag or date"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<ProjectResponse> getById(@PathVariable("id") Long id, WebRequest request) {
+        return conditionalGet(request, () -> projectService.getProjectVersion(id), () -> projectService.getById(id),
+                project -> ProjectVersionRow.from(project).version());
+    }
+
+    /**
+     * Сводка по задачам проекта для дашборда
+     */
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Get project task statistics", description = "Returns task counts of a project by status, by priority and by assignee (null assigneeId means unassigned), plus total and overdue counts. A task is overdue when its due date is before today and it is neither DONE nor CANCELLED. Computed with a single aggregate query and cached per project for a short time (30 seconds by default), so recent changes may appear with that delay; computedAt tells when the numbers were taken.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Project statistics"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<ProjectStatsResponse> getStats(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(projectStatsService.getProjectStats(id));
+    }
+
+    /**
+     * Количество задач проекта по статусам из счётчиков
+     */
+    @GetMapping("/{id}/task-counts")
+    @Operation(summary = "Get project task counts by status", description = "Returns the number of tasks of a project per status and in total. Read from per-project counters that are updated in the same transaction as task creation, status changes, deletion and import, so the numbers are current and the cost does not depend on the project size. A periodic reconciliation job repairs counters changed outside the API.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Task counts"),
             @ApiResponse(responseCode = "404", description = "Project not found")
     })
-    public ResponseEntity<ProjectResponse> getById(@PathVariable("id") Long id) {
-        ProjectResponse response = projectService.getById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ProjectTaskCountsResponse> getTaskCounts(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(projectTaskCounterService.getTaskCounts(id));
     }
 
     /**
-     * Получить все проекты (без пагинации)
+     * Получить все проекты (без пагинации). Для больших таблиц — /export
      */
     @GetMapping
-    @Operation(summary = "Get all projects (non-paginated)", description = "Retrieves all projects without pagination.")
+    @Operation(summary = "Get all projects (non-paginated)", description = "Retrieves all projects without pagination. Materializes the whole table; use /api/projects/export for large data sets. Use fields=id,name (comma-separated ProjectResponse property names; id is always returned) to select only those columns; users is joined only for ownerName.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "List of all projects")
+            @ApiResponse(responseCode = "200", description = "List of all projects"),
+            @ApiResponse(responseCode = "400", description = "Unknown field")
     })
-    public ResponseEntity<List<ProjectResponse>> getAll() {
+    public ResponseEntity<?> getAll(@RequestParam(required = false) String fields) {
+        Set<ProjectField> selected = ProjectField.parse(fields);
+        if (!selected.isEmpty()) {
+            return ResponseEntity.ok(projectService.getAllFields(selected));
+        }
         List<ProjectResponse> list = projectService.getAll();
         return ResponseEntity.ok(list);
     }
 
+    /**
+     * Потоковый экспорт всех проектов в NDJSON (одна JSON-строка на проект).
+     * Память не зависит от числа проектов, первые байты уходят до конца запроса.
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(summary = "Export all projects as NDJSON stream", description = "Streams every project as newline-delimited JSON using a server-side database cursor. Memory usage is constant regardless of the number of projects.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "NDJSON stream of projects")
+    })
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            projectService.streamAll(project -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(project));
+                    out.write('\n');
+                    // Первую строку — сразу, дальше пачками
+                    if (written[0]++ % EXPORT_FLUSH_EVERY == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    /**
+     * Поток изменений задач, комментариев и тегов задач проекта (Server-Sent Events) вместо опроса списков.
+     * В data — тип и идентификаторы; сами данные клиент читает обычными GET.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to project change events (SSE)", description = "Opens a Server-Sent Events stream of changes in the project, published after the change is committed: task.created, task.updated, task.deleted, comment.created, comment.updated, comment.deleted, tag.assigned, tag.removed and tags.updated (batch tag changes: one event per project listing only the task/tag links actually added or removed in that project). Each event's data is JSON with the type, projectId, the affected ids and occurredAt; fetch the current state with the regular GET endpoints. Each connection has a bounded buffer (colaba.events.buffer-size): if the client reads too slowly, newer events are dropped and the next delivered event is a dropped event with droppedCount, after which the client should reload the state. A heartbeat comment is sent to idle connections; the stream closes after colaba.events.timeout and the client reconnects. Events are not replayed on reconnect (Last-Event-ID is ignored), and only changes made through this instance are delivered.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public SseEmitter events(@PathVariable("id") Long id) {
+        return projectEventService.subscribe(id);
+    }
+
+    /**
+     * Дельта-синхронизация задач проекта: изменённые и удалённые после водяного знака since.
+     * Без since — все задачи проекта (первая синхронизация).
+     */
+    @GetMapping("/{id}/tasks/changes")
+    @Operation(summary = "Get task changes since a watermark", description = "Returns tasks of the project created or updated after the since watermark (changed, ordered by updatedAt and id) and ids of tasks deleted after it (deleted, with deletedAt), plus a new opaque watermark to pass as since next time. Omit since for the initial sync: all tasks of the project are returned and deleted is empty. limit caps changed (default 20, max 50); while hasMore is true, call again with the returned watermark. The watermark trails the current time by colaba.sync.settle-delay, so the most recent changes may be returned again on the next call (apply them idempotently); this covers transactions that commit late and clock differences between instances. A change of a related name (project name, username) does not change the task's updatedAt and is not reported. Deleted tasks are remembered for colaba.sync.tombstone-retention; an older watermark gets 410 Gone and the client has to sync again without since. Cost depends on the number of changes, not on the project size.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Changed and deleted tasks with the next watermark"),
+            @ApiResponse(responseCode = "400", description = "Invalid watermark"),
+            @ApiResponse(responseCode = "404", description = "Project not found"),
+            @ApiResponse(responseCode = "410", description = "Watermark is older than the deleted tasks retention")
+    })
+    public ResponseEntity<TaskChangesResponse> getTaskChanges(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", required = false, defaultValue = "20") int limit) {
+        return ResponseEntity.ok(taskSyncService.getTaskChanges(id, since, validateLimit(limit)));
+    }
+
     /**
      * Получить проекты по владельцу
      */
     @GetMapping("/owner/{ownerId}")
-    @Operation(summary = "Get projects by owner ID", description = "Retrieves a list of projects owned by a specific user.")
+    @Operation(summary = "Get projects by owner ID", description = "Retrieves a list of projects owned by a specific user. Supports fields=... like the full project list.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of projects for the owner"),
+            @ApiResponse(responseCode = "400", description = "Unknown field"),
             @ApiResponse(responseCode = "404", description = "Owner user not found")
     })
-    public ResponseEntity<List<ProjectResponse>> getByOwner(@PathVariable("ownerId") Long ownerId) {
+    public ResponseEntity<?> getByOwner(@PathVariable("ownerId") Long ownerId,
+                                        @RequestParam(required = false) String fields) {
+        Set<ProjectField> selected = ProjectField.parse(fields);
+        if (!selected.isEmpty()) {
+            return ResponseEntity.ok(projectService.getByOwnerIdFields(ownerId, selected));
+        }
         List<ProjectResponse> list = projectService.getByOwnerId(ownerId);
         return ResponseEntity.ok(list);
     }
 
     /**
-     * Пагинация / прокрутка (scroll). Параметры page/size опциональны.
-     * Возвращает ProjectScrollResponse (list + hasNext + total).
+     * Прокрутка (scroll) по keyset-курсору. Параметры cursor/size опциональны.
+     * Возвращает ProjectScrollResponse (list + nextCursor + hasMore), без COUNT.
      */
     @GetMapping("/scroll")
-    @Operation(summary = "Get projects with scrolling pagination", description = "Retrieves projects for scrolling pagination (page and size). Parameters page/size are optional with defaults. Size capped at 50.")
+    @Operation(summary = "Get projects with scrolling pagination", description = "Retrieves projects ordered by ID using an opaque keyset cursor. Parameters cursor/size are optional; omit cursor for the first page. Size capped at 50.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Scroll response with projects, hasNext, and total"),
-            @ApiResponse(responseCode = "400", description = "Invalid page size > 50")
+            @ApiResponse(responseCode = "200", description = "Scroll response with projects, nextCursor and hasMore"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size > 50")
     })
     public ResponseEntity<ProjectScrollResponse> scroll(
-            @RequestParam(value = "page", required = false, defaultValue = "0") int page,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "size", required = false, defaultValue = "20") int size
     ) {
 
@@ -138,7 +265,7 @@ public class ProjectController extends BaseController {
                     .body(null); // или можешь бросить кастомное исключение
         }
 
-        ProjectScrollResponse scroll = projectService.scroll(page, size);
+        ProjectScrollResponse scroll = projectService.scroll(cursor, size);
         return ResponseEntity.ok(scroll);
     }
 
@@ -0,0 +1,97 @@
+package com.example.colaba.controller;
+
+import com.example.colaba.dto.common.SliceResponse;
+import com.example.colaba.dto.projectmember.CreateProjectMemberRequest;
+import com.example.colaba.dto.projectmember.ProjectMemberField;
+import com.example.colaba.dto.projectmember.ProjectMemberResponse;
+import com.example.colaba.dto.projectmember.UpdateProjectMemberRequest;
+import com.example.colaba.pagination.CountMode;
+import com.example.colaba.service.ProjectMemberService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/projects/{projectId}/members")
+@RequiredArgsConstructor
+@Tag(name = "Project members", description = "API for managing project memberships and roles")
+public class ProjectMemberController extends BaseController {
+    private final ProjectMemberService projectMemberService;
+
+    @GetMapping
+    @Operation(summary = "Get project members with pagination", description = "Retrieves a paginated list of members of a project. Supports standard Spring Pageable parameters. Use count=none to skip the COUNT query (hasNext only) or count=estimate to add an approximate total from PostgreSQL planner statistics. Use fields=role,joinedAt (comma-separated ProjectMemberResponse property names; projectId and userId are always returned) to select only those columns; projects and users are joined only for projectName and userUsername. fields requires count=exact.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Paginated list of project members"),
+            @ApiResponse(responseCode = "400", description = "Unknown count mode or field"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<?> getMembersByProject(@PathVariable Long projectId,
+                                                 Pageable pageable,
+                                                 @RequestParam(defaultValue = "exact") String count,
+                                                 @RequestParam(required = false) String fields) {
+        pageable = validatePageable(pageable);
+        CountMode mode = CountMode.from(count);
+        Set<ProjectMemberField> selected = ProjectMemberField.parse(fields);
+        if (!selected.isEmpty()) {
+            rejectWithFields("count=" + count, mode != CountMode.EXACT);
+            return ResponseEntity.ok(projectMemberService.getMemberFieldsByProject(projectId, selected, pageable));
+        }
+        if (mode != CountMode.EXACT) {
+            SliceResponse<ProjectMemberResponse> members =
+                    projectMemberService.getMembersByProjectSlice(projectId, pageable, mode == CountMode.ESTIMATE);
+            return ResponseEntity.ok(members);
+        }
+        Page<ProjectMemberResponse> members = projectMemberService.getMembersByProject(projectId, pageable);
+        return ResponseEntity.ok(members);
+    }
+
+    @PostMapping
+    @Operation(summary = "Add a member to a project", description = "Adds a user to the project with the given role (VIEWER by default).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Membership created successfully"),
+            @ApiResponse(responseCode = "400", description = "Validation error"),
+            @ApiResponse(responseCode = "404", description = "Project or user not found"),
+            @ApiResponse(responseCode = "409", description = "User is already a member of the project")
+    })
+    public ResponseEntity<ProjectMemberResponse> createMembership(
+            @PathVariable Long projectId,
+            @Valid @RequestBody CreateProjectMemberRequest request) {
+        ProjectMemberResponse member = projectMemberService.createMembership(projectId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(member);
+    }
+
+    @PutMapping("/{userId}")
+    @Operation(summary = "Update member role", description = "Changes the role of a project member.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Membership updated successfully"),
+            @ApiResponse(responseCode = "404", description = "Membership not found")
+    })
+    public ResponseEntity<ProjectMemberResponse> updateMembership(
+            @PathVariable Long projectId,
+            @PathVariable Long userId,
+            @RequestBody UpdateProjectMemberRequest request) {
+        ProjectMemberResponse member = projectMemberService.updateMembership(projectId, userId, request);
+        return ResponseEntity.ok(member);
+    }
+
+    @DeleteMapping("/{userId}")
+    @Operation(summary = "Remove member from project", description = "Deletes a project membership.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Membership deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Membership not found")
+    })
+    public ResponseEntity<Void> deleteMembership(@PathVariable Long projectId, @PathVariable Long userId) {
+        projectMemberService.deleteMembership(projectId, userId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.colaba.controller;
+
+import com.example.colaba.dto.common.ScrollResponse;
+import com.example.colaba.dto.search.SearchHitResponse;
+import com.example.colaba.dto.search.SearchHitType;
+import com.example.colaba.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Full-text search over tasks and comments")
+public class SearchController extends BaseController {
+    private final SearchService searchService;
+
+    @GetMapping
+    @Operation(summary = "Search tasks and comments in a project", description = "Full-text search (PostgreSQL tsvector, Russian and English stemming) over task titles, task descriptions and comments of one project. The query uses web search syntax: words are combined with AND, \"quoted phrases\", 'or' and '-excluded' words are supported (at most " + SearchService.MAX_QUERY_LENGTH + " characters). Hits are ordered by relevance, task title matches rank above description matches. Title and snippet are HTML-escaped with matches wrapped in <mark>. Use types=TASK or types=COMMENT to narrow the scope. Pagination uses an opaque cursor; no total count is computed. Limit capped at 50.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Scroll response with ranked hits, nextCursor and hasMore flag"),
+            @ApiResponse(responseCode = "400", description = "Blank or too long query, or invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<ScrollResponse<SearchHitResponse>> search(
+            @RequestParam Long projectId,
+            @RequestParam String q,
+            @RequestParam(required = false) Set<SearchHitType> types,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(projectId, q, types, cursor, validateLimit(limit)));
+    }
+}
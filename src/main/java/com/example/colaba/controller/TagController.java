@@ -1,8 +1,11 @@
 package com.example.colaba.controller;
 
+import com.example.colaba.dto.common.ScrollResponse;
+import com.example.colaba.dto.common.SliceResponse;
 import com.example.colaba.dto.tag.CreateTagRequest;
 import com.example.colaba.dto.tag.TagResponse;
 import com.example.colaba.dto.tag.UpdateTagRequest;
+import com.example.colaba.pagination.CountMode;
 import com.example.colaba.service.TagService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,6 +19,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/tags")
 @RequiredArgsConstructor
@@ -24,12 +31,19 @@ public class TagController extends BaseController {
     private final TagService tagService;
 
     @GetMapping
-    @Operation(summary = "Get all tags with pagination", description = "Retrieves a paginated list of all tags. Supports standard Spring Pageable parameters (page, size, sort).")
+    @Operation(summary = "Get all tags with pagination", description = "Retrieves a paginated list of all tags. Supports standard Spring Pageable parameters (page, size, sort). Use count=none to skip the COUNT query (hasNext only) or count=estimate to add an approximate total from PostgreSQL planner statistics.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Paginated list of tags")
+            @ApiResponse(responseCode = "200", description = "Paginated list of tags"),
+            @ApiResponse(responseCode = "400", description = "Unknown count mode")
     })
-    public ResponseEntity<Page<TagResponse>> getAllTags(Pageable pageable) {
+    public ResponseEntity<?> getAllTags(Pageable pageable,
+                                        @RequestParam(defaultValue = "exact") String count) {
         pageable = validatePageable(pageable);
+        CountMode mode = CountMode.from(count);
+        if (mode != CountMode.EXACT) {
+            SliceResponse<TagResponse> tags = tagService.getAllTagsSlice(pageable, mode == CountMode.ESTIMATE);
+            return ResponseEntity.ok(tags);
+        }
         Page<TagResponse> tags = tagService.getAllTags(pageable);
         return ResponseEntity.ok(tags);
     }
@@ -45,6 +59,16 @@ public class TagController extends BaseController {
         return ResponseEntity.ok(tag);
     }
 
+    @GetMapping("/by-tasks")
+    @Operation(summary = "Get tags for several tasks", description = "Returns a map of task ID to its tags, loaded with a single query. Every requested task ID is present in the map; tasks without tags (or unknown IDs) map to an empty list. At most " + TagService.MAX_TASK_IDS + " IDs.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tags grouped by task ID"),
+            @ApiResponse(responseCode = "400", description = "Too many task IDs")
+    })
+    public ResponseEntity<Map<Long, List<TagResponse>>> getTagsByTasks(@RequestParam Set<Long> ids) {
+        return ResponseEntity.ok(tagService.getTagsByTaskIds(ids));
+    }
+
     // TODO: move to project controller
     @GetMapping("/project/{projectId}")
     @Operation(summary = "Get tags by project ID with pagination", description = "Retrieves a paginated list of tags for a specific project. Supports standard Spring Pageable parameters. TODO: Move to project controller.")
@@ -59,6 +83,21 @@ public class TagController extends BaseController {
         return ResponseEntity.ok(tags);
     }
 
+    @GetMapping("/project/{projectId}/scroll")
+    @Operation(summary = "Get tags by project ID with keyset scrolling", description = "Retrieves tags for a specific project ordered by ID using an opaque cursor. No total count is computed. Limit capped at 50.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Scroll response with tags, nextCursor and hasMore flag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<ScrollResponse<TagResponse>> getTagsByProjectScroll(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        ScrollResponse<TagResponse> tags = tagService.getTagsByProjectScroll(projectId, cursor, validateLimit(limit));
+        return ResponseEntity.ok(tags);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new tag", description = "Creates a new tag with the provided details.")
     @ApiResponses({
@@ -1,10 +1,23 @@
 package com.example.colaba.controller;
 
+import com.example.colaba.dto.common.BulkUpdateResponse;
+import com.example.colaba.dto.common.ResourceVersion;
+import com.example.colaba.dto.common.ScrollResponse;
+import com.example.colaba.dto.common.SliceResponse;
 import com.example.colaba.dto.tag.TagResponse;
 import com.example.colaba.dto.task.CreateTaskRequest;
+import com.example.colaba.dto.task.TaskField;
+import com.example.colaba.dto.task.TaskFilter;
+import com.example.colaba.dto.task.TaskInclude;
+import com.example.colaba.dto.task.TaskImportResponse;
 import com.example.colaba.dto.task.TaskResponse;
+import com.example.colaba.dto.task.TaskTagsBatchRequest;
+import com.example.colaba.dto.task.TaskVersionRow;
 import com.example.colaba.dto.task.UpdateTaskRequest;
+import com.example.colaba.pagination.CountMode;
+import com.example.colaba.service.CommentService;
 import com.example.colaba.service.TagService;
+import com.example.colaba.service.TaskImportService;
 import com.example.colaba.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,11 +25,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -25,52 +49,134 @@ import org.springframework.web.bind.annotation.*;
 public class TaskController extends BaseController {
     private final TaskService taskService;
     private final TagService tagService;
+    private final TaskImportService taskImportService;
+    private final CommentService commentService;
 
     @GetMapping
-    @Operation(summary = "Get all tasks with pagination", description = "Retrieves a paginated list of all tasks. Supports standard Spring Pageable parameters (page, size, sort).")
+    @Operation(summary = "Get tasks with filtering and pagination", description = "Retrieves a paginated list of tasks, optionally filtered by project, status and priority sets, assignee, reporter, due-date, created and updated ranges (inclusive) and tags (tagsAny: at least one of, tagsAll: every one of). Set-valued filters accept comma-separated or repeated parameters; all conditions are combined with AND. Supports standard Spring Pageable parameters (page, size, sort). Use count=none to skip the COUNT query (hasNext only) or count=estimate to add an approximate total from PostgreSQL planner statistics (unfiltered lists only). Use include=tags to embed each task's tags and include=commentCount to embed its number of comments (combine with a comma); each is loaded with one extra query for the whole page. Use fields=id,title,status (comma-separated TaskResponse property names; id is always returned) to get only those properties: the SQL select list contains just their columns and joins projects/users only for projectName, assigneeUsername or reporterUsername. fields cannot be combined with include or count=none/estimate.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Paginated list of tasks")
+            @ApiResponse(responseCode = "200", description = "Paginated list of tasks"),
+            @ApiResponse(responseCode = "400", description = "Unknown count mode, field or invalid filter value")
     })
-    public ResponseEntity<Page<TaskResponse>> getAllTasks(Pageable pageable) {
+    public ResponseEntity<?> getAllTasks(@ParameterObject TaskFilter filter,
+                                         Pageable pageable,
+                                         @RequestParam(defaultValue = "exact") String count,
+                                         @RequestParam(required = false) String include,
+                                         @RequestParam(required = false) String fields) {
         pageable = validatePageable(pageable);
-        Page<TaskResponse> tasks = taskService.getAllTasks(pageable);
-        return ResponseEntity.ok(tasks);
+        CountMode mode = CountMode.from(count);
+        Set<TaskInclude> includes = TaskInclude.parse(include);
+        Set<TaskField> selected = TaskField.parse(fields);
+        if (!selected.isEmpty()) {
+            rejectWithFields("include", !includes.isEmpty());
+            rejectWithFields("count=" + count, mode != CountMode.EXACT);
+            return ResponseEntity.ok(taskService.getTaskFields(filter, selected, pageable));
+        }
+        if (mode != CountMode.EXACT) {
+            SliceResponse<TaskResponse> tasks = taskService.getTasksSlice(filter, pageable, mode == CountMode.ESTIMATE);
+            return ResponseEntity.ok(expand(tasks, includes));
+        }
+        Page<TaskResponse> tasks = taskService.getTasks(filter, pageable);
+        return ResponseEntity.ok(expand(tasks, includes));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get task by ID", description = "Retrieves a specific task by its ID.")
+    @Operation(summary = "Get task by ID", description = "Retrieves a specific task by its ID. Use include=tags to embed its tags and include=commentCount to embed its number of comments. Without include the response carries a weak ETag and Last-Modified; a request with a matching If-None-Match (or an unchanged If-Modified-Since) gets 304 Not Modified after a version-only query, without loading the task.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Task found"),
+            @ApiResponse(responseCode = "304", description = "Task not modified since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "Task not found")
     })
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id) {
-        TaskResponse task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id,
+                                                    @RequestParam(required = false) String include,
+                                                    WebRequest request) {
+        Set<TaskInclude> includes = TaskInclude.parse(include);
+        if (!includes.isEmpty()) {  // Версия не учитывает теги и счётчики — без условного GET
+            TaskResponse task = taskService.getTaskById(id);
+            return ResponseEntity.ok(expand(List.of(task), includes).getFirst());
+        }
+        return conditionalGet(request, () -> taskService.getTaskVersion(id), () -> taskService.getTaskById(id),
+                task -> TaskVersionRow.from(task).version());
     }
 
     @GetMapping("/project/{projectId}")
-    @Operation(summary = "Get tasks by project ID with pagination", description = "Retrieves a paginated list of tasks for a specific project. Supports standard Spring Pageable parameters.")
+    @Operation(summary = "Get tasks by project ID with pagination", description = "Retrieves a paginated list of tasks for a specific project. Supports standard Spring Pageable parameters; without an explicit sort tasks are ordered by ID. Use include=tags to embed each task's tags and include=commentCount to embed its number of comments (combine with a comma); each is loaded with one extra query for the whole page. Without include the page carries a weak ETag covering its tasks, order and total; a matching If-None-Match gets 304 Not Modified after a version-only query. Pages have no Last-Modified (deleting a task does not advance it), so If-Modified-Since is ignored. Use fields=id,title,status (comma-separated TaskResponse property names; id is always returned) to get only those properties: the SQL select list contains just their columns and joins projects/users only for projectName, assigneeUsername or reporterUsername. fields cannot be combined with include; sparse pages carry no ETag.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Paginated list of tasks for the project"),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Unknown field"),
             @ApiResponse(responseCode = "404", description = "Project not found")
     })
-    public ResponseEntity<Page<TaskResponse>> getTasksByProject(
-            @PathVariable Long projectId, Pageable pageable) {
-        pageable = validatePageable(pageable);
-        Page<TaskResponse> tasks = taskService.getTasksByProject(projectId, pageable);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<?> getTasksByProject(
+            @PathVariable Long projectId, Pageable pageable,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Pageable page = stableSort(validatePageable(pageable));
+        Set<TaskInclude> includes = TaskInclude.parse(include);
+        Set<TaskField> selected = TaskField.parse(fields);
+        if (!selected.isEmpty()) {
+            rejectWithFields("include", !includes.isEmpty());
+            return ResponseEntity.ok(taskService.getTaskFieldsByProject(projectId, selected, page));
+        }
+        if (!includes.isEmpty()) {
+            return ResponseEntity.ok(expand(taskService.getTasksByProject(projectId, page), includes));
+        }
+        return conditionalGet(request, () -> taskService.getTasksByProjectVersion(projectId, page),
+                () -> taskService.getTasksByProject(projectId, page),
+                tasks -> ResourceVersion.ofPage(tasks.map(task -> TaskVersionRow.from(task).version())));
+    }
+
+    @GetMapping("/project/{projectId}/scroll")
+    @Operation(summary = "Get tasks by project ID with keyset scrolling", description = "Retrieves tasks for a specific project ordered by ID using an opaque cursor. No total count is computed. Limit capped at 50. Use include=tags to embed each task's tags and include=commentCount to embed its number of comments (combine with a comma); each is loaded with one extra query for the whole page.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Scroll response with tasks, nextCursor and hasMore flag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<ScrollResponse<TaskResponse>> getTasksByProjectScroll(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String include) {
+        ScrollResponse<TaskResponse> tasks = taskService.getTasksByProjectScroll(projectId, cursor, validateLimit(limit));
+        return ResponseEntity.ok(expand(tasks, TaskInclude.parse(include)));
     }
 
     @GetMapping("/assignee/{userId}")
-    @Operation(summary = "Get tasks by assignee ID with pagination", description = "Retrieves a paginated list of tasks assigned to a specific user. Supports standard Spring Pageable parameters.")
+    @Operation(summary = "Get tasks by assignee ID with pagination", description = "Retrieves a paginated list of tasks assigned to a specific user. Supports standard Spring Pageable parameters. Use include=tags to embed each task's tags and include=commentCount to embed its number of comments (combine with a comma); each is loaded with one extra query for the whole page. Use fields=id,title,status (comma-separated TaskResponse property names; id is always returned) to get only those properties: the SQL select list contains just their columns and joins projects/users only for projectName, assigneeUsername or reporterUsername. fields cannot be combined with include.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Paginated list of tasks for the assignee"),
+            @ApiResponse(responseCode = "400", description = "Unknown field"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
-    public ResponseEntity<Page<TaskResponse>> getTasksByAssignee(@PathVariable Long userId, Pageable pageable) {
+    public ResponseEntity<?> getTasksByAssignee(@PathVariable Long userId, Pageable pageable,
+                                                @RequestParam(required = false) String include,
+                                                @RequestParam(required = false) String fields) {
         pageable = validatePageable(pageable);
+        Set<TaskField> selected = TaskField.parse(fields);
+        if (!selected.isEmpty()) {
+            rejectWithFields("include", !TaskInclude.parse(include).isEmpty());
+            return ResponseEntity.ok(taskService.getTaskFieldsByAssignee(userId, selected, pageable));
+        }
         Page<TaskResponse> tasks = taskService.getTasksByAssignee(userId, pageable);
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok(expand(tasks, TaskInclude.parse(include)));
+    }
+
+    @GetMapping("/assignee/{userId}/scroll")
+    @Operation(summary = "Get tasks by assignee ID with keyset scrolling", description = "Retrieves tasks assigned to a specific user ordered by ID using an opaque cursor. No total count is computed. Limit capped at 50. Use include=tags to embed each task's tags and include=commentCount to embed its number of comments (combine with a comma); each is loaded with one extra query for the whole page.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Scroll response with tasks, nextCursor and hasMore flag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<ScrollResponse<TaskResponse>> getTasksByAssigneeScroll(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String include) {
+        ScrollResponse<TaskResponse> tasks = taskService.getTasksByAssigneeScroll(userId, cursor, validateLimit(limit));
+        return ResponseEntity.ok(expand(tasks, TaskInclude.parse(include)));
     }
 
     @PostMapping
@@ -84,6 +190,16 @@ public class TaskController extends BaseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(task);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    @Operation(summary = "Bulk import tasks", description = "Imports tasks from a JSON array or an NDJSON stream of create-task requests. Rows are validated individually; referenced projects and users are checked with set-based queries and valid rows are loaded with PostgreSQL COPY. The body is read in chunks of " + TaskImportService.CHUNK_SIZE + " rows and each chunk is committed in its own transaction, so no database connection is held while the client is still sending; if a chunk fails or the stream breaks, earlier chunks stay imported. Invalid rows are skipped and reported by zero-based row index (first " + TaskImportService.MAX_REPORTED_ERRORS + " errors).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import report with per-row errors")
+    })
+    public ResponseEntity<TaskImportResponse> importTasks(InputStream body) throws IOException {
+        TaskImportResponse report = taskImportService.importTasks(body);
+        return ResponseEntity.ok(report);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update task", description = "Partially updates a task by ID.")
     @ApiResponses({
@@ -143,4 +259,56 @@ public class TaskController extends BaseController {
         tagService.removeTagFromTask(taskId, tagId);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @PostMapping("/tags/batch")
+    @Operation(summary = "Assign or remove tags on many tasks", description = "Assigns (ASSIGN) or removes (REMOVE) every given tag on every given task in a single statement. Unknown IDs, tag/task pairs from different projects and links that already exist (or are already absent) are skipped. Returns the number of links inserted or deleted.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Number of links changed"),
+            @ApiResponse(responseCode = "400", description = "Validation error")
+    })
+    public ResponseEntity<BulkUpdateResponse> updateTaskTags(@Valid @RequestBody TaskTagsBatchRequest request) {
+        long updated = tagService.updateTaskTags(request);
+        return ResponseEntity.ok(new BulkUpdateResponse(updated));
+    }
+
+    // Без сортировки порядок строк не определён — ETag страницы «плавал» бы между запросами
+    private static Pageable stableSort(Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+    }
+
+    // include=...: догрузка для всей страницы разом, см. TaskInclude
+    private List<TaskResponse> expand(List<TaskResponse> tasks, Set<TaskInclude> includes) {
+        if (includes.contains(TaskInclude.TAGS)) {
+            tasks = tagService.withTags(tasks);
+        }
+        if (includes.contains(TaskInclude.COMMENT_COUNT)) {
+            tasks = commentService.withCommentCounts(tasks);
+        }
+        return tasks;
+    }
+
+    private Page<TaskResponse> expand(Page<TaskResponse> page, Set<TaskInclude> includes) {
+        if (includes.isEmpty()) {
+            return page;
+        }
+        return new PageImpl<>(expand(page.getContent(), includes), page.getPageable(), page.getTotalElements());
+    }
+
+    private SliceResponse<TaskResponse> expand(SliceResponse<TaskResponse> slice, Set<TaskInclude> includes) {
+        if (includes.isEmpty()) {
+            return slice;
+        }
+        return new SliceResponse<>(expand(slice.content(), includes), slice.page(), slice.size(),
+                slice.hasNext(), slice.estimatedTotal());
+    }
+
+    private ScrollResponse<TaskResponse> expand(ScrollResponse<TaskResponse> scroll, Set<TaskInclude> includes) {
+        if (includes.isEmpty()) {
+            return scroll;
+        }
+        return new ScrollResponse<>(expand(scroll.items(), includes), scroll.nextCursor(), scroll.hasMore());
+    }
+}
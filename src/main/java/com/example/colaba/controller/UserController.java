@@ -1,9 +1,13 @@
 package com.example.colaba.controller;
 
+import com.example.colaba.dto.common.SliceResponse;
 import com.example.colaba.dto.user.CreateUserRequest;
 import com.example.colaba.dto.user.UpdateUserRequest;
+import com.example.colaba.dto.user.UserPurgeJobResponse;
 import com.example.colaba.dto.user.UserResponse;
 import com.example.colaba.dto.user.UserScrollResponse;
+import com.example.colaba.pagination.CountMode;
+import com.example.colaba.service.UserPurgeService;
 import com.example.colaba.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,12 +21,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 @Tag(name = "Users", description = "API for managing users")
 public class UserController extends BaseController {
     private final UserService userService;
+    private final UserPurgeService userPurgeService;
 
     @PostMapping
     @Operation(summary = "Create a new user", description = "Creates a new user with the provided username and email. Validates for duplicates.")
@@ -47,26 +55,33 @@ public class UserController extends BaseController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all users with pagination", description = "Retrieves a paginated list of all users. Supports standard Spring Pageable parameters (page, size, sort).")
+    @Operation(summary = "Get all users with pagination", description = "Retrieves a paginated list of all users. Supports standard Spring Pageable parameters (page, size, sort). Use count=none to skip the COUNT query (hasNext only) or count=estimate to add an approximate total from PostgreSQL planner statistics.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Paginated list of users")
+            @ApiResponse(responseCode = "200", description = "Paginated list of users"),
+            @ApiResponse(responseCode = "400", description = "Unknown count mode")
     })
-    public ResponseEntity<Page<UserResponse>> getAllUsers(Pageable pageable) {
+    public ResponseEntity<?> getAllUsers(Pageable pageable,
+                                         @RequestParam(defaultValue = "exact") String count) {
         pageable = validatePageable(pageable);
+        CountMode mode = CountMode.from(count);
+        if (mode != CountMode.EXACT) {
+            SliceResponse<UserResponse> users = userService.getAllUsersSlice(pageable, mode == CountMode.ESTIMATE);
+            return ResponseEntity.ok(users);
+        }
         Page<UserResponse> users = userService.getAllUsers(pageable);
         return ResponseEntity.ok(users);
     }
 
     // Infinite scroll endpoint
     @GetMapping("/scroll")
-    @Operation(summary = "Get users with infinite scroll", description = "Retrieves users for infinite scrolling using cursor-based pagination. Limit capped at 50.")
+    @Operation(summary = "Get users with infinite scroll", description = "Retrieves users for infinite scrolling using keyset pagination over user ID with an opaque cursor. Limit capped at 50.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Scroll response with users, nextCursor, and hasMore flag")
+            @ApiResponse(responseCode = "200", description = "Scroll response with users, nextCursor, and hasMore flag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
     })
-    public ResponseEntity<UserScrollResponse> getUsersScroll(@RequestParam(defaultValue = "0") String cursor,
+    public ResponseEntity<UserScrollResponse> getUsersScroll(@RequestParam(required = false) String cursor,
                                                              @RequestParam(defaultValue = "20") int limit) {
-        if (limit > 50) limit = 50;
-        UserScrollResponse response = userService.getUsersScroll(cursor, limit);
+        UserScrollResponse response = userService.getUsersScroll(cursor, validateLimit(limit));
         return ResponseEntity.ok(response);
     }
 
@@ -97,7 +112,7 @@ public class UserController extends BaseController {
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete user", description = "Deletes a user by ID.")
+    @Operation(summary = "Delete user", description = "Deletes a user by ID in a single statement. Owned projects with their tasks, tags and comments, the user's comments and memberships are removed by database cascades; the user is unset as assignee/reporter elsewhere. For users with large data volumes prefer POST /api/users/{id}/purge.")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "User deleted successfully"),
             @ApiResponse(responseCode = "404", description = "User not found")
@@ -106,4 +121,27 @@ public class UserController extends BaseController {
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/{id}/purge")
+    @Operation(summary = "Purge user asynchronously", description = "Starts a background job that deletes the user's data in bounded batches, each in its own transaction, and finally the user. Not atomic: a failed job leaves completed batches deleted and can be restarted. Repeated calls while a job is running return that job.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Purge job started; poll the Location header for progress"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<UserPurgeJobResponse> purgeUser(@PathVariable Long id) {
+        UserPurgeJobResponse job = userPurgeService.startPurge(id);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/purge-jobs/" + job.jobId()))
+                .body(job);
+    }
+
+    @GetMapping("/purge-jobs/{jobId}")
+    @Operation(summary = "Get user purge job", description = "Returns status, current phase and rows processed per phase. Finished jobs are kept for an hour on the instance that ran them.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Purge job progress"),
+            @ApiResponse(responseCode = "404", description = "Purge job not found")
+    })
+    public ResponseEntity<UserPurgeJobResponse> getPurgeJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(userPurgeService.getJob(jobId));
+    }
 }
@@ -0,0 +1,38 @@
+package com.example.colaba.db;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Побочные действия записи (индекс, события, кэш) после COMMIT текущей транзакции; без транзакции — сразу.
+ * Откат до них не доходит. Данные к этому моменту уже закоммичены: сбой действия только логируется.
+ */
+@Slf4j
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    // action — для лога: что не выполнилось
+    public static void run(String action, Runnable callback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(action, callback);
+                }
+            });
+        } else {
+            apply(action, callback);
+        }
+    }
+
+    private static void apply(String action, Runnable callback) {
+        try {
+            callback.run();
+        } catch (RuntimeException e) {
+            log.warn("{} failed after commit: {}", action, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.colaba.db;
+
+import com.example.colaba.dto.db.ConnectionLimiterStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ограничение числа одновременных обращений к БД при spring.threads.virtual.enabled=true.
+ * <p>
+ * С виртуальными потоками пул Tomcat больше не ограничивает параллелизм: тысячи запросов
+ * доходят до JDBC одновременно. Вместо очереди внутри Hikari они ждут здесь — на честном семафоре,
+ * который дёшево паркует виртуальный поток и считает ожидание. Разрешение берётся на получение
+ * соединения и возвращается при его закрытии (см. {@link LimitedDataSource}).
+ * По умолчанию разрешений столько же, сколько соединений в пуле; долгоживущие соединения
+ * (LISTEN у ClusterCacheInvalidator) держат своё разрешение всё время работы.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionLimiter {
+
+    private final Semaphore semaphore;
+    private final int permits;
+    private final Duration acquireTimeout;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public ConnectionLimiter(
+            @Value("${colaba.db.limiter.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${colaba.db.limiter.acquire-timeout:30s}") Duration acquireTimeout) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("colaba.db.limiter.permits must be positive");
+        }
+        this.semaphore = new Semaphore(permits, true);
+        this.permits = permits;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public void acquire() throws SQLException {
+        long started = System.nanoTime();
+        boolean granted;
+        try {
+            granted = semaphore.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+        long waited = System.nanoTime() - started;
+        if (!granted) {
+            timeouts.increment();
+            throw new SQLTransientConnectionException("No database permit available within " + acquireTimeout
+                    + " (" + permits + " permits, " + semaphore.getQueueLength() + " waiting)");
+        }
+        acquired.increment();
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    // Счётчики с момента старта; waiting — оценка Semaphore.getQueueLength()
+    public ConnectionLimiterStatsResponse getStats() {
+        long count = acquired.sum();
+        double avgWaitMs = count == 0 ? 0.0 : totalWaitNanos.sum() / 1e6 / count;
+        int available = semaphore.availablePermits();
+        return new ConnectionLimiterStatsResponse(permits, permits - available, semaphore.getQueueLength(),
+                count, timeouts.sum(), avgWaitMs, maxWaitNanos.get() / 1e6);
+    }
+}
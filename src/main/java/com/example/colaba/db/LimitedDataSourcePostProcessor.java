@@ -0,0 +1,28 @@
+package com.example.colaba.db;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Оборачивает пул соединений в LimitedDataSource: JPA, JdbcTemplate и Liquibase получают соединения
+// через ConnectionLimiter. ObjectProvider — потому что post-processor создаётся раньше обычных бинов
+@Component
+@RequiredArgsConstructor
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class LimitedDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ConnectionLimiter> limiter;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof LimitedDataSource)) {
+            return new LimitedDataSource(dataSource, limiter.getObject());
+        }
+        return bean;
+    }
+}
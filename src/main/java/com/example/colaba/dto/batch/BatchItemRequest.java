@@ -0,0 +1,18 @@
+package com.example.colaba.dto.batch;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.Map;
+
+public record BatchItemRequest(
+        // Клиентский идентификатор, возвращается в ответе как есть
+        String id,
+        // Только GET; null — GET
+        String method,
+        // Путь с query string, например /api/tasks/42?include=tags
+        @NotBlank(message = "Path is required")
+        String path,
+        // Например If-None-Match; заголовки самого POST /api/batch под-запросам не передаются
+        Map<String, String> headers
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.colaba.dto.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+public record BatchItemResponse(
+        String id,
+        int status,
+        Map<String, String> headers,
+        // JSON-ответ эндпоинта как есть; пустое тело (304, 204) — null
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        JsonNode body
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.colaba.dto.batch;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record BatchRequest(
+        @NotEmpty(message = "Requests are required")
+        List<@Valid BatchItemRequest> requests,
+        // true — под-запросы параллельно, каждый в своей read-only транзакции
+        boolean parallel
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.colaba.dto.batch;
+
+import java.util.List;
+
+public record BatchResponse(
+        // В порядке под-запросов
+        List<BatchItemResponse> responses
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.colaba.dto.cache;
+
+public record CacheRegionStatsResponse(
+        String region,
+        long hitCount,
+        long missCount,
+        long putCount,
+        double hitRatio
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.colaba.dto.comment;
+
+// Комментарий после bulk prefix (RETURNING) с проектом задачи — для индекса и событий без доп. запросов
+public record CommentContentRow(
+        Long id,
+        Long taskId,
+        Long projectId,
+        String content
+) {
+    // Строка native-запроса: id, task_id, project_id, content
+    public static CommentContentRow fromRow(Object[] row) {
+        return new CommentContentRow(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue(), (String) row[3]);
+    }
+}
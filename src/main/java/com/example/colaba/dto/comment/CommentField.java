@@ -0,0 +1,39 @@
+package com.example.colaba.dto.comment;
+
+import com.example.colaba.dto.common.SparseField;
+
+import java.util.Set;
+
+/**
+ * Поля {@link CommentResponse} для параметра {@code fields}. id возвращается всегда; все поля — колонки comments.
+ */
+public enum CommentField implements SparseField {
+    ID("id", "id"),
+    TASK_ID("taskId", "task.id"),
+    USER_ID("userId", "user.id"),
+    CONTENT("content", "content"),
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt");
+
+    private final String parameter;
+    private final String path;
+
+    CommentField(String parameter, String path) {
+        this.parameter = parameter;
+        this.path = path;
+    }
+
+    public static Set<CommentField> parse(String value) {
+        return SparseField.parse(value, CommentField.class, ID);
+    }
+
+    @Override
+    public String parameter() {
+        return parameter;
+    }
+
+    @Override
+    public String path() {
+        return path;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.colaba.dto.comment;
+
+// Задача и проект комментария: куда адресовать событие о нём
+public record CommentLocation(
+        Long taskId,
+        Long projectId
+) {
+}
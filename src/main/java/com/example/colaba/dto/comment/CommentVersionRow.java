@@ -0,0 +1,19 @@
+package com.example.colaba.dto.comment;
+
+import com.example.colaba.dto.common.ResourceVersion;
+
+import java.time.OffsetDateTime;
+
+// Поля CommentResponse, от которых зависит ETag
+public record CommentVersionRow(
+        Long id,
+        OffsetDateTime updatedAt
+) {
+    public static CommentVersionRow from(CommentResponse comment) {
+        return new CommentVersionRow(comment.id(), comment.updatedAt());
+    }
+
+    public ResourceVersion version() {
+        return ResourceVersion.of(updatedAt == null ? null : updatedAt.toInstant(), id);
+    }
+}
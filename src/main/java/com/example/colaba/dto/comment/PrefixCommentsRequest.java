@@ -0,0 +1,11 @@
+package com.example.colaba.dto.comment;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record PrefixCommentsRequest(
+        @NotBlank(message = "Prefix is required")
+        @Size(max = 100, message = "Prefix must not exceed 100 characters")
+        String prefix
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.colaba.dto.comment;
+
+// Число комментариев задачи: строка batch-запроса GROUP BY task_id
+public record TaskCommentCount(
+        Long taskId,
+        long count
+) {
+}
@@ -0,0 +1,6 @@
+package com.example.colaba.dto.common;
+
+public record BulkUpdateResponse(
+        long updated
+) {
+}
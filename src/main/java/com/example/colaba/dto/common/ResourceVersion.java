@@ -0,0 +1,56 @@
+package com.example.colaba.dto.common;
+
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Версия представления для условного GET: weak ETag и Last-Modified.
+ * Строится из updatedAt (с точностью до миллисекунды) и полей связанных сущностей, попавших в ответ
+ * (их изменение updatedAt ресурса не трогает). Одинаково считается и по дешёвому запросу версии,
+ * и по готовому ответу — иначе 304 не совпадёт с тем, что клиент получил в 200.
+ */
+public record ResourceVersion(
+        String etag,
+        long lastModified
+) {
+    // Нет updatedAt или версия страницы — без Last-Modified
+    public static final long NO_LAST_MODIFIED = -1;
+
+    public static ResourceVersion of(Instant updatedAt, Object... parts) {
+        long millis = updatedAt == null ? NO_LAST_MODIFIED : updatedAt.toEpochMilli();
+        StringBuilder key = new StringBuilder().append(millis);
+        for (Object part : parts) {
+            key.append('|').append(part);
+        }
+        return new ResourceVersion(weak(key), millis);
+    }
+
+    // Страница: номер, размер, сортировка, total, состав и порядок элементов.
+    // Без Last-Modified: удаление элемента или его уход со страницы не двигает максимальный updatedAt,
+    // и If-Modified-Since дал бы 304 с устаревшими данными. Страницу проверяет только ETag
+    public static ResourceVersion ofPage(Page<ResourceVersion> page) {
+        StringBuilder key = new StringBuilder()
+                .append(page.getNumber()).append('|')
+                .append(page.getSize()).append('|')
+                .append(page.getSort()).append('|')
+                .append(page.getTotalElements()).append('|');
+        for (ResourceVersion item : page.getContent()) {
+            key.append(item.etag()).append(',');
+        }
+        return new ResourceVersion(weak(key), NO_LAST_MODIFIED);
+    }
+
+    // Та же зона, в которой Hibernate читает LocalDateTime из timestamptz
+    public static Instant instant(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static String weak(CharSequence key) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
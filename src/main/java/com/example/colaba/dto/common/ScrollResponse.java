@@ -0,0 +1,10 @@
+package com.example.colaba.dto.common;
+
+import java.util.List;
+
+public record ScrollResponse<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore
+) {
+}
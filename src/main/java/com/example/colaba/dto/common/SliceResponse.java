@@ -0,0 +1,19 @@
+package com.example.colaba.dto.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public record SliceResponse<T>(
+        List<T> content,
+        int page,
+        int size,
+        boolean hasNext,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long estimatedTotal
+) {
+    public static <T> SliceResponse<T> of(Slice<T> slice, Long estimatedTotal) {
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), estimatedTotal);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.colaba.dto.common;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Поле ответа, которое можно запросить параметром {@code fields} списочного эндпоинта.
+ * {@link #path()} — путь атрибута сущности: «title» — колонка, «project.id» — FK без JOIN,
+ * «project.name» — LEFT JOIN к связи; в SELECT попадают только запрошенные пути.
+ */
+public interface SparseField {
+
+    // Имя поля в JSON, совпадает с компонентом полного DTO
+    String parameter();
+
+    String path();
+
+    // Значение из строки результата в вид полного DTO (enum — строкой, как после MapStruct)
+    default Object toJson(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : value;
+    }
+
+    // "id,title,status" или повторяющийся параметр; пусто — полный DTO. Ключевые поля добавляются всегда
+    @SafeVarargs
+    static <E extends Enum<E> & SparseField> Set<E> parse(String value, Class<E> type, E... required) {
+        Set<E> result = EnumSet.noneOf(type);
+        if (value == null || value.isBlank()) {
+            return result;
+        }
+        for (String part : value.split(",")) {
+            String name = part.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            result.add(Arrays.stream(type.getEnumConstants())
+                    .filter(field -> field.parameter().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown field: " + name + " (expected "
+                            + String.join(", ", Arrays.stream(type.getEnumConstants()).map(SparseField::parameter).toList())
+                            + ")")));
+        }
+        result.addAll(Arrays.asList(required));
+        return result;
+    }
+}
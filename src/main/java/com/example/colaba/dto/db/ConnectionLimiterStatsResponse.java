@@ -0,0 +1,12 @@
+package com.example.colaba.dto.db;
+
+public record ConnectionLimiterStatsResponse(
+        int permits,
+        int inUse,
+        int waiting,
+        long acquiredCount,
+        long timeoutCount,
+        double avgWaitMs,
+        double maxWaitMs
+) {
+}
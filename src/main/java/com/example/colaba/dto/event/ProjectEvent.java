@@ -0,0 +1,51 @@
+package com.example.colaba.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Событие изменения в проекте: только тип и идентификаторы, за данными клиент идёт в обычные GET.
+ * Так событие сериализуется один раз на всех подписчиков и не раскрывает больше, чем эндпоинты.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProjectEvent(
+        ProjectEventType type,
+        Long projectId,
+        Long taskId,
+        Long commentId,
+        Long tagId,
+        // Только для TAGS_UPDATED: реально изменённые пары этого проекта
+        List<Link> links,
+        // Только для DROPPED: сколько событий не дошло
+        Long droppedCount,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime occurredAt
+) {
+    public static ProjectEvent task(ProjectEventType type, Long projectId, Long taskId) {
+        return new ProjectEvent(type, projectId, taskId, null, null, null, null, LocalDateTime.now());
+    }
+
+    public static ProjectEvent comment(ProjectEventType type, Long projectId, Long taskId, Long commentId) {
+        return new ProjectEvent(type, projectId, taskId, commentId, null, null, null, LocalDateTime.now());
+    }
+
+    public static ProjectEvent tag(ProjectEventType type, Long projectId, Long taskId, Long tagId) {
+        return new ProjectEvent(type, projectId, taskId, null, tagId, null, null, LocalDateTime.now());
+    }
+
+    public static ProjectEvent tags(Long projectId, List<Link> links) {
+        return new ProjectEvent(ProjectEventType.TAGS_UPDATED, projectId, null, null, null,
+                List.copyOf(links), null, LocalDateTime.now());
+    }
+
+    public static ProjectEvent dropped(Long projectId, long count) {
+        return new ProjectEvent(ProjectEventType.DROPPED, projectId, null, null, null, null, count,
+                LocalDateTime.now());
+    }
+
+    public record Link(Long taskId, Long tagId) {
+    }
+}
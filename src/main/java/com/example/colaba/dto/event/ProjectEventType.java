@@ -0,0 +1,32 @@
+package com.example.colaba.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Тип события потока /api/projects/{id}/events; {@link #eventName()} — поле {@code event:} SSE и {@code type} в data.
+ */
+public enum ProjectEventType {
+    TASK_CREATED("task.created"),
+    TASK_UPDATED("task.updated"),
+    TASK_DELETED("task.deleted"),
+    COMMENT_CREATED("comment.created"),
+    COMMENT_UPDATED("comment.updated"),
+    COMMENT_DELETED("comment.deleted"),
+    TAG_ASSIGNED("tag.assigned"),
+    TAG_REMOVED("tag.removed"),
+    // Пакетное изменение: taskIds/tagIds — что могло измениться, а не точный список связей
+    TAGS_UPDATED("tags.updated"),
+    // Подписчик не успевал читать, и часть событий отброшена: состояние нужно перечитать
+    DROPPED("dropped");
+
+    private final String eventName;
+
+    ProjectEventType(String eventName) {
+        this.eventName = eventName;
+    }
+
+    @JsonValue
+    public String eventName() {
+        return eventName;
+    }
+}
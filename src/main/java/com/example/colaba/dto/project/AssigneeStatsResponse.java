@@ -0,0 +1,9 @@
+package com.example.colaba.dto.project;
+
+// assigneeId = null — задачи без исполнителя
+public record AssigneeStatsResponse(
+        Long assigneeId,
+        long total,
+        long overdue
+) {
+}
@@ -0,0 +1,40 @@
+package com.example.colaba.dto.project;
+
+import com.example.colaba.dto.common.SparseField;
+
+import java.util.Set;
+
+/**
+ * Поля {@link ProjectResponse} для параметра {@code fields}. id возвращается всегда; ownerName добавляет JOIN к users.
+ */
+public enum ProjectField implements SparseField {
+    ID("id", "id"),
+    NAME("name", "name"),
+    DESCRIPTION("description", "description"),
+    OWNER_ID("ownerId", "owner.id"),
+    OWNER_NAME("ownerName", "owner.username"),
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt");
+
+    private final String parameter;
+    private final String path;
+
+    ProjectField(String parameter, String path) {
+        this.parameter = parameter;
+        this.path = path;
+    }
+
+    public static Set<ProjectField> parse(String value) {
+        return SparseField.parse(value, ProjectField.class, ID);
+    }
+
+    @Override
+    public String parameter() {
+        return parameter;
+    }
+
+    @Override
+    public String path() {
+        return path;
+    }
+}
@@ -8,6 +8,7 @@ public record ProjectResponse(
         String description,
         Long ownerId,
         String ownerName,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
 ) {
 }
@@ -4,7 +4,7 @@ import java.util.List;
 
 public record ProjectScrollResponse(
         List<ProjectResponse> projects,
-        boolean hasMore,
-        Long total
+        String nextCursor,
+        boolean hasMore
 ) {
 }
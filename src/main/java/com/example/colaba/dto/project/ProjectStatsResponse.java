@@ -0,0 +1,20 @@
+package com.example.colaba.dto.project;
+
+import com.example.colaba.entity.task.TaskPriority;
+import com.example.colaba.entity.task.TaskStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record ProjectStatsResponse(
+        Long projectId,
+        long total,
+        long overdue,
+        Map<TaskStatus, Long> byStatus,
+        Map<TaskPriority, Long> byPriority,
+        long withoutPriority,
+        List<AssigneeStatsResponse> byAssignee,
+        Instant computedAt
+) {
+}
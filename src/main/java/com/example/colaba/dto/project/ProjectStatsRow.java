@@ -0,0 +1,16 @@
+package com.example.colaba.dto.project;
+
+import com.example.colaba.entity.task.TaskPriority;
+import com.example.colaba.entity.task.TaskStatus;
+
+// Строка GROUP BY GROUPING SETS: grouping — битовая маска GROUPING(status, priority, assignee_id),
+// по ней отличается NULL "без приоритета/исполнителя" от NULL "колонка не группируется"
+public record ProjectStatsRow(
+        int grouping,
+        TaskStatus status,
+        TaskPriority priority,
+        Long assigneeId,
+        long total,
+        long overdue
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.colaba.dto.project;
+
+import com.example.colaba.entity.task.TaskStatus;
+
+import java.util.Map;
+
+public record ProjectTaskCountsResponse(
+        Long projectId,
+        long total,
+        Map<TaskStatus, Long> byStatus
+) {
+}
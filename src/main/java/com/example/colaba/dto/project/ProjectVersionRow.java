@@ -0,0 +1,20 @@
+package com.example.colaba.dto.project;
+
+import com.example.colaba.dto.common.ResourceVersion;
+
+import java.time.LocalDateTime;
+
+// Поля ProjectResponse, от которых зависит ETag: имя владельца меняется без updatedAt проекта
+public record ProjectVersionRow(
+        Long id,
+        LocalDateTime updatedAt,
+        String ownerName
+) {
+    public static ProjectVersionRow from(ProjectResponse project) {
+        return new ProjectVersionRow(project.id(), project.updatedAt(), project.ownerName());
+    }
+
+    public ResourceVersion version() {
+        return ResourceVersion.of(ResourceVersion.instant(updatedAt), id, ownerName);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.colaba.dto.project;
+
+import com.example.colaba.entity.task.TaskStatus;
+
+public record TaskCountDelta(
+        long projectId,
+        TaskStatus status,
+        long delta
+) {
+}
@@ -0,0 +1,50 @@
+package com.example.colaba.dto.projectmember;
+
+import com.example.colaba.dto.common.SparseField;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Поля {@link ProjectMemberResponse} для параметра {@code fields}. Ключ (projectId, userId) возвращается всегда;
+ * projectName/userUsername добавляют JOIN.
+ */
+public enum ProjectMemberField implements SparseField {
+    PROJECT_ID("projectId", "projectId"),
+    PROJECT_NAME("projectName", "project.name"),
+    USER_ID("userId", "userId"),
+    USER_USERNAME("userUsername", "user.username"),
+    ROLE("role", "role"),
+    JOINED_AT("joinedAt", "joinedAt") {
+        // Тот же формат, что @JsonFormat в ProjectMemberResponse
+        @Override
+        public Object toJson(Object value) {
+            return value == null ? null : JOINED_AT_FORMAT.format((LocalDateTime) value);
+        }
+    };
+
+    private static final DateTimeFormatter JOINED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String parameter;
+    private final String path;
+
+    ProjectMemberField(String parameter, String path) {
+        this.parameter = parameter;
+        this.path = path;
+    }
+
+    public static Set<ProjectMemberField> parse(String value) {
+        return SparseField.parse(value, ProjectMemberField.class, PROJECT_ID, USER_ID);
+    }
+
+    @Override
+    public String parameter() {
+        return parameter;
+    }
+
+    @Override
+    public String path() {
+        return path;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.colaba.dto.search;
+
+import com.example.colaba.entity.task.TaskStatus;
+
+// Попадание из Lucene-индекса: всё из stored-полей, без обращения к БД.
+// status — только у задач; excerpt — начало описания задачи или текста комментария
+public record IndexSearchHitResponse(
+        SearchHitType type,
+        Long id,
+        Long taskId,
+        Long projectId,
+        TaskStatus status,
+        String title,
+        String excerpt,
+        float score
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.colaba.dto.search;
+
+// title/snippet — HTML-экранированный текст, совпадения обёрнуты в <mark>
+public record SearchHitResponse(
+        SearchHitType type,
+        Long id,
+        Long taskId,
+        String title,
+        String snippet,
+        float rank
+) {
+}
@@ -0,0 +1,6 @@
+package com.example.colaba.dto.search;
+
+public enum SearchHitType {
+    TASK,
+    COMMENT
+}
@@ -0,0 +1,12 @@
+package com.example.colaba.dto.search;
+
+import java.time.Instant;
+
+public record SearchIndexStatusResponse(
+        boolean rebuilding,
+        long documents,
+        Instant rebuildStartedAt,
+        Instant rebuildFinishedAt,
+        String rebuildError
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.colaba.dto.tag;
+
+// Изменённая связь task_tags (RETURNING batch assign/remove) с проектом задачи — для событий tags.updated
+public record TaskTagLink(
+        Long taskId,
+        Long tagId,
+        Long projectId
+) {
+    // Строка native-запроса: task_id, tag_id, project_id
+    public static TaskTagLink fromRow(Object[] row) {
+        return new TaskTagLink(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue());
+    }
+}
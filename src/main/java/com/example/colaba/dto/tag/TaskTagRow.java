@@ -0,0 +1,11 @@
+package com.example.colaba.dto.tag;
+
+// Строка task_tags с данными тега: результат batch-запроса тегов по набору задач
+public record TaskTagRow(
+        Long taskId,
+        Long id,
+        String name,
+        Long projectId,
+        String projectName
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.colaba.dto.task;
+
+import java.util.List;
+
+/**
+ * Страница дельта-синхронизации: созданные и изменённые задачи, удалённые задачи и водяной знак
+ * для следующего запроса. hasMore — изменений больше, чем влезло в страницу: запросить сразу же.
+ */
+public record TaskChangesResponse(
+        List<TaskResponse> changed,
+        List<TaskTombstone> deleted,
+        String watermark,
+        boolean hasMore
+) {
+}
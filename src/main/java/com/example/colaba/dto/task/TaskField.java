@@ -0,0 +1,70 @@
+package com.example.colaba.dto.task;
+
+import com.example.colaba.dto.common.SparseField;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Поля {@link TaskResponse} для параметра {@code fields}. id возвращается всегда;
+ * projectName/assigneeUsername/reporterUsername добавляют JOIN, остальные читаются из tasks.
+ */
+public enum TaskField implements SparseField {
+    ID("id", "id"),
+    TITLE("title", "title"),
+    DESCRIPTION("description", "description"),
+    STATUS("status", "status"),
+    PRIORITY("priority", "priority"),
+    PROJECT_ID("projectId", "project.id"),
+    PROJECT_NAME("projectName", "project.name"),
+    ASSIGNEE_ID("assigneeId", "assignee.id"),
+    ASSIGNEE_USERNAME("assigneeUsername", "assignee.username"),
+    REPORTER_ID("reporterId", "reporter.id"),
+    REPORTER_USERNAME("reporterUsername", "reporter.username"),
+    DUE_DATE("dueDate", "dueDate") {
+        // Те же форматы, что @JsonFormat в TaskResponse
+        @Override
+        public Object toJson(Object value) {
+            return value == null ? null : DATE_FORMAT.format((LocalDate) value);
+        }
+    },
+    CREATED_AT("createdAt", "createdAt") {
+        @Override
+        public Object toJson(Object value) {
+            return value == null ? null : DATE_TIME_FORMAT.format((LocalDateTime) value);
+        }
+    },
+    UPDATED_AT("updatedAt", "updatedAt") {
+        @Override
+        public Object toJson(Object value) {
+            return value == null ? null : DATE_TIME_FORMAT.format((LocalDateTime) value);
+        }
+    };
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String parameter;
+    private final String path;
+
+    TaskField(String parameter, String path) {
+        this.parameter = parameter;
+        this.path = path;
+    }
+
+    public static Set<TaskField> parse(String value) {
+        return SparseField.parse(value, TaskField.class, ID);
+    }
+
+    @Override
+    public String parameter() {
+        return parameter;
+    }
+
+    @Override
+    public String path() {
+        return path;
+    }
+}
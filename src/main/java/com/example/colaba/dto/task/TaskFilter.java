@@ -0,0 +1,47 @@
+package com.example.colaba.dto.task;
+
+import com.example.colaba.entity.task.TaskPriority;
+import com.example.colaba.entity.task.TaskStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// Query-параметры фильтра GET /api/tasks; множества — через запятую или повтором параметра.
+// Все условия объединяются через AND, границы диапазонов включительные
+public record TaskFilter(
+        Long projectId,
+        Set<TaskStatus> status,
+        Set<TaskPriority> priority,
+        Long assigneeId,
+        Long reporterId,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate dueFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate dueTo,
+        Set<Long> tagsAny,
+        Set<Long> tagsAll,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime createdFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime createdTo,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime updatedFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime updatedTo
+) {
+    public static final TaskFilter NONE = new TaskFilter(null, null, null, null, null, null, null,
+            null, null, null, null, null, null);
+
+    public boolean isEmpty() {
+        return projectId == null && isEmpty(status) && isEmpty(priority)
+                && assigneeId == null && reporterId == null && dueFrom == null && dueTo == null
+                && isEmpty(tagsAny) && isEmpty(tagsAll) && createdFrom == null && createdTo == null
+                && updatedFrom == null && updatedTo == null;
+    }
+
+    private static boolean isEmpty(Set<?> values) {
+        return values == null || values.isEmpty();
+    }
+}
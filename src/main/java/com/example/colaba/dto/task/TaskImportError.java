@@ -0,0 +1,7 @@
+package com.example.colaba.dto.task;
+
+public record TaskImportError(
+        long row,
+        String message
+) {
+}
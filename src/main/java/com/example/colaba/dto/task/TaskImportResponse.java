@@ -0,0 +1,12 @@
+package com.example.colaba.dto.task;
+
+import java.util.List;
+
+// errors ограничен первыми TaskImportService.MAX_REPORTED_ERRORS строками, failed — полное число
+public record TaskImportResponse(
+        long received,
+        long imported,
+        long failed,
+        List<TaskImportError> errors
+) {
+}
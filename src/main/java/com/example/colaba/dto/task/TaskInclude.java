@@ -0,0 +1,40 @@
+package com.example.colaba.dto.task;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Необязательные части {@link TaskResponse} для параметра {@code include} списочных эндпоинтов.
+ * Каждая догружается одним запросом на всю страницу, а не на задачу.
+ */
+public enum TaskInclude {
+    TAGS("tags"),
+    COMMENT_COUNT("commentCount");
+
+    private final String parameter;
+
+    TaskInclude(String parameter) {
+        this.parameter = parameter;
+    }
+
+    // "tags", "commentCount" или через запятую; пусто — ничего не догружать
+    public static Set<TaskInclude> parse(String value) {
+        Set<TaskInclude> result = EnumSet.noneOf(TaskInclude.class);
+        if (value == null || value.isBlank()) {
+            return result;
+        }
+        for (String part : value.split(",")) {
+            String name = part.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            result.add(Arrays.stream(values())
+                    .filter(include -> include.parameter.equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown include: " + name + " (expected "
+                            + String.join(", ", Arrays.stream(values()).map(i -> i.parameter).toList()) + ")")));
+        }
+        return result;
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.colaba.dto.task;
 
+import com.example.colaba.dto.tag.TagResponse;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public record TaskResponse(
         Long id,
@@ -22,6 +25,29 @@ public record TaskResponse(
         @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
         LocalDateTime createdAt,
         @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        // Только с include=tags; без него поле не сериализуется
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<TagResponse> tags,
+        // Только с include=commentCount
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long commentCount
 ) {
+    public TaskResponse(Long id, String title, String description, String status, String priority,
+                        Long projectId, String projectName, Long assigneeId, String assigneeUsername,
+                        Long reporterId, String reporterUsername, LocalDate dueDate,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, description, status, priority, projectId, projectName, assigneeId, assigneeUsername,
+                reporterId, reporterUsername, dueDate, createdAt, updatedAt, null, null);
+    }
+
+    public TaskResponse copyWithTags(List<TagResponse> tags) {
+        return new TaskResponse(id, title, description, status, priority, projectId, projectName, assigneeId,
+                assigneeUsername, reporterId, reporterUsername, dueDate, createdAt, updatedAt, tags, commentCount);
+    }
+
+    public TaskResponse copyWithCommentCount(Long commentCount) {
+        return new TaskResponse(id, title, description, status, priority, projectId, projectName, assigneeId,
+                assigneeUsername, reporterId, reporterUsername, dueDate, createdAt, updatedAt, tags, commentCount);
+    }
 }
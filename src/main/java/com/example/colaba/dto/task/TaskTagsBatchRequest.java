@@ -0,0 +1,20 @@
+package com.example.colaba.dto.task;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+
+public record TaskTagsBatchRequest(
+        @NotNull(message = "Operation is required")
+        TaskTagsOperation operation,
+        @NotEmpty(message = "Task IDs are required")
+        @Size(max = 1000, message = "At most 1000 task IDs per request")
+        Set<@NotNull @Positive Long> taskIds,
+        @NotEmpty(message = "Tag IDs are required")
+        @Size(max = 100, message = "At most 100 tag IDs per request")
+        Set<@NotNull @Positive Long> tagIds
+) {
+}
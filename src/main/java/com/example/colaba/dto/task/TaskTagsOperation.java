@@ -0,0 +1,6 @@
+package com.example.colaba.dto.task;
+
+public enum TaskTagsOperation {
+    ASSIGN,
+    REMOVE
+}
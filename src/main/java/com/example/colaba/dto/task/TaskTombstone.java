@@ -0,0 +1,13 @@
+package com.example.colaba.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+// Удалённая задача в ответе дельта-синхронизации: клиент убирает её из локальной копии
+public record TaskTombstone(
+        Long id,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime deletedAt
+) {
+}
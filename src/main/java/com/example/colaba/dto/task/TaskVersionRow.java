@@ -0,0 +1,24 @@
+package com.example.colaba.dto.task;
+
+import com.example.colaba.dto.common.ResourceVersion;
+
+import java.time.LocalDateTime;
+
+// Поля TaskResponse, от которых зависит ETag: читаются скалярами, без загрузки сущностей
+public record TaskVersionRow(
+        Long id,
+        LocalDateTime updatedAt,
+        String projectName,
+        String assigneeUsername,
+        String reporterUsername
+) {
+    public static TaskVersionRow from(TaskResponse task) {
+        return new TaskVersionRow(task.id(), task.updatedAt(), task.projectName(), task.assigneeUsername(),
+                task.reporterUsername());
+    }
+
+    public ResourceVersion version() {
+        return ResourceVersion.of(ResourceVersion.instant(updatedAt), id, projectName, assigneeUsername,
+                reporterUsername);
+    }
+}
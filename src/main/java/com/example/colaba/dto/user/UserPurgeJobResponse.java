@@ -0,0 +1,17 @@
+package com.example.colaba.dto.user;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+public record UserPurgeJobResponse(
+        UUID jobId,
+        Long userId,
+        String status,
+        String phase,
+        Map<String, Long> processedRows,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+}
@@ -1,11 +1,15 @@
 package com.example.colaba.entity;
 
+import com.example.colaba.cache.CacheEvictionListener;
+import com.example.colaba.cache.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -15,6 +19,9 @@ import java.time.LocalDateTime;
 // Stub entity, replace with proper realization
 @Entity
 @Table(name = "projects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROJECTS)
+@EntityListeners(CacheEvictionListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,7 +31,8 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode
 public class Project {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_id_seq")
+    @SequenceGenerator(name = "projects_id_seq", sequenceName = "projects_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
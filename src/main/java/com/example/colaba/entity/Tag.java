@@ -1,11 +1,15 @@
 package com.example.colaba.entity;
 
+import com.example.colaba.cache.CacheEvictionListener;
+import com.example.colaba.cache.CacheRegions;
 import com.example.colaba.entity.task.Task;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -15,6 +19,9 @@ import java.util.Set;
 @Entity
 @Table(name = "tags",
         uniqueConstraints = @UniqueConstraint(columnNames = {"name", "project_id"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TAGS)
+@EntityListeners(CacheEvictionListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,7 +31,8 @@ import java.util.Set;
 @EqualsAndHashCode(exclude = {"tasks"})
 public class Tag {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tags_id_seq")
+    @SequenceGenerator(name = "tags_id_seq", sequenceName = "tags_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Tag name cannot be blank")
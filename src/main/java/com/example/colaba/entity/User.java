@@ -1,17 +1,24 @@
 package com.example.colaba.entity;
 
+import com.example.colaba.cache.CacheEvictionListener;
+import com.example.colaba.cache.CacheRegions;
 import com.example.colaba.entity.projectmember.ProjectMember;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
+@EntityListeners(CacheEvictionListener.class)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -21,7 +28,8 @@ import java.util.Set;
 @EqualsAndHashCode
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 50)
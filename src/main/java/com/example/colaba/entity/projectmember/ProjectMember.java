@@ -6,6 +6,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 
@@ -17,9 +20,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@ToString
-@EqualsAndHashCode
-public class ProjectMember {
+@ToString(exclude = "newEntity")
+@EqualsAndHashCode(exclude = "newEntity")
+public class ProjectMember implements Persistable<ProjectMemberId> {
     @Id
     @Column(name = "project_id", nullable = false)
     private Long projectId;
@@ -31,11 +34,13 @@ public class ProjectMember {
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Project project;
 
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
     @NotNull(message = "Role is required")
@@ -46,4 +51,26 @@ public class ProjectMember {
     @CreationTimestamp
     @Column(name = "joined_at", updatable = false)
     private LocalDateTime joinedAt;
+
+    // Ключ задаётся вручную, поэтому save() по умолчанию делал бы merge (лишний SELECT).
+    // Новая запись всегда persist; дубликат отловит PK на INSERT
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public ProjectMemberId getId() {
+        return new ProjectMemberId(projectId, userId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
 }
@@ -29,7 +29,8 @@ import java.util.Set;
 @EqualsAndHashCode(exclude = {"tags"})
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title cannot be blank")
@@ -0,0 +1,142 @@
+package com.example.colaba.event;
+
+import com.example.colaba.dto.event.ProjectEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Подписки на события проектов (GET /api/projects/{id}/events) и их рассылка.
+ * <p>
+ * Событие сериализуется один раз и раскладывается по очередям подписчиков проекта без блокировок и
+ * ожидания клиентов: публикация идёт в потоке, закрывающем транзакцию. Пишут в сокеты виртуальные
+ * потоки — медленный клиент занимает свой поток, а не поток из общего пула, и только пока ему есть что слать.
+ * Очередь подписчика ограничена colaba.events.buffer-size: при переполнении новые события отбрасываются
+ * (см. {@link ProjectEventSubscriber}), память на соединение ограничена.
+ * <p>
+ * Подписчики и события — в памяти инстанса: клиент получает изменения, сделанные через тот же инстанс.
+ * Воспроизведения по Last-Event-ID нет; после переподключения клиент перечитывает состояние.
+ */
+@Slf4j
+@Component
+public class ProjectEventBroker {
+
+    private static final String HEARTBEAT = "heartbeat";
+
+    private final Map<Long, Set<ProjectEventSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong subscriberCount = new AtomicLong();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    public ProjectEventBroker(ObjectMapper objectMapper,
+                              @Value("${colaba.events.buffer-size:256}") int bufferSize,
+                              @Value("${colaba.events.timeout:30m}") Duration timeout) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("colaba.events.buffer-size must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public SseEmitter subscribe(Long projectId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        ProjectEventSubscriber subscriber = new ProjectEventSubscriber(projectId, emitter, bufferSize, sender,
+                count -> serialize(ProjectEvent.dropped(projectId, count)));
+        // compute, а не computeIfAbsent().add(): remove() может в этот момент выбросить опустевший набор
+        subscribers.compute(projectId, (id, targets) -> {
+            Set<ProjectEventSubscriber> result = targets != null ? targets : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        // Клиент переподключится сам (retry EventSource)
+        emitter.onTimeout(emitter::complete);
+        return emitter;
+    }
+
+    public void publish(ProjectEvent event) {
+        Set<ProjectEventSubscriber> targets = subscribers.get(event.projectId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> data = serialize(event);
+        for (ProjectEventSubscriber subscriber : targets) {
+            subscriber.offer(data);
+        }
+    }
+
+    // Без подписчиков на инстансе сервисам незачем искать проект изменённой сущности
+    public boolean hasSubscribers() {
+        return subscriberCount.get() > 0;
+    }
+
+    public boolean hasSubscribers(Long projectId) {
+        Set<ProjectEventSubscriber> targets = subscribers.get(projectId);
+        return targets != null && !targets.isEmpty();
+    }
+
+    // SSE-комментарий держит соединение через прокси и выявляет ушедших клиентов
+    @Scheduled(fixedRateString = "${colaba.events.heartbeat-interval:15s}")
+    public void heartbeat() {
+        if (!hasSubscribers()) {
+            return;
+        }
+        Set<DataWithMediaType> ping = SseEmitter.event().comment(HEARTBEAT).build();
+        subscribers.values().forEach(targets -> targets.forEach(subscriber -> subscriber.offerIfIdle(ping)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(targets -> targets.forEach(subscriber -> {
+            remove(subscriber);
+            subscriber.emitter().complete();
+        }));
+        sender.shutdownNow();
+    }
+
+    private void remove(ProjectEventSubscriber subscriber) {
+        subscriber.close();
+        subscribers.computeIfPresent(subscriber.projectId(), (id, targets) -> {
+            if (targets.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+                if (subscriber.droppedCount() > 0) {
+                    log.debug("Project {} event subscriber closed with {} undelivered events",
+                            id, subscriber.droppedCount());
+                }
+            }
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
+    private Set<DataWithMediaType> serialize(ProjectEvent event) {
+        try {
+            return SseEmitter.event()
+                    .id(String.valueOf(sequence.incrementAndGet()))
+                    .name(event.type().eventName())
+                    .data(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize project event " + event.type(), e);
+        }
+    }
+}
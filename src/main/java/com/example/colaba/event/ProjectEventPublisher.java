@@ -0,0 +1,131 @@
+package com.example.colaba.event;
+
+import com.example.colaba.db.AfterCommit;
+import com.example.colaba.dto.comment.CommentContentRow;
+import com.example.colaba.dto.event.ProjectEvent;
+import com.example.colaba.dto.event.ProjectEventType;
+import com.example.colaba.dto.tag.TaskTagLink;
+import com.example.colaba.entity.Comment;
+import com.example.colaba.entity.task.Task;
+import com.example.colaba.repository.CommentRepository;
+import com.example.colaba.repository.TagRepository;
+import com.example.colaba.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * События изменений для {@link ProjectEventBroker} из write-путей TaskService/CommentService/TagService.
+ * Проект изменённой сущности определяется в транзакции, клиентам событие уходит после COMMIT:
+ * откаченное изменение подписчики не видят. Без подписчиков на инстансе — no-op, лишних запросов нет.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectEventPublisher {
+
+    private final ProjectEventBroker broker;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final TagRepository tagRepository;
+
+    public void taskCreated(Task task) {
+        taskChanged(ProjectEventType.TASK_CREATED, task);
+    }
+
+    public void taskUpdated(Task task) {
+        taskChanged(ProjectEventType.TASK_UPDATED, task);
+    }
+
+    public void taskDeleted(Task task) {
+        taskChanged(ProjectEventType.TASK_DELETED, task);
+    }
+
+    public void commentCreated(Comment comment) {
+        commentChanged(ProjectEventType.COMMENT_CREATED, comment);
+    }
+
+    public void commentUpdated(Comment comment) {
+        commentChanged(ProjectEventType.COMMENT_UPDATED, comment);
+    }
+
+    // Bulk prefix: comment.updated на каждый изменённый комментарий, проект — из строк RETURNING
+    public void commentsUpdated(List<CommentContentRow> comments) {
+        if (comments.isEmpty() || !broker.hasSubscribers(comments.getFirst().projectId())) {
+            return;
+        }
+        for (CommentContentRow comment : comments) {
+            afterCommit(ProjectEvent.comment(ProjectEventType.COMMENT_UPDATED, comment.projectId(),
+                    comment.taskId(), comment.id()));
+        }
+    }
+
+    // До DELETE: после него задачу комментария уже не найти
+    public void commentDeleting(Long commentId) {
+        if (!broker.hasSubscribers()) {
+            return;
+        }
+        commentRepository.findLocationById(commentId).ifPresent(location -> afterCommit(ProjectEvent.comment(
+                ProjectEventType.COMMENT_DELETED, location.projectId(), location.taskId(), commentId)));
+    }
+
+    public void tagAssigned(Long taskId, Long tagId) {
+        tagLinkChanged(ProjectEventType.TAG_ASSIGNED, taskId, tagId);
+    }
+
+    public void tagRemoved(Long taskId, Long tagId) {
+        tagLinkChanged(ProjectEventType.TAG_REMOVED, taskId, tagId);
+    }
+
+    // Пакетный assign/remove: одно событие на проект вместо события на каждую связь
+    // Проект уже в RETURNING batch-запроса: каждому проекту только его изменённые пары, без доп. запросов
+    public void tagsUpdated(Collection<TaskTagLink> changed) {
+        if (!broker.hasSubscribers()) {
+            return;
+        }
+        Map<Long, List<ProjectEvent.Link>> byProject = new LinkedHashMap<>();
+        for (TaskTagLink link : changed) {
+            byProject.computeIfAbsent(link.projectId(), id -> new ArrayList<>())
+                    .add(new ProjectEvent.Link(link.taskId(), link.tagId()));
+        }
+        byProject.forEach((projectId, links) -> {
+            if (broker.hasSubscribers(projectId)) {
+                afterCommit(ProjectEvent.tags(projectId, links));
+            }
+        });
+    }
+
+    private void taskChanged(ProjectEventType type, Task task) {
+        // getProject().getId() у прокси не инициализирует его
+        Long projectId = task.getProject().getId();
+        if (broker.hasSubscribers(projectId)) {
+            afterCommit(ProjectEvent.task(type, projectId, task.getId()));
+        }
+    }
+
+    private void commentChanged(ProjectEventType type, Comment comment) {
+        if (!broker.hasSubscribers()) {
+            return;
+        }
+        Long taskId = comment.getTask().getId();
+        taskRepository.findProjectIdById(taskId).ifPresent(projectId ->
+                afterCommit(ProjectEvent.comment(type, projectId, taskId, comment.getId())));
+    }
+
+    private void tagLinkChanged(ProjectEventType type, Long taskId, Long tagId) {
+        if (!broker.hasSubscribers()) {
+            return;
+        }
+        tagRepository.findProjectIdById(tagId).ifPresent(projectId ->
+                afterCommit(ProjectEvent.tag(type, projectId, taskId, tagId)));
+    }
+
+    private void afterCommit(ProjectEvent event) {
+        AfterCommit.run("Project event " + event.type().eventName() + " for project " + event.projectId(),
+                () -> broker.publish(event));
+    }
+}
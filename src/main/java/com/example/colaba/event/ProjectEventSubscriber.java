@@ -0,0 +1,110 @@
+package com.example.colaba.event;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Одно SSE-соединение. Публикация только кладёт готовое событие в ограниченную очередь и не ждёт клиента;
+ * пишет в сокет отдельная задача, не больше одной на подписчика (порядок событий сохраняется).
+ * Переполненная очередь отбрасывает новые события и считает их; перед следующим отправленным
+ * клиент получает событие dropped с их числом.
+ */
+final class ProjectEventSubscriber {
+
+    private final Long projectId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> queue;
+    private final Executor sender;
+    private final LongFunction<Set<DataWithMediaType>> droppedEvent;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+
+    ProjectEventSubscriber(Long projectId, SseEmitter emitter, int bufferSize, Executor sender,
+                           LongFunction<Set<DataWithMediaType>> droppedEvent) {
+        this.projectId = projectId;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+        this.droppedEvent = droppedEvent;
+    }
+
+    Long projectId() {
+        return projectId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    long droppedCount() {
+        return dropped.get();
+    }
+
+    // false — событие отброшено: клиент не успевает читать
+    boolean offer(Set<DataWithMediaType> event) {
+        if (closed) {
+            return false;
+        }
+        boolean accepted = queue.offer(event);
+        if (!accepted) {
+            dropped.incrementAndGet();
+        }
+        schedule();
+        return accepted;
+    }
+
+    // Heartbeat не нужен, если в очереди уже что-то есть: соединение и так не простаивает
+    void offerIfIdle(Set<DataWithMediaType> event) {
+        if (queue.isEmpty() && !draining.get()) {
+            offer(event);
+        }
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    private void schedule() {
+        if (!closed && draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed) {
+                long lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    emitter.send(droppedEvent.apply(lost));
+                }
+                Set<DataWithMediaType> event = queue.poll();
+                if (event == null) {
+                    break;
+                }
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Клиент ушёл или emitter уже завершён: onError/onCompletion уберут подписку
+            close();
+            emitter.completeWithError(e);
+            return;
+        } finally {
+            draining.set(false);
+        }
+        // Событие могло прийти между последним poll и сбросом флага
+        if (!queue.isEmpty() || dropped.get() > 0) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.colaba.exception;
+
+import com.example.colaba.exception.projectmember.DuplicateProjectMemberException;
+import com.example.colaba.exception.project.ProjectNotFoundException;
+import com.example.colaba.exception.tag.TagNotFoundException;
+import com.example.colaba.exception.task.TaskNotFoundException;
+import com.example.colaba.exception.user.UserNotFoundException;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Перевод нарушений FK/PK PostgreSQL в доменные исключения.
+ * Write path создаёт сущности по ссылкам (getReferenceById) без предварительных SELECT,
+ * поэтому «не найден» приходит от БД в виде foreign_key_violation.
+ * Разбирается фрагмент detail {@code (column)=(value)} — он не зависит от lc_messages
+ * и от имён констрейнтов (Liquibase и ddl-auto называют их по-разному).
+ */
+final class DataIntegrityViolationTranslator {
+
+    private static final Pattern KEY = Pattern.compile("\\(([\\w, ]+)\\)=\\(([^)]*)\\)");
+
+    private DataIntegrityViolationTranslator() {
+    }
+
+    static Optional<RuntimeException> translate(DataIntegrityViolationException e) {
+        if (!(e.getMostSpecificCause() instanceof PSQLException psql) || psql.getServerErrorMessage() == null) {
+            return Optional.empty();
+        }
+        ServerErrorMessage message = psql.getServerErrorMessage();
+        Matcher key = message.getDetail() == null ? null : KEY.matcher(message.getDetail());
+        if (key == null || !key.find()) {
+            return Optional.empty();
+        }
+        List<String> columns = List.of(key.group(1).split(",\\s*"));
+        List<String> values = List.of(key.group(2).split(",\\s*"));
+
+        if (PSQLState.FOREIGN_KEY_VIOLATION.getState().equals(psql.getSQLState()) && columns.size() == 1) {
+            return notFound(columns.getFirst(), Long.valueOf(values.getFirst()));
+        }
+        if (PSQLState.UNIQUE_VIOLATION.getState().equals(psql.getSQLState())
+                && "project_members".equals(message.getTable())
+                && columns.equals(List.of("project_id", "user_id"))) {
+            return Optional.of(new DuplicateProjectMemberException(Long.valueOf(values.get(1)), Long.valueOf(values.get(0))));
+        }
+        return Optional.empty();
+    }
+
+    // Колонка ссылающейся таблицы -> сущность, на которую она указывает
+    private static Optional<RuntimeException> notFound(String column, Long id) {
+        return switch (column) {
+            case "project_id" -> Optional.of(new ProjectNotFoundException(id));
+            case "user_id", "owner_id", "assignee_id", "reporter_id" -> Optional.of(new UserNotFoundException(id));
+            case "task_id" -> Optional.of(new TaskNotFoundException(id));
+            case "tag_id" -> Optional.of(new TagNotFoundException(id));
+            default -> Optional.empty();
+        };
+    }
+}
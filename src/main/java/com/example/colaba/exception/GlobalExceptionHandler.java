@@ -3,6 +3,8 @@ package com.example.colaba.exception;
 import com.example.colaba.dto.common.ErrorResponseDto;
 import com.example.colaba.exception.common.DuplicateEntityException;
 import com.example.colaba.exception.common.NotFoundException;
+import com.example.colaba.exception.task.SyncWatermarkExpiredException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -27,6 +29,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(dto);
     }
 
+    // FK/PK нарушения с write path по ссылкам -> 404/409 с теми же типами, что и при поиске по id
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponseDto> handleDataIntegrity(DataIntegrityViolationException e) {
+        RuntimeException translated = DataIntegrityViolationTranslator.translate(e).orElse(null);
+        if (translated instanceof NotFoundException notFound) {
+            return handleNotFound(notFound);
+        }
+        if (translated instanceof DuplicateEntityException duplicate) {
+            return handleDuplicate(duplicate);
+        }
+        ErrorResponseDto dto = new ErrorResponseDto("DataIntegrityViolation", 409, "Request conflicts with existing data");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(dto);
+    }
+
+    // 410: клиент должен начать синхронизацию заново, повтор с тем же since не поможет
+    @ExceptionHandler(SyncWatermarkExpiredException.class)
+    public ResponseEntity<ErrorResponseDto> handleWatermarkExpired(SyncWatermarkExpiredException e) {
+        ErrorResponseDto dto = new ErrorResponseDto("WatermarkExpired", 410, e.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(dto);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDto> handleValidation(MethodArgumentNotValidException e) {
         Map<String, String> errors = new HashMap<>();
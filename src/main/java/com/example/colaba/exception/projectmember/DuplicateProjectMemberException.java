@@ -6,4 +6,8 @@ public class DuplicateProjectMemberException extends DuplicateEntityException {
     public DuplicateProjectMemberException(String username, Long projectId) {
         super("User '" + username + "' is already a member of project " + projectId);
     }
+
+    public DuplicateProjectMemberException(Long userId, Long projectId) {
+        super("User " + userId + " is already a member of project " + projectId);
+    }
 }
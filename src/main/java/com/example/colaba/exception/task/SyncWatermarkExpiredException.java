@@ -0,0 +1,8 @@
+package com.example.colaba.exception.task;
+
+// Водяной знак старше хранения журнала удалений: часть удалений уже не восстановить, нужна полная синхронизация
+public class SyncWatermarkExpiredException extends RuntimeException {
+    public SyncWatermarkExpiredException() {
+        super("Watermark is older than the deleted tasks log retention; sync again without since");
+    }
+}
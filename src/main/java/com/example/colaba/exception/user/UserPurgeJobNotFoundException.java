@@ -0,0 +1,11 @@
+package com.example.colaba.exception.user;
+
+import com.example.colaba.exception.common.NotFoundException;
+
+import java.util.UUID;
+
+public class UserPurgeJobNotFoundException extends NotFoundException {
+    public UserPurgeJobNotFoundException(UUID jobId) {
+        super("User purge job not found: ID " + jobId);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.colaba.mapper;
 
 import com.example.colaba.dto.tag.TagResponse;
+import com.example.colaba.dto.tag.TaskTagRow;
 import com.example.colaba.entity.Tag;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -12,6 +13,8 @@ public interface TagMapper {
     @Mapping(source = "project.name", target = "projectName")
     TagResponse toTagResponse(Tag tag);
 
+    TagResponse toTagResponse(TaskTagRow row);
+
     default Page<TagResponse> toTagResponsePage(Page<Tag> tags) {
         return tags.map(this::toTagResponse);
     }
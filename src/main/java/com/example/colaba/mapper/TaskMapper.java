@@ -14,6 +14,12 @@ public interface TaskMapper {
     @Mapping(source = "assignee.username", target = "assigneeUsername")
     @Mapping(source = "reporter.id", target = "reporterId")
     @Mapping(source = "reporter.username", target = "reporterUsername")
+    // Коллекцию Task.tags не трогаем: lazy-загрузка на каждую задачу; теги — через include=tags
+    @Mapping(target = "tags", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
+    // copyWith*-методы record'а MapStruct принимает за fluent-сеттеры целевого типа
+    @Mapping(target = "copyWithTags", ignore = true)
+    @Mapping(target = "copyWithCommentCount", ignore = true)
     TaskResponse toTaskResponse(Task task);
 
     default Page<TaskResponse> toTaskResponsePage(Page<Task> tasks) {
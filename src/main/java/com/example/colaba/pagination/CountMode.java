@@ -0,0 +1,25 @@
+package com.example.colaba.pagination;
+
+import java.util.Locale;
+
+/**
+ * Как считать total для списочных эндпоинтов.
+ * EXACT — Page с COUNT(*), NONE — Slice только с hasNext,
+ * ESTIMATE — Slice + оценка из статистики планировщика PostgreSQL.
+ */
+public enum CountMode {
+    EXACT,
+    NONE,
+    ESTIMATE;
+
+    public static CountMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown count mode: " + value + " (expected exact, none or estimate)");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.colaba.pagination;
+
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Непрозрачный курсор для keyset (seek) пагинации.
+ * Хранит значения ключа сортировки последней отданной строки; следующая страница
+ * читается как {@code WHERE key > :last ORDER BY key LIMIT n} — без OFFSET.
+ */
+public final class KeysetCursor {
+    private static final String SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Object... keys) {
+        String raw = String.join(SEPARATOR, Arrays.stream(keys).map(String::valueOf).toList());
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static List<String> decode(String cursor, int arity) {
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            List<String> keys = List.of(raw.split(Pattern.quote(SEPARATOR), -1));
+            if (keys.size() != arity) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    // Курсор по первичному ключу; пустой курсор — начало выборки (id всегда > 0)
+    public static long afterId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor, 1).getFirst());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static <E> String next(Slice<E> slice, Function<E, String> cursorOf) {
+        return slice.hasNext() ? cursorOf.apply(slice.getContent().getLast()) : null;
+    }
+}
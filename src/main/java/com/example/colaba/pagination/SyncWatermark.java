@@ -0,0 +1,43 @@
+package com.example.colaba.pagination;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Водяной знак дельта-синхронизации: позиция (updated_at, id) в порядке изменения задач проекта.
+ * Наружу уходит непрозрачной строкой, как {@link KeysetCursor}; точность — микросекунды, как у timestamptz.
+ */
+public record SyncWatermark(
+        Instant at,
+        long id
+) implements Comparable<SyncWatermark> {
+
+    public SyncWatermark {
+        at = at.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // Пустой водяной знак — первая синхронизация; null
+    public static SyncWatermark decode(String watermark) {
+        if (watermark == null || watermark.isBlank()) {
+            return null;
+        }
+        try {
+            List<String> keys = KeysetCursor.decode(watermark, 2);
+            long micros = Long.parseLong(keys.get(0));
+            return new SyncWatermark(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), Long.parseLong(keys.get(1)));
+        } catch (IllegalArgumentException | ArithmeticException e) {  // в т. ч. NumberFormatException
+            throw new IllegalArgumentException("Invalid watermark");
+        }
+    }
+
+    public String encode() {
+        return KeysetCursor.encode(ChronoUnit.MICROS.between(Instant.EPOCH, at), id);
+    }
+
+    @Override
+    public int compareTo(SyncWatermark other) {
+        int byTime = at.compareTo(other.at);
+        return byTime != 0 ? byTime : Long.compare(id, other.id);
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.colaba.repository;
 
+import com.example.colaba.dto.comment.CommentContentRow;
+import com.example.colaba.dto.comment.CommentLocation;
+import com.example.colaba.dto.comment.CommentVersionRow;
+import com.example.colaba.dto.comment.TaskCommentCount;
 import com.example.colaba.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -16,12 +24,92 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     // Пагинация по task с total (для header X-Total-Count)
     Page<Comment> findByTaskIdOrderByCreatedAtDesc(Long taskId, Pageable pageable);
 
-    // Infinite scroll: Slice без total, по createdAt before (стандарт для timeline)
-    Slice<Comment> findByTaskIdAndCreatedAtBeforeOrderByCreatedAtDesc(Long taskId, OffsetDateTime createdBefore, Pageable pageable);
+    // Версии для условного GET: только id и updated_at, та же страница, что findByTaskIdOrderByCreatedAtDesc
+    @Query("""
+            SELECT new com.example.colaba.dto.comment.CommentVersionRow(c.id, c.updatedAt)
+            FROM Comment c WHERE c.id = :id
+            """)
+    Optional<CommentVersionRow> findVersionById(@Param("id") Long id);
+
+    // Маршрут события comment.deleted: читается до DELETE, без загрузки сущностей
+    @Query("""
+            SELECT new com.example.colaba.dto.comment.CommentLocation(c.task.id, c.task.project.id)
+            FROM Comment c WHERE c.id = :id
+            """)
+    Optional<CommentLocation> findLocationById(@Param("id") Long id);
+
+    @Query(value = """
+            SELECT new com.example.colaba.dto.comment.CommentVersionRow(c.id, c.updatedAt)
+            FROM Comment c WHERE c.task.id = :taskId
+            ORDER BY c.createdAt DESC
+            """,
+            countQuery = "SELECT count(c) FROM Comment c WHERE c.task.id = :taskId")
+    Page<CommentVersionRow> findVersionsByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+
+    // Infinite scroll: Slice без total, курсор (createdAt, id) — id разрывает ничьи по времени.
+    // Оба запроса идут по индексу idx_comments_task_created_id (task_id, created_at DESC, id DESC)
+    Slice<Comment> findByTaskIdOrderByCreatedAtDescIdDesc(Long taskId, Pageable pageable);
+
+    @Query("""
+            SELECT c FROM Comment c
+            WHERE c.task.id = :taskId
+              AND c.createdAt <= :createdAt
+              AND (c.createdAt < :createdAt OR c.id < :id)
+            ORDER BY c.createdAt DESC, c.id DESC
+            """)
+    Slice<Comment> findTimelineBefore(@Param("taskId") Long taskId,
+                                      @Param("createdAt") OffsetDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
 
     // Total count для task (дублирует Page, но explicit ок)
     long countByTaskId(Long taskId);
 
+    // Счётчики для страницы задач одним GROUP BY по idx_comments_task_created_id;
+    // задач без комментариев в результате нет
+    @Query("""
+            SELECT new com.example.colaba.dto.comment.TaskCommentCount(c.task.id, count(c))
+            FROM Comment c
+            WHERE c.task.id IN :taskIds
+            GROUP BY c.task.id
+            """)
+    List<TaskCommentCount> countByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
     // Добавка: Все комментарии по task для bulk-операций (в транзакции)
     List<Comment> findAllByTaskId(Long taskId);
+
+    // Set-based: один UPDATE вместо загрузки и N UPDATE. Возвращает новые тексты —
+    // для инкрементального индекса и событий после COMMIT
+    default List<CommentContentRow> prefixContentByTaskId(Long taskId, String prefix) {
+        return updateContentPrefix(taskId, prefix).stream().map(CommentContentRow::fromRow).toList();
+    }
+
+    // Одна пачка для постраничного варианта: keyset по id, курсор = max id
+    default List<CommentContentRow> prefixContentChunk(Long taskId, String prefix, long afterId, int limit) {
+        return updateContentPrefixChunk(taskId, prefix, afterId, limit).stream()
+                .map(CommentContentRow::fromRow).toList();
+    }
+
+    // UPDATE ... RETURNING выполняется как запрос, а не executeUpdate: @Modifying вернул бы только число строк.
+    // Comment не в L2 кэше, в persistence context комментарии задачи до UPDATE не загружаются
+    @Query(value = """
+            UPDATE comments c SET content = :prefix || c.content, updated_at = now()
+            FROM tasks t
+            WHERE c.task_id = :taskId AND t.id = c.task_id
+            RETURNING c.id, c.task_id, t.project_id, c.content
+            """, nativeQuery = true)
+    List<Object[]> updateContentPrefix(@Param("taskId") Long taskId, @Param("prefix") String prefix);
+
+    @Query(value = """
+            UPDATE comments c SET content = :prefix || c.content, updated_at = now()
+            FROM (SELECT id FROM comments
+                  WHERE task_id = :taskId AND id > :afterId
+                  ORDER BY id LIMIT :limit) batch, tasks t
+            WHERE c.id = batch.id AND t.id = c.task_id
+            RETURNING c.id, c.task_id, t.project_id, c.content
+            """, nativeQuery = true)
+    List<Object[]> updateContentPrefixChunk(@Param("taskId") Long taskId,
+                                            @Param("prefix") String prefix,
+                                            @Param("afterId") long afterId,
+                                            @Param("limit") int limit);
 }
\ No newline at end of file
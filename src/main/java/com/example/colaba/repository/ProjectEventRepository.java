@@ -0,0 +1,19 @@
+package com.example.colaba.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Проверка проекта при подписке на SSE: JdbcTemplate вне транзакции сразу возвращает соединение в пул,
+// запрос через JPA взял бы его в сессию open-in-view, и та держала бы соединение, пока открыт поток
+@Repository
+@RequiredArgsConstructor
+public class ProjectEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean projectExists(long projectId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM projects WHERE id = ?)", Boolean.class, projectId));
+    }
+}
@@ -1,24 +1,58 @@
 package com.example.colaba.repository;
 
+import com.example.colaba.dto.project.ProjectVersionRow;
 import com.example.colaba.entity.Project;
 import com.example.colaba.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    int STREAM_FETCH_SIZE = 500;
 
     List<Project> findByOwnerId(Long ownerId);
 
+    // owner одним JOIN: ProjectMapper читает owner.username
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    List<Project> findAll();
+
+    // Экспорт: server-side курсор pgjdbc (fetch size > 0 внутри транзакции), память не растёт с таблицей
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Project p JOIN FETCH p.owner ORDER BY p.id")
+    Stream<Project> streamAll();
+
     boolean existsByName(String name);
 
-    // Пагинация с Slice
-    @Query("SELECT p FROM Project p ORDER BY p.id ASC")
+    // Пагинация с Slice: keyset по PK, owner одним JOIN (ProjectMapper читает owner.username)
+    @EntityGraph(attributePaths = "owner")
+    Slice<Project> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
     // Проверка на дубликат при обновлении: есть ли проект с таким именем, но другим ID
     boolean existsByNameAndIdNot(String name, Long id);
 
     List<Project> findByOwner(User owner);
+
+    // Версия для условного GET мимо L2 кэша и без гидрации
+    @Query("""
+            SELECT new com.example.colaba.dto.project.ProjectVersionRow(p.id, p.updatedAt, o.username)
+            FROM Project p LEFT JOIN p.owner o
+            WHERE p.id = :id
+            """)
+    Optional<ProjectVersionRow> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,49 @@
+package com.example.colaba.repository;
+
+import com.example.colaba.dto.project.ProjectStatsRow;
+import com.example.colaba.entity.task.TaskPriority;
+import com.example.colaba.entity.task.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Агрегаты по задачам проекта одним запросом: GROUPING SETS даёт разрезы по статусу, приоритету,
+// исполнителю и общий итог за один проход по idx_tasks_project_status_priority (index-only scan).
+// Просрочена — срок раньше сегодняшнего и задача не закрыта (как в idx_tasks_project_due_open)
+@Repository
+@RequiredArgsConstructor
+public class ProjectStatsRepository {
+    public static final int BY_STATUS = 0b011;
+    public static final int BY_PRIORITY = 0b101;
+    public static final int BY_ASSIGNEE = 0b110;
+    public static final int TOTAL = 0b111;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<ProjectStatsRow> aggregateByProject(long projectId) {
+        return jdbcTemplate.query("""
+                        SELECT GROUPING(status, priority, assignee_id) AS grouping,
+                               status, priority, assignee_id,
+                               count(*) AS total,
+                               count(*) FILTER (WHERE due_date < CURRENT_DATE
+                                                  AND status NOT IN ('DONE', 'CANCELLED')) AS overdue
+                        FROM tasks
+                        WHERE project_id = ?
+                        GROUP BY GROUPING SETS ((status), (priority), (assignee_id), ())
+                        """,
+                (rs, rowNum) -> {
+                    String status = rs.getString("status");
+                    String priority = rs.getString("priority");
+                    return new ProjectStatsRow(
+                            rs.getInt("grouping"),
+                            status == null ? null : TaskStatus.valueOf(status),
+                            priority == null ? null : TaskPriority.valueOf(priority),
+                            rs.getObject("assignee_id", Long.class),
+                            rs.getLong("total"),
+                            rs.getLong("overdue"));
+                },
+                projectId);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.colaba.repository;
+
+import com.example.colaba.dto.project.TaskCountDelta;
+import com.example.colaba.entity.task.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Счётчики задач project_task_counters. Значение для (project_id, status) — сумма по SLOTS строкам:
+// инкремент идёт в случайный слот, так параллельные транзакции одного проекта редко ждут одну строку.
+// Вызывается внутри транзакции изменения задачи (JdbcTemplate берёт соединение текущей транзакции)
+@Repository
+@RequiredArgsConstructor
+public class ProjectTaskCounterRepository {
+    public static final int SLOTS = 8;
+
+    // Произвольный ключ pg_advisory_xact_lock, общий для всех инстансов
+    private static final long RECONCILE_LOCK_KEY = 0x636f756e74657273L;
+
+    private static final String INCREMENT = """
+            INSERT INTO project_task_counters (project_id, status, slot, task_count)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (project_id, status, slot)
+            DO UPDATE SET task_count = project_task_counters.task_count + EXCLUDED.task_count
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Строки блокируются в порядке (project_id, status): две транзакции не возьмут их крест-накрест
+    public void add(List<TaskCountDelta> deltas) {
+        List<TaskCountDelta> sorted = deltas.stream()
+                .filter(d -> d.delta() != 0)
+                .sorted(Comparator.comparingLong(TaskCountDelta::projectId)
+                        .thenComparing(d -> d.status().name()))
+                .toList();
+        if (sorted.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INCREMENT, sorted, sorted.size(), (ps, delta) -> {
+            ps.setLong(1, delta.projectId());
+            ps.setString(2, delta.status().name());
+            ps.setShort(3, (short) ThreadLocalRandom.current().nextInt(SLOTS));
+            ps.setLong(4, delta.delta());
+        });
+    }
+
+    // Не больше SLOTS * число статусов строк по PK, без обращения к tasks
+    public Map<TaskStatus, Long> countByProject(long projectId) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        jdbcTemplate.query("""
+                        SELECT status, sum(task_count) AS task_count FROM project_task_counters
+                        WHERE project_id = ?
+                        GROUP BY status
+                        """,
+                rs -> {
+                    counts.put(TaskStatus.valueOf(rs.getString("status")), rs.getLong("task_count"));
+                },
+                projectId);
+        return counts;
+    }
+
+    public List<Long> findProjectIdsAfter(long afterId, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM projects WHERE id > ? ORDER BY id LIMIT ?",
+                Long.class, afterId, limit);
+    }
+
+    // Сериализует сверку между инстансами до конца транзакции. Отдельным запросом:
+    // снимок следующего запроса берётся уже после того, как предыдущая сверка зафиксирована
+    public void lockReconciliation() {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null, RECONCILE_LOCK_KEY);
+    }
+
+    // Пересчёт проектов (fromId, toId]: расхождение с count(*) по tasks дописывается дельтой в слот 0.
+    // Дельта, а не перезапись: параллельные транзакции меняют задачу и счётчик вместе, поэтому
+    // посчитанная по одному снимку разница остаётся верной и поверх их изменений.
+    // Возвращает число исправленных пар (project_id, status)
+    public int reconcile(long fromId, long toId) {
+        return jdbcTemplate.update("""
+                        INSERT INTO project_task_counters (project_id, status, slot, task_count)
+                        SELECT project_id, status, 0, coalesce(actual, 0) - coalesce(counted, 0)
+                        FROM (SELECT project_id, status, count(*) AS actual FROM tasks
+                              WHERE project_id > ? AND project_id <= ?
+                              GROUP BY project_id, status) a
+                        FULL JOIN (SELECT project_id, status, sum(task_count)::bigint AS counted
+                                   FROM project_task_counters
+                                   WHERE project_id > ? AND project_id <= ?
+                                   GROUP BY project_id, status) c USING (project_id, status)
+                        WHERE coalesce(actual, 0) <> coalesce(counted, 0)
+                        ORDER BY project_id, status
+                        ON CONFLICT (project_id, status, slot)
+                        DO UPDATE SET task_count = project_task_counters.task_count + EXCLUDED.task_count
+                        """,
+                fromId, toId, fromId, toId);
+    }
+}
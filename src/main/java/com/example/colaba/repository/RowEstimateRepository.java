@@ -0,0 +1,37 @@
+package com.example.colaba.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Дешёвые оценки количества строк из статистики планировщика PostgreSQL — без скана таблицы.
+// Точность зависит от свежести ANALYZE/autovacuum; для UI вида "около 1.2M задач" этого хватает.
+// Имена таблиц и запросы передаются только константами из сервисов, не из пользовательского ввода.
+@Repository
+@RequiredArgsConstructor
+public class RowEstimateRepository {
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long estimateTableRows(String table) {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+        // reltuples = -1, пока таблицу ни разу не анализировали
+        return rows.isEmpty() || rows.getFirst() == null ? 0 : Math.max(rows.getFirst(), 0);
+    }
+
+    // Оценка для выборки с фильтром: rows из верхнего узла EXPLAIN
+    public long estimateQueryRows(String query, Object... args) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + query, String.class, args);
+        if (plan.isEmpty()) {
+            return 0;
+        }
+        Matcher matcher = PLAN_ROWS.matcher(plan.getFirst());
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.colaba.repository;
+
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.search.CommentDocument;
+import com.example.colaba.search.TaskDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Чтение задач и комментариев для полного rebuild Lucene-индекса: keyset по id пачками,
+// без Hibernate и без загрузки связей — только поля, которые идут в индекс
+@Repository
+@RequiredArgsConstructor
+public class SearchIndexSourceRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<TaskDocument> findTasksAfter(long afterId, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT id, project_id, status, title, description FROM tasks
+                        WHERE id > ? ORDER BY id LIMIT ?
+                        """,
+                (rs, rowNum) -> new TaskDocument(
+                        rs.getLong("id"),
+                        rs.getLong("project_id"),
+                        TaskStatus.valueOf(rs.getString("status")),
+                        rs.getString("title"),
+                        rs.getString("description")),
+                afterId, limit);
+    }
+
+    public List<CommentDocument> findCommentsAfter(long afterId, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT c.id, c.task_id, t.project_id, c.content FROM comments c
+                        JOIN tasks t ON t.id = c.task_id
+                        WHERE c.id > ? ORDER BY c.id LIMIT ?
+                        """,
+                (rs, rowNum) -> new CommentDocument(
+                        rs.getLong("id"),
+                        rs.getLong("task_id"),
+                        rs.getLong("project_id"),
+                        rs.getString("content")),
+                afterId, limit);
+    }
+}
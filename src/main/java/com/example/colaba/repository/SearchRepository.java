@@ -0,0 +1,106 @@
+package com.example.colaba.repository;
+
+import com.example.colaba.dto.search.SearchHitResponse;
+import com.example.colaba.dto.search.SearchHitType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Полнотекстовый поиск по search_vector (см. 012-full-text-search.yaml) в пределах проекта.
+// Порядок — (rank DESC, kind DESC, id DESC), следующая страница читается по keyset (After).
+// ts_headline считается только для строк страницы: он перечитывает и разбирает весь текст.
+@Repository
+@RequiredArgsConstructor
+public class SearchRepository {
+    // Маркеры совпадений из ts_headline: текст сначала экранируется, потом они меняются на <mark>
+    private static final String MARK_START = "\u0002";
+    private static final String MARK_STOP = "\u0003";
+    private static final String TITLE_OPTIONS = "HighlightAll=true, StartSel=" + MARK_START + ", StopSel=" + MARK_STOP;
+    private static final String SNIPPET_OPTIONS = "MaxFragments=2, MaxWords=30, MinWords=10, FragmentDelimiter=\" … \", "
+            + "StartSel=" + MARK_START + ", StopSel=" + MARK_STOP;
+
+    // websearch_to_tsquery в FROM: вычисляется один раз и идёт в условие GIN-индекса
+    private static final String TASK_HITS = """
+            SELECT 'TASK' AS kind, t.id, t.id AS task_id, t.title, t.description AS body,
+                   ts_rank_cd(t.search_vector, q) AS rank
+            FROM tasks t, websearch_to_tsquery('russian', :query) q
+            WHERE t.project_id = :projectId AND t.search_vector @@ q
+            """;
+    private static final String COMMENT_HITS = """
+            SELECT 'COMMENT' AS kind, c.id, c.task_id, t.title, c.content AS body,
+                   ts_rank_cd(c.search_vector, q) AS rank
+            FROM comments c JOIN tasks t ON t.id = c.task_id, websearch_to_tsquery('russian', :query) q
+            WHERE t.project_id = :projectId AND c.search_vector @@ q
+            """;
+    private static final String AFTER = "WHERE (hit.rank, hit.kind, hit.id) < (CAST(:rank AS real), :kind, :id)";
+    private static final String SEARCH = """
+            SELECT page.kind, page.id, page.task_id, page.rank,
+                   ts_headline('russian', page.title, q, :titleOptions) AS title,
+                   CASE WHEN coalesce(page.body, '') <> ''
+                        THEN ts_headline('russian', page.body, q, :snippetOptions) END AS snippet
+            FROM (
+                SELECT * FROM (%s) hit
+                %s
+                ORDER BY hit.rank DESC, hit.kind DESC, hit.id DESC
+                LIMIT :limit
+            ) page, websearch_to_tsquery('russian', :query) q
+            ORDER BY page.rank DESC, page.kind DESC, page.id DESC
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<SearchHitResponse> search(long projectId, String query, Set<SearchHitType> types, After after, int limit) {
+        List<String> branches = new ArrayList<>(2);
+        if (types.contains(SearchHitType.TASK)) {
+            branches.add(TASK_HITS);
+        }
+        if (types.contains(SearchHitType.COMMENT)) {
+            branches.add(COMMENT_HITS);
+        }
+        if (branches.isEmpty()) {
+            return List.of();
+        }
+        // В текст запроса попадают только константы; пользовательский ввод — bind-параметры
+        String sql = SEARCH.formatted(String.join("UNION ALL\n", branches), after == null ? "" : AFTER);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("query", query)
+                .addValue("titleOptions", TITLE_OPTIONS)
+                .addValue("snippetOptions", SNIPPET_OPTIONS)
+                .addValue("limit", limit);
+        if (after != null) {
+            params.addValue("rank", after.rank())
+                    .addValue("kind", after.type().name())
+                    .addValue("id", after.id());
+        }
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new SearchHitResponse(
+                SearchHitType.valueOf(rs.getString("kind")),
+                rs.getLong("id"),
+                rs.getLong("task_id"),
+                highlight(rs.getString("title")),
+                highlight(rs.getString("snippet")),
+                rs.getFloat("rank")));
+    }
+
+    // Исходный текст пользовательский: экранируем его, а разметку добавляем сами
+    private static String highlight(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline)
+                .replace(MARK_START, "<mark>")
+                .replace(MARK_STOP, "</mark>");
+    }
+
+    // Ключ сортировки последней отданной строки
+    public record After(float rank, SearchHitType type, long id) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.colaba.repository;
+
+import com.example.colaba.dto.common.SparseField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Выборка только запрошенных полей (?fields=) одним tuple-запросом: в SELECT — только их колонки,
+// LEFT JOIN — только к связям, чьё поле запрошено; «связь.id» читается из FK без JOIN.
+// Строка — LinkedHashMap в порядке объявления полей, ключи совпадают с компонентами полного DTO
+@Repository
+@RequiredArgsConstructor
+public class SparseFieldRepository {
+
+    private final EntityManager entityManager;
+
+    public <T> Page<Map<String, Object>> findPage(Class<T> type, Specification<T> spec,
+                                                  Set<? extends SparseField> fields, Pageable pageable) {
+        TypedQuery<Tuple> query = select(type, spec, fields, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> rows = toRows(query.getResultList(), fields);
+        // COUNT не нужен, если страница первая и неполная
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(type, spec));
+    }
+
+    public <T> List<Map<String, Object>> findAll(Class<T> type, Specification<T> spec,
+                                                 Set<? extends SparseField> fields, Sort sort) {
+        return toRows(select(type, spec, fields, sort).getResultList(), fields);
+    }
+
+    private <T> TypedQuery<Tuple> select(Class<T> type, Specification<T> spec, Set<? extends SparseField> fields, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        Map<String, Join<T, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (SparseField field : fields) {
+            selections.add(path(root, joins, field.path()).alias(field.parameter()));
+        }
+        query.multiselect(selections);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private static <T> Path<?> path(Root<T> root, Map<String, Join<T, ?>> joins, String path) {
+        int dot = path.indexOf('.');
+        if (dot < 0) {
+            return root.get(path);
+        }
+        String association = path.substring(0, dot);
+        String attribute = path.substring(dot + 1);
+        if ("id".equals(attribute)) {
+            return root.get(association).get(attribute);
+        }
+        return joins.computeIfAbsent(association, name -> root.join(name, JoinType.LEFT)).get(attribute);
+    }
+
+    private <T> long count(Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Map<String, Object>> toRows(List<Tuple> tuples, Set<? extends SparseField> fields) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (SparseField field : fields) {
+                row.put(field.parameter(), field.toJson(tuple.get(field.parameter())));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
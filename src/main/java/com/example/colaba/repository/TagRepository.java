@@ -1,21 +1,94 @@
 package com.example.colaba.repository;
 
+import com.example.colaba.dto.tag.TaskTagLink;
+import com.example.colaba.dto.tag.TaskTagRow;
 import com.example.colaba.entity.Project;
 import com.example.colaba.entity.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
     Page<Tag> findByProject(Project project, Pageable pageable);
 
+    // Без COUNT: Slice для режима count=none/estimate
+    Slice<Tag> findSliceBy(Pageable pageable);
+
+    Slice<Tag> findByProjectIdAndIdGreaterThanOrderByIdAsc(Long projectId, Long afterId, Pageable pageable);
+
     @Query("SELECT t FROM Tag t JOIN t.tasks ts WHERE ts.id = :taskId")
     List<Tag> findByTaskId(@Param("taskId") Long taskId);
 
+    // Теги для страницы задач одним запросом: task_id IN (...) вместо findByTaskId на каждую
+    @Query("""
+            SELECT new com.example.colaba.dto.tag.TaskTagRow(ts.id, t.id, t.name, p.id, p.name)
+            FROM Tag t JOIN t.tasks ts JOIN t.project p
+            WHERE ts.id IN :taskIds
+            ORDER BY t.name, t.id
+            """)
+    List<TaskTagRow> findTaskTagRows(@Param("taskIds") Collection<Long> taskIds);
+
     Optional<Tag> findByProjectIdAndNameIgnoreCase(Long projectId, String name);
+
+    @Query("SELECT t.project.id FROM Tag t WHERE t.id = :id")
+    Optional<Long> findProjectIdById(@Param("id") Long id);
+
+    // Связи task-tag напрямую в task_tags, без инициализации коллекций Task.tags/Tag.tasks.
+    // JOIN по project_id отбрасывает пары из разных проектов, ON CONFLICT — уже связанные
+    // (одновременные assign не падают на pk_task_tags). Возвращает вставленные пары с проектом задачи.
+    default List<TaskTagLink> linkTasks(Collection<Long> taskIds, Collection<Long> tagIds) {
+        return insertTaskTags(taskIds, tagIds).stream().map(TaskTagLink::fromRow).toList();
+    }
+
+    // Удалённые пары с проектом задачи
+    default List<TaskTagLink> unlinkTasks(Collection<Long> taskIds, Collection<Long> tagIds) {
+        return deleteTaskTags(taskIds, tagIds).stream().map(TaskTagLink::fromRow).toList();
+    }
+
+    // DML в CTE с RETURNING выполняется как запрос, а не executeUpdate (@Modifying вернул бы только число строк),
+    // поэтому и L2 кэш не сбрасывается. native spaces задают auto-flush: несохранённые изменения tasks/tags/task_tags
+    // уходят в БД до запроса, как раньше с flushAutomatically
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_tags"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tags")
+    })
+    @Query(value = """
+            WITH inserted AS (
+                INSERT INTO task_tags (task_id, tag_id)
+                SELECT t.id, g.id FROM tasks t
+                JOIN tags g ON g.project_id = t.project_id
+                WHERE t.id IN (:taskIds) AND g.id IN (:tagIds)
+                ON CONFLICT DO NOTHING
+                RETURNING task_id, tag_id
+            )
+            SELECT i.task_id, i.tag_id, t.project_id
+            FROM inserted i JOIN tasks t ON t.id = i.task_id
+            """, nativeQuery = true)
+    List<Object[]> insertTaskTags(@Param("taskIds") Collection<Long> taskIds, @Param("tagIds") Collection<Long> tagIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_tags"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tags")
+    })
+    @Query(value = """
+            WITH deleted AS (
+                DELETE FROM task_tags WHERE task_id IN (:taskIds) AND tag_id IN (:tagIds)
+                RETURNING task_id, tag_id
+            )
+            SELECT d.task_id, d.tag_id, t.project_id
+            FROM deleted d JOIN tasks t ON t.id = d.task_id
+            """, nativeQuery = true)
+    List<Object[]> deleteTaskTags(@Param("taskIds") Collection<Long> taskIds, @Param("tagIds") Collection<Long> tagIds);
 }
\ No newline at end of file
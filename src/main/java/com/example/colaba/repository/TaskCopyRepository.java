@@ -0,0 +1,79 @@
+package com.example.colaba.repository;
+
+import com.example.colaba.dto.task.CreateTaskRequest;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Загрузка задач через COPY FROM STDIN: один round trip на пачку, без Hibernate и без батчей INSERT.
+// JdbcTemplate берёт соединение текущей транзакции, поэтому COPY откатывается вместе с ней.
+// id, created_at, updated_at заполняются DEFAULT'ами колонок.
+// Проверки ссылок тоже через JdbcTemplate: JPA-запрос взял бы соединение в сессию open-in-view,
+// и оно не вернулось бы в пул между транзакциями пачек, пока клиент досылает тело запроса.
+@Repository
+@RequiredArgsConstructor
+public class TaskCopyRepository {
+    private static final String COPY_TASKS = """
+            COPY tasks (title, description, status, priority, project_id, assignee_id, reporter_id, due_date)
+            FROM STDIN (FORMAT csv)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Set-based проверки существования: один запрос на пачку
+    public Set<Long> findExistingProjectIds(Collection<Long> ids) {
+        return findExisting("SELECT id FROM projects WHERE id = ANY(?)", ids);
+    }
+
+    public Set<Long> findExistingUserIds(Collection<Long> ids) {
+        return findExisting("SELECT id FROM users WHERE id = ANY(?)", ids);
+    }
+
+    public long copyIn(List<CreateTaskRequest> tasks) {
+        StringBuilder csv = new StringBuilder(tasks.size() * 96);
+        for (CreateTaskRequest task : tasks) {
+            appendText(csv, task.title()).append(',');
+            appendText(csv, task.description()).append(',');
+            appendValue(csv, task.status()).append(',');
+            appendValue(csv, task.priority()).append(',');
+            appendValue(csv, task.projectId()).append(',');
+            appendValue(csv, task.assigneeId()).append(',');
+            appendValue(csv, task.reporterId()).append(',');
+            appendValue(csv, task.dueDate()).append('\n');
+        }
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_TASKS, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    private Set<Long> findExisting(String sql, Collection<Long> ids) {
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, (Object) ids.toArray(Long[]::new)));
+    }
+
+    // CSV: NULL — пустое значение без кавычек, строки всегда в кавычках (пустая строка != NULL)
+    private static StringBuilder appendText(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static StringBuilder appendValue(StringBuilder csv, Object value) {
+        return value == null ? csv : csv.append(value);
+    }
+}
@@ -1,14 +1,89 @@
 package com.example.colaba.repository;
 
+import com.example.colaba.dto.task.TaskVersionRow;
 import com.example.colaba.entity.Project;
 import com.example.colaba.entity.User;
 import com.example.colaba.entity.task.Task;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Списочные методы тянут project, assignee и reporter одним JOIN:
+// TaskMapper читает project.name и username'ы, без графа это N+1 на каждую страницу
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+    @Override
+    @EntityGraph(attributePaths = {"project", "assignee", "reporter"})
+    Page<Task> findAll(Pageable pageable);
+
+    // Без COUNT: Slice для режима count=none/estimate
+    @EntityGraph(attributePaths = {"project", "assignee", "reporter"})
+    Slice<Task> findSliceBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"project", "assignee", "reporter"})
     Page<Task> findByProject(Project project, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"project", "assignee", "reporter"})
     Page<Task> findByAssignee(User assignee, Pageable pageable);
-}
\ No newline at end of file
+
+    // Keyset: индексы (project_id, id) и (assignee_id, id), Slice без COUNT
+    @EntityGraph(attributePaths = {"project", "assignee", "reporter"})
+    Slice<Task> findByProjectIdAndIdGreaterThanOrderByIdAsc(Long projectId, Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"project", "assignee", "reporter"})
+    Slice<Task> findByAssigneeIdAndIdGreaterThanOrderByIdAsc(Long assigneeId, Long afterId, Pageable pageable);
+
+    // Дельта-синхронизация по idx_tasks_project_updated_id: (updated_at, id) > (:updatedAt, :id).
+    // Как в findTimelineBefore: updated_at >= :updatedAt задаёт диапазон индекса, OR лишь отсекает ничьи
+    @EntityGraph(attributePaths = {"project", "assignee", "reporter"})
+    @Query("""
+            SELECT t FROM Task t
+            WHERE t.project.id = :projectId
+              AND t.updatedAt >= :updatedAt
+              AND (t.updatedAt > :updatedAt OR t.id > :id)
+            ORDER BY t.updatedAt, t.id
+            """)
+    Slice<Task> findChangedAfter(@Param("projectId") Long projectId,
+                                 @Param("updatedAt") LocalDateTime updatedAt,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
+
+    // Версии для условного GET: скаляры по PK/индексу без гидрации Task и связей
+    @Query("""
+            SELECT new com.example.colaba.dto.task.TaskVersionRow(t.id, t.updatedAt, p.name, a.username, r.username)
+            FROM Task t JOIN t.project p LEFT JOIN t.assignee a LEFT JOIN t.reporter r
+            WHERE t.id = :id
+            """)
+    Optional<TaskVersionRow> findVersionById(@Param("id") Long id);
+
+    // Та же страница, что findByProject с тем же Pageable
+    @Query(value = """
+            SELECT new com.example.colaba.dto.task.TaskVersionRow(t.id, t.updatedAt, p.name, a.username, r.username)
+            FROM Task t JOIN t.project p LEFT JOIN t.assignee a LEFT JOIN t.reporter r
+            WHERE p.id = :projectId
+            """,
+            countQuery = "SELECT count(t) FROM Task t WHERE t.project.id = :projectId")
+    Page<TaskVersionRow> findVersionsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    // Только FK-колонка, без JOIN к projects
+    @Query("SELECT t.project.id FROM Task t WHERE t.id = :id")
+    Optional<Long> findProjectIdById(@Param("id") Long id);
+
+    // Вместо ON DELETE SET NULL при удалении пользователя: без updated_at дельта-синхронизация
+    // не увидела бы смену исполнителя/автора (как unlinkAssignee в UserPurgeRepository)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.assignee = NULL, t.updatedAt = :now WHERE t.assignee.id = :userId")
+    int unlinkAssignee(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.reporter = NULL, t.updatedAt = :now WHERE t.reporter.id = :userId")
+    int unlinkReporter(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
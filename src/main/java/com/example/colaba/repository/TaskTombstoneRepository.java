@@ -0,0 +1,49 @@
+package com.example.colaba.repository;
+
+import com.example.colaba.dto.task.TaskTombstone;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+// Журнал удалённых задач deleted_tasks для дельта-синхронизации.
+// record вызывается в транзакции удаления задачи (JdbcTemplate берёт её соединение)
+@Repository
+@RequiredArgsConstructor
+public class TaskTombstoneRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void record(long projectId, long taskId) {
+        jdbcTemplate.update("INSERT INTO deleted_tasks (task_id, project_id) VALUES (?, ?)", taskId, projectId);
+    }
+
+    // (after, upTo] по idx_deleted_tasks_project_deleted_at; upTo = null — без верхней границы
+    public List<TaskTombstone> findByProject(long projectId, Instant after, Instant upTo) {
+        String sql = """
+                SELECT task_id, deleted_at FROM deleted_tasks
+                WHERE project_id = ? AND deleted_at > ?
+                """ + (upTo != null ? "AND deleted_at <= ?\n" : "") + "ORDER BY deleted_at, task_id";
+        Object[] args = upTo != null
+                ? new Object[]{projectId, utc(after), utc(upTo)}
+                : new Object[]{projectId, utc(after)};
+        // LocalDateTime в зоне JVM — так же Hibernate читает updated_at задач
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new TaskTombstone(rs.getLong("task_id"),
+                LocalDateTime.ofInstant(rs.getObject("deleted_at", OffsetDateTime.class).toInstant(),
+                        ZoneId.systemDefault())), args);
+    }
+
+    public int deleteOlderThan(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM deleted_tasks WHERE deleted_at < ?", utc(cutoff));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.colaba.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Пачечные удаления для UserPurgeService: каждый вызов затрагивает не больше limit строк
+// (DELETE/UPDATE ... WHERE id IN (SELECT id ... LIMIT n)), блокировки держатся только на пачку.
+// Возвращают число затронутых строк; 0 — фаза закончена.
+@Repository
+@RequiredArgsConstructor
+public class UserPurgeRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    // Комментарии самого пользователя в любых задачах
+    public int deleteAuthoredComments(long userId, int limit) {
+        return jdbcTemplate.update("""
+                DELETE FROM comments WHERE id IN (
+                    SELECT id FROM comments WHERE user_id = ? LIMIT ?)
+                """, userId, limit);
+    }
+
+    // Комментарии к задачам проектов пользователя: иначе их удалит каскад одной пачкой задач
+    public int deleteOwnedProjectComments(long userId, int limit) {
+        return jdbcTemplate.update("""
+                DELETE FROM comments WHERE id IN (
+                    SELECT c.id FROM comments c
+                    JOIN tasks t ON t.id = c.task_id
+                    JOIN projects p ON p.id = t.project_id
+                    WHERE p.owner_id = ? LIMIT ?)
+                """, userId, limit);
+    }
+
+    // Задачи проектов пользователя; task_tags удаляет каскад.
+    // Счётчики project_task_counters уменьшаются тем же запросом (слот 0), по строке на (project, status)
+    public int deleteOwnedProjectTasks(long userId, int limit) {
+        Integer deleted = jdbcTemplate.queryForObject("""
+                WITH deleted AS (
+                    DELETE FROM tasks WHERE id IN (
+                        SELECT t.id FROM tasks t
+                        JOIN projects p ON p.id = t.project_id
+                        WHERE p.owner_id = ? LIMIT ?)
+                    RETURNING project_id, status
+                ), decremented AS (
+                    INSERT INTO project_task_counters (project_id, status, slot, task_count)
+                    SELECT project_id, status, 0, -count(*) FROM deleted
+                    GROUP BY project_id, status
+                    ORDER BY project_id, status
+                    ON CONFLICT (project_id, status, slot)
+                    DO UPDATE SET task_count = project_task_counters.task_count + EXCLUDED.task_count
+                )
+                SELECT count(*) FROM deleted
+                """, Integer.class, userId, limit);
+        return deleted == null ? 0 : deleted;
+    }
+
+    // То же, что сделал бы ON DELETE SET NULL, но пачками; updated_at — чтобы сменился ETag задачи
+    public int unlinkAssignee(long userId, int limit) {
+        return jdbcTemplate.update("""
+                UPDATE tasks SET assignee_id = NULL, updated_at = now() WHERE id IN (
+                    SELECT id FROM tasks WHERE assignee_id = ? LIMIT ?)
+                """, userId, limit);
+    }
+
+    public int unlinkReporter(long userId, int limit) {
+        return jdbcTemplate.update("""
+                UPDATE tasks SET reporter_id = NULL, updated_at = now() WHERE id IN (
+                    SELECT id FROM tasks WHERE reporter_id = ? LIMIT ?)
+                """, userId, limit);
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.colaba.repository;
 
 import com.example.colaba.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,8 +17,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
-    @Query("SELECT u FROM User u ORDER BY u.id LIMIT ?2 OFFSET ?1")
-    Slice<User> findAllByOffset(long offset, int limit);
+    // Без COUNT: Slice для режима count=none/estimate
+    Slice<User> findSliceBy(Pageable pageable);
+
+    // Keyset по PK: WHERE id > :afterId ORDER BY id, без OFFSET
+    Slice<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    // Один DELETE: проекты, задачи, теги, комментарии и участия удаляет ON DELETE CASCADE в БД.
+    // Bulk JPQL сам сбрасывает регион users в L2 кэше; зависимые регионы — через CacheEvictionListener
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int deleteCascadeById(@Param("id") Long id);
 
     boolean existsByUsername(String username);
 
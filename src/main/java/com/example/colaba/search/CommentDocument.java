@@ -0,0 +1,10 @@
+package com.example.colaba.search;
+
+// Снимок комментария для Lucene-индекса; projectId — от задачи, для фильтра без БД
+public record CommentDocument(
+        long id,
+        long taskId,
+        long projectId,
+        String content
+) {
+}
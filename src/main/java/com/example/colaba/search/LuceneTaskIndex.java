@@ -0,0 +1,458 @@
+package com.example.colaba.search;
+
+import com.example.colaba.dto.search.IndexSearchHitResponse;
+import com.example.colaba.dto.search.SearchHitType;
+import com.example.colaba.entity.task.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Встроенный полнотекстовый индекс задач и комментариев (Lucene, MMapDirectory на локальном диске).
+ * <p>
+ * Документ на задачу и на комментарий; ключ — {@code TASK:id} / {@code COMMENT:id}, запись — upsert.
+ * Изменения видны поиску через near-real-time reopen (не позже {@link #MAX_STALE_SEC}), на диск
+ * фиксируются раз в commit-interval и при остановке: после аварийного падения последние изменения
+ * теряются до следующего rebuild.
+ * <p>
+ * Rebuild не очищает индекс заранее: увеличивает поколение, перезаписывает все документы
+ * и в конце удаляет документы старых поколений — поиск всё время видит полный индекс.
+ * Снимок rebuild из БД может устареть к моменту записи: документы, которые за время rebuild
+ * изменились или удалились инкрементально, он не перезаписывает.
+ * Индекс локален для инстанса; каждый инстанс пишет свой по собственным изменениям.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "colaba.search.lucene.enabled", havingValue = "true")
+public class LuceneTaskIndex implements SmartLifecycle {
+
+    static final String KEY = "key";
+    static final String TYPE = "type";
+    static final String ID = "id";
+    // У задачи task_id = id: удаление задачи одним запросом снимает и её комментарии
+    static final String TASK_ID = "task_id";
+    static final String PROJECT_ID = "project_id";
+    static final String STATUS = "status";
+    static final String TITLE = "title";
+    static final String BODY = "body";
+    static final String EXCERPT = "excerpt";
+    static final String GENERATION = "generation";
+
+    private static final int EXCERPT_LENGTH = 200;
+    private static final double MAX_STALE_SEC = 1.0;
+    private static final double MIN_STALE_SEC = 0.1;
+    private static final float EXACT_TITLE_BOOST = 3f;
+    private static final float FUZZY_TITLE_BOOST = 2f;
+    // Первая буква должна совпасть: на порядок меньше кандидатов при переборе терминов
+    private static final int FUZZY_PREFIX_LENGTH = 1;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final AtomicLong generation = new AtomicLong();
+
+    // Инкрементальные записи — под read lock (параллельно друг другу), пачка rebuild — под write lock:
+    // проверка "не изменён ли документ" и его запись атомарны относительно инкрементальных изменений
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final Set<String> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<Long> tasksDeletedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<Long> projectsDeletedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    @Value("${colaba.search.lucene.path:./data/lucene}")
+    private String path = "./data/lucene";
+
+    @Value("${colaba.search.lucene.commit-interval:30s}")
+    private Duration commitInterval = Duration.ofSeconds(30);
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private ScheduledExecutorService committer;
+    private volatile boolean running;
+
+    public void upsertTask(TaskDocument task) {
+        String key = key(SearchHitType.TASK, task.id());
+        incremental(key, () -> write(toDocument(task), key));
+    }
+
+    public void upsertComment(CommentDocument comment) {
+        String key = key(SearchHitType.COMMENT, comment.id());
+        incremental(key, () -> write(toDocument(comment), key));
+    }
+
+    public void deleteTask(long taskId) {
+        incremental(() -> {
+            if (rebuilding) {
+                tasksDeletedDuringRebuild.add(taskId);
+            }
+            delete(LongField.newExactQuery(TASK_ID, taskId));
+        });
+    }
+
+    public void deleteComment(long commentId) {
+        String key = key(SearchHitType.COMMENT, commentId);
+        incremental(key, () -> delete(new TermQuery(new Term(KEY, key))));
+    }
+
+    public void deleteProject(long projectId) {
+        incremental(() -> {
+            if (rebuilding) {
+                projectsDeletedDuringRebuild.add(projectId);
+            }
+            delete(LongField.newExactQuery(PROJECT_ID, projectId));
+        });
+    }
+
+    // Новое поколение: всё, что записано после этого вызова, переживёт finishRebuild
+    public long beginRebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            clearRebuildChanges();
+            rebuilding = true;
+            return generation.incrementAndGet();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    // Пачка снимка из БД; пропускает документы, изменённые или удалённые после beginRebuild
+    public void rebuildTasks(List<TaskDocument> tasks) {
+        rebuildBatch(() -> {
+            for (TaskDocument task : tasks) {
+                String key = key(SearchHitType.TASK, task.id());
+                if (!changedDuringRebuild.contains(key) && !tasksDeletedDuringRebuild.contains(task.id())
+                        && !projectsDeletedDuringRebuild.contains(task.projectId())) {
+                    write(toDocument(task), key);
+                }
+            }
+        });
+    }
+
+    public void rebuildComments(List<CommentDocument> comments) {
+        rebuildBatch(() -> {
+            for (CommentDocument comment : comments) {
+                String key = key(SearchHitType.COMMENT, comment.id());
+                if (!changedDuringRebuild.contains(key) && !tasksDeletedDuringRebuild.contains(comment.taskId())
+                        && !projectsDeletedDuringRebuild.contains(comment.projectId())) {
+                    write(toDocument(comment), key);
+                }
+            }
+        });
+    }
+
+    public void finishRebuild(long rebuildGeneration) {
+        rebuildLock.writeLock().lock();
+        try {
+            delete(LongField.newRangeQuery(GENERATION, Long.MIN_VALUE, rebuildGeneration - 1));
+            rebuilding = false;
+            clearRebuildChanges();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        commit();
+        refresh();
+    }
+
+    // Rebuild прерван: документы старых поколений остаются, отслеживать изменения больше незачем
+    public void abortRebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            rebuilding = false;
+            clearRebuildChanges();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    // Сделать все записанные изменения видимыми сразу, не дожидаясь фонового reopen
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long documentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Каждое слово запроса должно найтись в заголовке (точно или с опечаткой) или в тексте.
+     * Фильтры project/status/type — по индексу, без БД; status есть только у задач.
+     */
+    public List<IndexSearchHitResponse> search(String text, Long projectId, Set<TaskStatus> statuses,
+                                               Set<SearchHitType> types, int limit) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(TITLE, term)), EXACT_TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new FuzzyQuery(new Term(TITLE, term), maxEdits(term), FUZZY_PREFIX_LENGTH),
+                            FUZZY_TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(BODY, term)), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+        if (projectId != null) {
+            query.add(LongField.newExactQuery(PROJECT_ID, projectId), BooleanClause.Occur.FILTER);
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            query.add(new TermInSetQuery(STATUS, statuses.stream().map(s -> new BytesRef(s.name())).toList()),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (types != null && !types.isEmpty()) {
+            query.add(new TermInSetQuery(TYPE, types.stream().map(t -> new BytesRef(t.name())).toList()),
+                    BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query.build(), limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<IndexSearchHitResponse> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    hits.add(toHit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            directory = new MMapDirectory(Path.of(path));
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            generation.set(committedGeneration());
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open search index at " + path, e);
+        }
+
+        reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, MAX_STALE_SEC, MIN_STALE_SEC);
+        reopenThread.setName("lucene-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+
+        committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lucene-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = commitInterval.toMillis();
+        committer.scheduleWithFixedDelay(this::commitQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Search index opened at {} ({} documents)", path, documentCount());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        committer.shutdownNow();
+        reopenThread.close();
+        try {
+            searcherManager.close();
+            commit();
+            writer.close();
+            directory.close();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Search index was not closed cleanly: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void incremental(String key, Runnable change) {
+        incremental(() -> {
+            if (rebuilding) {
+                changedDuringRebuild.add(key);
+            }
+            change.run();
+        });
+    }
+
+    private void incremental(Runnable change) {
+        rebuildLock.readLock().lock();
+        try {
+            change.run();
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void rebuildBatch(Runnable batch) {
+        rebuildLock.writeLock().lock();
+        try {
+            batch.run();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private void clearRebuildChanges() {
+        changedDuringRebuild.clear();
+        tasksDeletedDuringRebuild.clear();
+        projectsDeletedDuringRebuild.clear();
+    }
+
+    private Document toDocument(TaskDocument task) {
+        Document document = new Document();
+        document.add(new StringField(KEY, key(SearchHitType.TASK, task.id()), Field.Store.NO));
+        document.add(new StringField(TYPE, SearchHitType.TASK.name(), Field.Store.YES));
+        document.add(new LongField(ID, task.id(), Field.Store.YES));
+        document.add(new LongField(TASK_ID, task.id(), Field.Store.YES));
+        document.add(new LongField(PROJECT_ID, task.projectId(), Field.Store.YES));
+        document.add(new KeywordField(STATUS, task.status().name(), Field.Store.YES));
+        document.add(new TextField(TITLE, task.title(), Field.Store.YES));
+        addBody(document, task.description());
+        return document;
+    }
+
+    private Document toDocument(CommentDocument comment) {
+        Document document = new Document();
+        document.add(new StringField(KEY, key(SearchHitType.COMMENT, comment.id()), Field.Store.NO));
+        document.add(new StringField(TYPE, SearchHitType.COMMENT.name(), Field.Store.YES));
+        document.add(new LongField(ID, comment.id(), Field.Store.YES));
+        document.add(new LongField(TASK_ID, comment.taskId(), Field.Store.YES));
+        document.add(new LongField(PROJECT_ID, comment.projectId(), Field.Store.YES));
+        addBody(document, comment.content());
+        return document;
+    }
+
+    private void write(Document document, String key) {
+        document.add(new LongField(GENERATION, generation.get(), Field.Store.NO));
+        try {
+            writer.updateDocument(new Term(KEY, key), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void delete(Query query) {
+        try {
+            writer.deleteDocuments(query);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void commit() {
+        if (!writer.hasUncommittedChanges()) {
+            return;
+        }
+        writer.setLiveCommitData(Map.of(GENERATION, String.valueOf(generation.get())).entrySet());
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void commitQuietly() {
+        try {
+            commit();
+        } catch (RuntimeException e) {
+            log.warn("Search index commit failed: {}", e.getMessage());
+        }
+    }
+
+    private long committedGeneration() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (GENERATION.equals(entry.getKey())) {
+                    return Long.parseLong(entry.getValue());
+                }
+            }
+        }
+        return 0L;
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    // Как AUTO в Elasticsearch: короткие слова — без опечаток, длинные — до двух правок
+    private static int maxEdits(String term) {
+        if (term.length() <= 2) {
+            return 0;
+        }
+        return term.length() <= 5 ? 1 : 2;
+    }
+
+    private static void addBody(Document document, String body) {
+        if (body == null || body.isBlank()) {
+            return;
+        }
+        document.add(new TextField(BODY, body, Field.Store.NO));
+        document.add(new StoredField(EXCERPT, body.length() <= EXCERPT_LENGTH ? body : body.substring(0, EXCERPT_LENGTH)));
+    }
+
+    private static IndexSearchHitResponse toHit(Document document, float score) {
+        String status = document.get(STATUS);
+        return new IndexSearchHitResponse(
+                SearchHitType.valueOf(document.get(TYPE)),
+                document.getField(ID).numericValue().longValue(),
+                document.getField(TASK_ID).numericValue().longValue(),
+                document.getField(PROJECT_ID).numericValue().longValue(),
+                status == null ? null : TaskStatus.valueOf(status),
+                document.get(TITLE),
+                document.get(EXCERPT),
+                score);
+    }
+
+    private static String key(SearchHitType type, long id) {
+        return type.name() + ":" + id;
+    }
+}
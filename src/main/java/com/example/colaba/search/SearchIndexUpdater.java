@@ -0,0 +1,78 @@
+package com.example.colaba.search;
+
+import com.example.colaba.db.AfterCommit;
+import com.example.colaba.dto.comment.CommentContentRow;
+import com.example.colaba.entity.Comment;
+import com.example.colaba.entity.task.Task;
+import com.example.colaba.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Инкрементальное обновление {@link LuceneTaskIndex} из write-путей TaskService/CommentService/ProjectService.
+ * Снимок берётся в транзакции, в индекс пишется после COMMIT: откат до индекса не доходит.
+ * Без включённого индекса все методы — no-op.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexUpdater {
+
+    private final ObjectProvider<LuceneTaskIndex> index;
+    private final TaskRepository taskRepository;
+
+    public void taskSaved(Task task) {
+        LuceneTaskIndex target = index.getIfAvailable();
+        if (target == null) {
+            return;
+        }
+        // getProject().getId() у прокси не инициализирует его
+        TaskDocument document = new TaskDocument(task.getId(), task.getProject().getId(), task.getStatus(),
+                task.getTitle(), task.getDescription());
+        afterCommit(() -> target.upsertTask(document));
+    }
+
+    public void taskDeleted(Long taskId) {
+        index.ifAvailable(target -> afterCommit(() -> target.deleteTask(taskId)));
+    }
+
+    public void commentSaved(Comment comment) {
+        LuceneTaskIndex target = index.getIfAvailable();
+        if (target == null) {
+            return;
+        }
+        // Проект задачи читаем здесь, в транзакции: после COMMIT соединение уже не наше
+        Long taskId = comment.getTask().getId();
+        taskRepository.findProjectIdById(taskId).ifPresent(projectId -> {
+            CommentDocument document = new CommentDocument(comment.getId(), taskId, projectId, comment.getContent());
+            afterCommit(() -> target.upsertComment(document));
+        });
+    }
+
+    // Bulk prefix: проект уже в строках RETURNING, без запроса к tasks
+    public void commentsUpdated(List<CommentContentRow> comments) {
+        LuceneTaskIndex target = index.getIfAvailable();
+        if (target == null || comments.isEmpty()) {
+            return;
+        }
+        List<CommentDocument> documents = comments.stream()
+                .map(c -> new CommentDocument(c.id(), c.taskId(), c.projectId(), c.content()))
+                .toList();
+        afterCommit(() -> documents.forEach(target::upsertComment));
+    }
+
+    public void commentDeleted(Long commentId) {
+        index.ifAvailable(target -> afterCommit(() -> target.deleteComment(commentId)));
+    }
+
+    public void projectDeleted(Long projectId) {
+        index.ifAvailable(target -> afterCommit(() -> target.deleteProject(projectId)));
+    }
+
+    // Данные уже закоммичены: ошибка индекса оставляет его устаревшим до rebuild, но не ломает запрос
+    private void afterCommit(Runnable update) {
+        AfterCommit.run("Search index update", update);
+    }
+}
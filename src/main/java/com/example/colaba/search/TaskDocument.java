@@ -0,0 +1,13 @@
+package com.example.colaba.search;
+
+import com.example.colaba.entity.task.TaskStatus;
+
+// Снимок задачи для Lucene-индекса: берётся в транзакции, пишется в индекс после COMMIT
+public record TaskDocument(
+        long id,
+        long projectId,
+        TaskStatus status,
+        String title,
+        String description
+) {
+}
@@ -0,0 +1,116 @@
+package com.example.colaba.service;
+
+import com.example.colaba.batch.BatchDispatcher;
+import com.example.colaba.dto.batch.BatchItemRequest;
+import com.example.colaba.dto.batch.BatchItemResponse;
+import com.example.colaba.dto.batch.BatchRequest;
+import com.example.colaba.dto.batch.BatchResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * POST /api/batch: несколько GET одним HTTP-запросом.
+ * <p>
+ * По умолчанию под-запросы выполняются по очереди в одной read-only транзакции REPEATABLE READ:
+ * одно соединение из пула и один снимок данных на весь batch (задача, её теги и комментарии согласованы).
+ * С parallel=true — одновременно на виртуальных потоках, не больше maxParallelism за раз; у каждого
+ * своя read-only транзакция и соединение, общего снимка нет.
+ */
+@Service
+public class BatchService {
+
+    public static final int MAX_REQUESTS = 20;
+
+    private final BatchDispatcher batchDispatcher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxParallelism;
+
+    public BatchService(BatchDispatcher batchDispatcher, PlatformTransactionManager transactionManager,
+                        @Value("${colaba.batch.max-parallelism:4}") int maxParallelism) {
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("colaba.batch.max-parallelism must be positive");
+        }
+        this.batchDispatcher = batchDispatcher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.maxParallelism = maxParallelism;
+    }
+
+    public BatchResponse execute(BatchRequest batch, HttpServletRequest request, HttpServletResponse response) {
+        List<BatchItemRequest> items = batch.requests();
+        if (items.size() > MAX_REQUESTS) {
+            throw new IllegalArgumentException("Batch size exceeds " + MAX_REQUESTS + " requests");
+        }
+        items.forEach(BatchService::validate);
+        List<BatchItemResponse> responses = batch.parallel() && items.size() > 1
+                ? executeParallel(items, request, response)
+                : inReadOnlyTransaction(() -> items.stream()
+                .map(item -> batchDispatcher.dispatch(request, response, item))
+                .toList());
+        return new BatchResponse(responses);
+    }
+
+    private List<BatchItemResponse> executeParallel(List<BatchItemRequest> items, HttpServletRequest request,
+                                                    HttpServletResponse response) {
+        Semaphore permits = new Semaphore(maxParallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<BatchItemResponse>> futures = new ArrayList<>(items.size());
+            for (BatchItemRequest item : items) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return inReadOnlyTransaction(() -> batchDispatcher.dispatch(request, response, item));
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            List<BatchItemResponse> responses = new ArrayList<>(items.size());
+            for (Future<BatchItemResponse> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while executing batch", e);
+        } catch (ExecutionException e) {
+            // Ошибки эндпоинтов уже превращены в статус под-запроса; сюда доходят только сбои самого batch
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Ошибка под-запроса внутри @Transactional сервиса помечает общую транзакцию rollback-only.
+    // Транзакция только читает, поэтому всегда откатываем сами — без UnexpectedRollbackException
+    private <T> T inReadOnlyTransaction(Supplier<T> work) {
+        return readOnlyTransaction.execute(status -> {
+            T result = work.get();
+            status.setRollbackOnly();
+            return result;
+        });
+    }
+
+    private static void validate(BatchItemRequest item) {
+        if (item.method() != null && !"GET".equalsIgnoreCase(item.method())) {
+            throw new IllegalArgumentException("Only GET sub-requests are supported: " + item.method() + " " + item.path());
+        }
+        if (!item.path().startsWith("/api/") || item.path().startsWith("/api/batch")) {
+            throw new IllegalArgumentException("Sub-request path must be an /api/ endpoint other than /api/batch: "
+                    + item.path());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.colaba.service;
+
+import com.example.colaba.cache.CacheRegions;
+import com.example.colaba.dto.cache.CacheRegionStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+
+    private static final List<String> REGIONS = List.of(CacheRegions.USERS, CacheRegions.PROJECTS, CacheRegions.TAGS);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Счётчики копятся с момента старта (или последнего clear), только при hibernate.generate_statistics=true.
+    // С выключенным L2-кэшем регионов нет (getDomainDataRegionStatistics бросил бы IllegalArgumentException) — пустой список
+    public List<CacheRegionStatsResponse> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Set<String> existing = Set.of(statistics.getSecondLevelCacheRegionNames());
+        return REGIONS.stream()
+                .filter(existing::contains)
+                .map(region -> toResponse(region, statistics.getDomainDataRegionStatistics(region)))
+                .toList();
+    }
+
+    private CacheRegionStatsResponse toResponse(String region, CacheRegionStatistics stats) {
+        long hits = stats.getHitCount();
+        long misses = stats.getMissCount();
+        double ratio = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+        return new CacheRegionStatsResponse(region, hits, misses, stats.getPutCount(), ratio);
+    }
+}
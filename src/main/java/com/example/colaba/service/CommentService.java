@@ -1,43 +1,64 @@
 package com.example.colaba.service;
 
+import com.example.colaba.dto.comment.CommentContentRow;
+import com.example.colaba.dto.comment.CommentField;
 import com.example.colaba.dto.comment.CommentResponse;
 import com.example.colaba.dto.comment.CommentScrollResponse;
+import com.example.colaba.dto.comment.CommentVersionRow;
 import com.example.colaba.dto.comment.CreateCommentRequest;
+import com.example.colaba.dto.comment.TaskCommentCount;
 import com.example.colaba.dto.comment.UpdateCommentRequest;
+import com.example.colaba.dto.common.ResourceVersion;
+import com.example.colaba.dto.common.SliceResponse;
+import com.example.colaba.dto.task.TaskResponse;
 import com.example.colaba.entity.Comment;
 import com.example.colaba.entity.User;
 import com.example.colaba.entity.task.Task;
+import com.example.colaba.event.ProjectEventPublisher;
 import com.example.colaba.exception.comment.CommentNotFoundException;
 import com.example.colaba.exception.comment.TaskNotFoundException;
-import com.example.colaba.exception.comment.UserNotFoundException;
 import com.example.colaba.mapper.CommentMapper;
+import com.example.colaba.pagination.KeysetCursor;
 import com.example.colaba.repository.CommentRepository;
+import com.example.colaba.repository.RowEstimateRepository;
+import com.example.colaba.repository.SparseFieldRepository;
 import com.example.colaba.repository.TaskRepository;
 import com.example.colaba.repository.UserRepository;
+import com.example.colaba.search.SearchIndexUpdater;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor  // Lombok: constructor injection
 public class CommentService {
+    public static final int MAX_TASK_IDS = 100;
 
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final CommentMapper commentMapper;  // Новый dep
+    private final RowEstimateRepository rowEstimateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SearchIndexUpdater searchIndexUpdater;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final ProjectEventPublisher projectEventPublisher;
 
     @Transactional  // Write: override readOnly
     public CommentResponse createComment(CreateCommentRequest request) {
-        User user = userRepository.findById(request.userId())
-                .orElseThrow(() -> new UserNotFoundException(request.userId()));
-
-        Task task = taskRepository.findById(request.taskId())
-                .orElseThrow(() -> new TaskNotFoundException(request.taskId()));
+        // Только ссылки: несуществующие user/task отловит FK на INSERT
+        User user = userRepository.getReferenceById(request.userId());
+        Task task = taskRepository.getReferenceById(request.taskId());
 
         // Builder: fluent, легко читать/расширять
         Comment comment = Comment.builder()
@@ -46,7 +67,10 @@ public class CommentService {
                 .content(request.content())
                 .build();  // createdAt auto от @CreationTimestamp — не нужно set
 
-        Comment saved = commentRepository.save(comment);
+        // SEQUENCE id откладывает INSERT до flush: ошибку FK переводим здесь, а не на commit
+        Comment saved = commentRepository.saveAndFlush(comment);
+        searchIndexUpdater.commentSaved(saved);
+        projectEventPublisher.commentCreated(saved);
         return commentMapper.toResponse(saved);
     }
 
@@ -56,29 +80,66 @@ public class CommentService {
         return commentMapper.toResponse(comment);
     }
 
+    public ResourceVersion getCommentVersion(Long id) {
+        return commentRepository.findVersionById(id)
+                .map(CommentVersionRow::version)
+                .orElseThrow(() -> new CommentNotFoundException(id));
+    }
+
+    // Та же страница, что getCommentsByTask, только id и updated_at
+    public ResourceVersion getCommentsByTaskVersion(Long taskId, Pageable pageable) {
+        return ResourceVersion.ofPage(commentRepository.findVersionsByTaskId(taskId, pageable)
+                .map(CommentVersionRow::version));
+    }
+
     public Page<CommentResponse> getCommentsByTask(Long taskId, Pageable pageable) {
         // Enforce size <=50 в контроллере
         Page<Comment> comments = commentRepository.findByTaskIdOrderByCreatedAtDesc(taskId, pageable);
         return commentMapper.toResponsePage(comments);
     }
 
-    public CommentScrollResponse getCommentsByTaskScroll(Long taskId, String cursor, int limit) {
-        OffsetDateTime cursorTime = (cursor == null || cursor.isBlank())
-                ? OffsetDateTime.now()  // Начало: самые новые
-                : OffsetDateTime.parse(cursor);  // Parse с handle в контроллере
+    // ?fields=: тот же порядок, что findByTaskIdOrderByCreatedAtDesc (сортировка из Pageable — после createdAt)
+    public Page<Map<String, Object>> getCommentFieldsByTask(Long taskId, Set<CommentField> fields, Pageable pageable) {
+        Pageable ordered = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "createdAt").and(pageable.getSort()));
+        return sparseFieldRepository.findPage(Comment.class,
+                (root, query, cb) -> cb.equal(root.get("task").get("id"), taskId), fields, ordered);
+    }
 
-        Pageable pageable = PageRequest.of(0, limit, Sort.by("createdAt").descending());  // Desc: новые сверху
+    // Без COUNT: hasNext по лишней строке, total — опционально из EXPLAIN
+    public SliceResponse<CommentResponse> getCommentsByTaskSlice(Long taskId, Pageable pageable, boolean estimateTotal) {
+        Slice<Comment> comments = commentRepository.findByTaskIdOrderByCreatedAtDescIdDesc(taskId, pageable);
+        Long estimatedTotal = estimateTotal
+                ? rowEstimateRepository.estimateQueryRows("SELECT 1 FROM comments WHERE task_id = ?", taskId)
+                : null;
+        return SliceResponse.of(comments.map(commentMapper::toResponse), estimatedTotal);
+    }
 
-        // Прямой Slice из repo — без wrap!
-        Slice<Comment> slice = commentRepository.findByTaskIdAndCreatedAtBeforeOrderByCreatedAtDesc(taskId, cursorTime, pageable);
+    public CommentScrollResponse getCommentsByTaskScroll(Long taskId, String cursor, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);  // Порядок (createdAt DESC, id DESC) задан в запросе
+
+        Slice<Comment> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = commentRepository.findByTaskIdOrderByCreatedAtDescIdDesc(taskId, pageable);  // Начало: самые новые
+        } else {
+            List<String> keys = KeysetCursor.decode(cursor, 2);
+            OffsetDateTime cursorTime;
+            long cursorId;
+            try {
+                cursorTime = OffsetDateTime.parse(keys.get(0));
+                cursorId = Long.parseLong(keys.get(1));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            slice = commentRepository.findTimelineBefore(taskId, cursorTime, cursorId, pageable);
+        }
 
         List<CommentResponse> responses = commentMapper.toResponseList(slice.getContent());
 
-        String nextCursor = slice.isEmpty() ? null : slice.getContent().get(slice.getContent().size() - 1).getCreatedAt().toString();
+        Comment last = slice.isEmpty() ? null : slice.getContent().getLast();
+        String nextCursor = last == null ? null : KeysetCursor.encode(last.getCreatedAt(), last.getId());
 
-        CommentScrollResponse resp = new CommentScrollResponse(responses, nextCursor, slice.hasNext());
-
-        return resp;
+        return new CommentScrollResponse(responses, nextCursor, slice.hasNext());
     }
 
     @Transactional
@@ -92,7 +153,12 @@ public class CommentService {
             hasChanges = true;
         }
 
-        Comment saved = hasChanges ? commentRepository.save(comment) : comment;
+        Comment saved = comment;
+        if (hasChanges) {
+            saved = commentRepository.save(comment);
+            searchIndexUpdater.commentSaved(saved);
+            projectEventPublisher.commentUpdated(saved);
+        }
         return commentMapper.toResponse(saved);
     }
 
@@ -102,24 +168,83 @@ public class CommentService {
         if (!commentRepository.existsById(id)) {
             throw new CommentNotFoundException(id);
         }
+        projectEventPublisher.commentDeleting(id);
         commentRepository.deleteById(id);
+        searchIndexUpdater.commentDeleted(id);
     }
 
-    @Transactional
     public long countCommentsByTask(Long taskId) {
-        // Добавили проверку: throw если task не существует
-        taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException(taskId));
+        long count = commentRepository.countByTaskId(taskId);
+        // Комментарии есть только у существующей задачи: проверка нужна лишь для нуля
+        if (count == 0) {
+            requireTask(taskId);
+        }
+        return count;
+    }
+
+    // Один GROUP BY на весь набор; каждая запрошенная задача есть в ответе, без комментариев — 0
+    public Map<Long, Long> getCommentCountsByTaskIds(Collection<Long> taskIds) {
+        if (taskIds.size() > MAX_TASK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_TASK_IDS + " task IDs per request");
+        }
+        Map<Long, Long> result = new LinkedHashMap<>();
+        taskIds.forEach(id -> result.put(id, 0L));
+        if (result.isEmpty()) {
+            return result;
+        }
+        for (TaskCommentCount row : commentRepository.countByTaskIds(result.keySet())) {
+            result.put(row.taskId(), row.count());
+        }
+        return result;
+    }
 
-        return commentRepository.countByTaskId(taskId);
+    public List<TaskResponse> withCommentCounts(List<TaskResponse> tasks) {
+        Map<Long, Long> counts = getCommentCountsByTaskIds(tasks.stream().map(TaskResponse::id).toList());
+        return tasks.stream()
+                .map(task -> task.copyWithCommentCount(counts.get(task.id())))
+                .toList();
     }
 
-    // Добавка: Сложный запрос с транзакцией (bulk update, e.g., prefix content для task)
+    // Bulk prefix одним UPDATE: атомарно, без загрузки комментариев в память
     @Transactional
-    // Обоснование: fetch + multiple updates — atomic, consistency (все комментарии обновлены или rollback)
-    public void bulkUpdateContentForTask(Long taskId, String prefix) {
-        List<Comment> comments = commentRepository.findAllByTaskId(taskId);
-        comments.forEach(c -> c.setContent(prefix + c.getContent()));
-        commentRepository.saveAll(comments);  // Batch save
+    public int bulkUpdateContentForTask(Long taskId, String prefix) {
+        requireTask(taskId);
+        List<CommentContentRow> updated = commentRepository.prefixContentByTaskId(taskId, prefix);
+        searchIndexUpdater.commentsUpdated(updated);
+        projectEventPublisher.commentsUpdated(updated);
+        return updated.size();
+    }
+
+    // Тот же prefix пачками по chunkSize, каждая в своей транзакции: блокировки строк держатся
+    // только на время пачки. Не атомарно — при ошибке уже закоммиченные пачки остаются,
+    // повторный запуск допишет prefix к ним ещё раз
+    public long bulkUpdateContentForTaskChunked(Long taskId, String prefix, int chunkSize) {
+        requireTask(taskId);
+        long updated = 0;
+        long afterId = 0;
+        while (true) {
+            long cursor = afterId;
+            // Индекс и события — после COMMIT каждой пачки
+            List<CommentContentRow> chunk = transactionTemplate.execute(status -> {
+                List<CommentContentRow> rows = commentRepository.prefixContentChunk(taskId, prefix, cursor, chunkSize);
+                searchIndexUpdater.commentsUpdated(rows);
+                projectEventPublisher.commentsUpdated(rows);
+                return rows;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                return updated;
+            }
+            updated += chunk.size();
+            afterId = chunk.stream().mapToLong(CommentContentRow::id).max().getAsLong();
+            if (chunk.size() < chunkSize) {
+                return updated;
+            }
+        }
+    }
+
+    private void requireTask(Long taskId) {
+        if (!taskRepository.existsById(taskId)) {
+            throw new TaskNotFoundException(taskId);
+        }
     }
 }
\ No newline at end of file
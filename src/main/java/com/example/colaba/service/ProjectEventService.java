@@ -0,0 +1,27 @@
+package com.example.colaba.service;
+
+import com.example.colaba.event.ProjectEventBroker;
+import com.example.colaba.exception.project.ProjectNotFoundException;
+import com.example.colaba.repository.ProjectEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Подписка на поток событий проекта. Существование проверяется через JDBC, не через JPA:
+ * SSE-запрос живёт долго, и соединение, взятое сессией open-in-view, не вернулось бы в пул до его конца.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectEventService {
+
+    private final ProjectEventRepository projectEventRepository;
+    private final ProjectEventBroker projectEventBroker;
+
+    public SseEmitter subscribe(Long projectId) {
+        if (!projectEventRepository.projectExists(projectId)) {
+            throw new ProjectNotFoundException(projectId);
+        }
+        return projectEventBroker.subscribe(projectId);
+    }
+}
@@ -1,23 +1,29 @@
 package com.example.colaba.service;
 
+import com.example.colaba.dto.common.SliceResponse;
 import com.example.colaba.dto.projectmember.CreateProjectMemberRequest;
+import com.example.colaba.dto.projectmember.ProjectMemberField;
 import com.example.colaba.dto.projectmember.ProjectMemberResponse;
 import com.example.colaba.dto.projectmember.UpdateProjectMemberRequest;
 import com.example.colaba.entity.Project;
-import com.example.colaba.entity.User;
 import com.example.colaba.entity.projectmember.ProjectMember;
 import com.example.colaba.entity.projectmember.ProjectMemberId;
 import com.example.colaba.entity.projectmember.ProjectRole;
-import com.example.colaba.exception.projectmember.DuplicateProjectMemberException;
 import com.example.colaba.exception.projectmember.ProjectMemberNotFoundException;
 import com.example.colaba.mapper.ProjectMemberMapper;
 import com.example.colaba.repository.ProjectMemberRepository;
+import com.example.colaba.repository.RowEstimateRepository;
+import com.example.colaba.repository.SparseFieldRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class ProjectMemberService {
@@ -25,6 +31,8 @@ public class ProjectMemberService {
     private final ProjectService projectService;
     private final UserService userService;
     private final ProjectMemberMapper projectMemberMapper;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final SparseFieldRepository sparseFieldRepository;
 
     public Page<ProjectMemberResponse> getMembersByProject(Long projectId, Pageable pageable) {
         Project project = projectService.getProjectEntityById(projectId);
@@ -32,25 +40,35 @@ public class ProjectMemberService {
                 projectMemberRepository.findByProjectId(projectId, pageable));
     }
 
-    @Transactional
-    public ProjectMemberResponse createMembership(Long projectId, CreateProjectMemberRequest request) {
-        Project project = projectService.getProjectEntityById(projectId);
-        User user = userService.getUserEntityById(request.userId());
+    // ?fields=: JOIN к projects/users — только для projectName/userUsername
+    public Page<Map<String, Object>> getMemberFieldsByProject(Long projectId, Set<ProjectMemberField> fields, Pageable pageable) {
+        projectService.getProjectEntityById(projectId);
+        return sparseFieldRepository.findPage(ProjectMember.class,
+                (root, query, cb) -> cb.equal(root.get("projectId"), projectId), fields, pageable);
+    }
 
-        ProjectMemberId id = new ProjectMemberId(projectId, request.userId());
-        if (projectMemberRepository.existsById(id)) {
-            throw new DuplicateProjectMemberException(user.getUsername(), projectId);
-        }
+    public SliceResponse<ProjectMemberResponse> getMembersByProjectSlice(Long projectId, Pageable pageable, boolean estimateTotal) {
+        projectService.getProjectEntityById(projectId);
+        Slice<ProjectMember> members = projectMemberRepository.findSliceByProjectId(projectId, pageable);
+        Long estimatedTotal = estimateTotal
+                ? rowEstimateRepository.estimateQueryRows("SELECT 1 FROM project_members WHERE project_id = ?", projectId)
+                : null;
+        return SliceResponse.of(members.map(projectMemberMapper::toProjectMemberResponse), estimatedTotal);
+    }
 
+    @Transactional
+    public ProjectMemberResponse createMembership(Long projectId, CreateProjectMemberRequest request) {
+        // Без предварительных SELECT: FK и PK нарушения переводятся в 404/409 в GlobalExceptionHandler
         ProjectMember member = ProjectMember.builder()
-                .projectId(project.getId())
-                .userId(user.getId())
-                .project(project)
-                .user(user)
+                .projectId(projectId)
+                .userId(request.userId())
+                .project(projectService.getProjectReference(projectId))
+                .user(userService.getUserReference(request.userId()))
                 .role(request.role() != null ? request.role() : ProjectRole.getDefault())
                 .build();
 
-        ProjectMember saved = projectMemberRepository.save(member);
+        // flush сразу: ошибка INSERT должна случиться до чтения ссылок маппером
+        ProjectMember saved = projectMemberRepository.saveAndFlush(member);
         return projectMemberMapper.toProjectMemberResponse(saved);
     }
 
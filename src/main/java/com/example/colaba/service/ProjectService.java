@@ -1,8 +1,11 @@
 package com.example.colaba.service;
 
+import com.example.colaba.dto.common.ResourceVersion;
 import com.example.colaba.dto.project.CreateProjectRequest;
+import com.example.colaba.dto.project.ProjectField;
 import com.example.colaba.dto.project.ProjectResponse;
 import com.example.colaba.dto.project.ProjectScrollResponse;
+import com.example.colaba.dto.project.ProjectVersionRow;
 import com.example.colaba.dto.project.UpdateProjectRequest;
 import com.example.colaba.entity.Project;
 import com.example.colaba.entity.User;
@@ -10,16 +13,26 @@ import com.example.colaba.exception.project.DuplicateProjectNameException;
 import com.example.colaba.exception.project.ProjectNotFoundException;
 import com.example.colaba.exception.user.UserNotFoundException;
 import com.example.colaba.mapper.ProjectMapper;
+import com.example.colaba.pagination.KeysetCursor;
 import com.example.colaba.repository.ProjectRepository;
+import com.example.colaba.repository.SparseFieldRepository;
 import com.example.colaba.repository.UserRepository;
+import com.example.colaba.search.SearchIndexUpdater;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +41,9 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final ProjectMapper projectMapper;
+    private final EntityManager entityManager;
+    private final SearchIndexUpdater searchIndexUpdater;
+    private final SparseFieldRepository sparseFieldRepository;
 
     @Transactional
     public ProjectResponse createProject(CreateProjectRequest request) {
@@ -54,12 +70,23 @@ public class ProjectService {
         return projectMapper.toProjectResponse(project);
     }
 
+    public ResourceVersion getProjectVersion(Long id) {
+        return projectRepository.findVersionById(id)
+                .map(ProjectVersionRow::version)
+                .orElseThrow(() -> new ProjectNotFoundException(id));
+    }
+
     @Transactional(readOnly = true)
     public Project getProjectEntityById(Long id) {
         return projectRepository.findById(id)
                 .orElseThrow(() -> new ProjectNotFoundException(id));
     }
 
+    // Ссылка без SELECT: существование проверит FK при INSERT (см. GlobalExceptionHandler)
+    public Project getProjectReference(Long id) {
+        return projectRepository.getReferenceById(id);
+    }
+
     @Transactional(readOnly = true)
     public Page<ProjectResponse> getAllProjects(Pageable pageable) {
         Page<Project> projects = projectRepository.findAll(pageable);
@@ -109,6 +136,8 @@ public class ProjectService {
             throw new ProjectNotFoundException(id);
         }
         projectRepository.deleteById(id);
+        // Задачи и комментарии проекта удаляет каскад в БД — из индекса снимаем их сами
+        searchIndexUpdater.projectDeleted(id);
     }
 
     @Transactional(readOnly = true)
@@ -126,6 +155,27 @@ public class ProjectService {
         return projectMapper.toProjectResponseList(projects);
     }
 
+    // ?fields=: только запрошенные колонки, JOIN к users — только для ownerName
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllFields(Set<ProjectField> fields) {
+        return sparseFieldRepository.findAll(Project.class, (root, query, cb) -> null, fields, Sort.unsorted());
+    }
+
+    // Потоковая выгрузка всех проектов: строки читаются курсором и отдаются consumer'у по одной.
+    // Persistence context чистится каждые STREAM_FETCH_SIZE строк, чтобы heap не рос с таблицей
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<ProjectResponse> consumer) {
+        try (Stream<Project> projects = projectRepository.streamAll()) {
+            int[] count = {0};
+            projects.forEach(project -> {
+                consumer.accept(projectMapper.toProjectResponse(project));
+                if (++count[0] % ProjectRepository.STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+
     @Transactional(readOnly = true)
     public ProjectResponse getById(Long id) {
         return getProjectById(id); // твой существующий метод
@@ -147,16 +197,22 @@ public class ProjectService {
     }
 
     @Transactional(readOnly = true)
-    public ProjectScrollResponse scroll(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Project> projectPage = projectRepository.findAll(pageable);
-
-        List<ProjectResponse> projects = projectMapper.toProjectResponseList(projectPage.getContent());
-        boolean hasNext = projectPage.hasNext();
-        long total = projectPage.getTotalElements();
-
-        return new ProjectScrollResponse(projects, hasNext, total);
+    public List<Map<String, Object>> getByOwnerIdFields(Long ownerId, Set<ProjectField> fields) {
+        if (!userRepository.existsById(ownerId)) {
+            throw new UserNotFoundException(ownerId);
+        }
+        return sparseFieldRepository.findAll(Project.class,
+                (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId), fields, Sort.unsorted());
     }
 
+    @Transactional(readOnly = true)
+    public ProjectScrollResponse scroll(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<Project> projectSlice = projectRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.afterId(cursor), pageable);
 
+        List<ProjectResponse> projects = projectMapper.toProjectResponseList(projectSlice.getContent());
+        String nextCursor = KeysetCursor.next(projectSlice, project -> KeysetCursor.encode(project.getId()));
+
+        return new ProjectScrollResponse(projects, nextCursor, projectSlice.hasNext());
+    }
 }
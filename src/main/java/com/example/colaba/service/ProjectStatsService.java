@@ -0,0 +1,91 @@
+package com.example.colaba.service;
+
+import com.example.colaba.dto.project.AssigneeStatsResponse;
+import com.example.colaba.dto.project.ProjectStatsResponse;
+import com.example.colaba.dto.project.ProjectStatsRow;
+import com.example.colaba.entity.task.TaskPriority;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.repository.ProjectStatsRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сводка по задачам проекта для дашборда: один агрегатный запрос вместо постраничного
+ * обхода задач. Результат кэшируется по projectId на короткий TTL: изменения задач видны
+ * с задержкой до cache-ttl, параллельные запросы одного проекта считают агрегат один раз.
+ */
+@Service
+public class ProjectStatsService {
+
+    private final ProjectStatsRepository projectStatsRepository;
+    private final ProjectService projectService;
+    private final Cache<Long, ProjectStatsResponse> cache;
+
+    public ProjectStatsService(ProjectStatsRepository projectStatsRepository,
+                               ProjectService projectService,
+                               @Value("${colaba.projects.stats.cache-ttl:30s}") Duration cacheTtl,
+                               @Value("${colaba.projects.stats.cache-max-size:10000}") long cacheMaxSize) {
+        this.projectStatsRepository = projectStatsRepository;
+        this.projectService = projectService;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheMaxSize)
+                .build();
+    }
+
+    public ProjectStatsResponse getProjectStats(Long projectId) {
+        return cache.get(projectId, this::compute);
+    }
+
+    private ProjectStatsResponse compute(Long projectId) {
+        projectService.getProjectEntityById(projectId);
+
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, 0L);
+        }
+        long withoutPriority = 0;
+        long total = 0;
+        long overdue = 0;
+        List<AssigneeStatsResponse> byAssignee = new ArrayList<>();
+
+        for (ProjectStatsRow row : projectStatsRepository.aggregateByProject(projectId)) {
+            switch (row.grouping()) {
+                case ProjectStatsRepository.BY_STATUS -> byStatus.put(row.status(), row.total());
+                case ProjectStatsRepository.BY_PRIORITY -> {
+                    if (row.priority() == null) {
+                        withoutPriority = row.total();
+                    } else {
+                        byPriority.put(row.priority(), row.total());
+                    }
+                }
+                case ProjectStatsRepository.BY_ASSIGNEE ->
+                        byAssignee.add(new AssigneeStatsResponse(row.assigneeId(), row.total(), row.overdue()));
+                case ProjectStatsRepository.TOTAL -> {
+                    total = row.total();
+                    overdue = row.overdue();
+                }
+                default -> throw new IllegalStateException("Unexpected grouping " + row.grouping());
+            }
+        }
+        byAssignee.sort(Comparator.comparingLong(AssigneeStatsResponse::total).reversed()
+                .thenComparing(AssigneeStatsResponse::assigneeId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        return new ProjectStatsResponse(projectId, total, overdue, byStatus, byPriority, withoutPriority,
+                byAssignee, Instant.now());
+    }
+}
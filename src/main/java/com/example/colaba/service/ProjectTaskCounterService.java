@@ -0,0 +1,120 @@
+package com.example.colaba.service;
+
+import com.example.colaba.dto.project.ProjectTaskCountsResponse;
+import com.example.colaba.dto.project.TaskCountDelta;
+import com.example.colaba.dto.task.CreateTaskRequest;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.repository.ProjectTaskCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Счётчики задач проекта по статусам (project_task_counters).
+ * Write-пути TaskService и импорт обновляют их в своей транзакции, поэтому количество задач
+ * проекта читается без обхода tasks. Пути мимо сервисов (ручной SQL, восстановление из бэкапа)
+ * могут дать расхождение — его исправляет периодическая сверка {@link #reconcile()}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectTaskCounterService {
+
+    private final ProjectTaskCounterRepository counterRepository;
+    private final ProjectService projectService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${colaba.projects.task-counters.reconcile-batch-size:500}")
+    private int reconcileBatchSize = 500;
+
+    public void taskCreated(Long projectId, TaskStatus status) {
+        counterRepository.add(List.of(new TaskCountDelta(projectId, status, 1)));
+    }
+
+    public void taskStatusChanged(Long projectId, TaskStatus from, TaskStatus to) {
+        if (from == to) {
+            return;
+        }
+        counterRepository.add(List.of(
+                new TaskCountDelta(projectId, from, -1),
+                new TaskCountDelta(projectId, to, 1)));
+    }
+
+    public void taskDeleted(Long projectId, TaskStatus status) {
+        counterRepository.add(List.of(new TaskCountDelta(projectId, status, -1)));
+    }
+
+    // Одна строка на (project, status) пачки вместо инкремента на каждую задачу
+    public void tasksImported(List<CreateTaskRequest> tasks) {
+        Map<Long, Map<TaskStatus, Long>> grouped = tasks.stream()
+                .collect(Collectors.groupingBy(CreateTaskRequest::projectId,
+                        Collectors.groupingBy(CreateTaskRequest::status,
+                                () -> new EnumMap<>(TaskStatus.class), Collectors.counting())));
+        List<TaskCountDelta> deltas = grouped.entrySet().stream()
+                .flatMap(project -> project.getValue().entrySet().stream()
+                        .map(status -> new TaskCountDelta(project.getKey(), status.getKey(), status.getValue())))
+                .toList();
+        counterRepository.add(deltas);
+    }
+
+    public ProjectTaskCountsResponse getTaskCounts(Long projectId) {
+        Map<TaskStatus, Long> counted = counterRepository.countByProject(projectId);
+        // Строки счётчиков есть только у существующего проекта; проверяем лишь пустой ответ
+        if (counted.isEmpty()) {
+            projectService.getProjectEntityById(projectId);
+        }
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = counted.getOrDefault(status, 0L);
+            byStatus.put(status, count);
+            total += count;
+        }
+        return new ProjectTaskCountsResponse(projectId, total, byStatus);
+    }
+
+    /**
+     * Пересчитывает счётчики по tasks пачками проектов; каждая пачка — своя короткая транзакция
+     * под advisory lock, чтобы два инстанса не внесли одну поправку дважды.
+     * Возвращает число исправленных пар (project, status).
+     */
+    @Scheduled(cron = "${colaba.projects.task-counters.reconcile-cron:0 30 3 * * *}")
+    public long reconcile() {
+        long repaired = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> projectIds = counterRepository.findProjectIdsAfter(afterId, reconcileBatchSize);
+            if (projectIds.isEmpty()) {
+                break;
+            }
+            long fromId = afterId;
+            long toId = projectIds.getLast();
+            try {
+                Integer rows = transactionTemplate.execute(status -> {
+                    counterRepository.lockReconciliation();
+                    return counterRepository.reconcile(fromId, toId);
+                });
+                repaired += rows == null ? 0 : rows;
+            } catch (RuntimeException e) {
+                // Например, проект удалён между снимком и вставкой поправки: следующий запуск догонит
+                log.warn("Task counter reconciliation failed for projects ({}, {}]: {}", fromId, toId, e.getMessage());
+            }
+            afterId = toId;
+            if (projectIds.size() < reconcileBatchSize) {
+                break;
+            }
+        }
+        if (repaired > 0) {
+            log.info("Task counter reconciliation repaired {} project/status counters", repaired);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.colaba.service;
+
+import com.example.colaba.dto.search.IndexSearchHitResponse;
+import com.example.colaba.dto.search.SearchHitType;
+import com.example.colaba.dto.search.SearchIndexStatusResponse;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.repository.SearchIndexSourceRepository;
+import com.example.colaba.search.CommentDocument;
+import com.example.colaba.search.LuceneTaskIndex;
+import com.example.colaba.search.TaskDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Поиск по встроенному Lucene-индексу и его полный rebuild из БД.
+ * Rebuild идёт в фоне, один на инстанс; повторный запрос во время rebuild возвращает его статус.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "colaba.search.lucene.enabled", havingValue = "true")
+public class SearchIndexService {
+
+    static final int REBUILD_BATCH_SIZE = 1_000;
+
+    private final LuceneTaskIndex index;
+    private final SearchIndexSourceRepository sourceRepository;
+    private final TaskExecutor taskExecutor;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Instant rebuildStartedAt;
+    private volatile Instant rebuildFinishedAt;
+    private volatile String rebuildError;
+
+    public List<IndexSearchHitResponse> search(String query, Long projectId, Set<TaskStatus> statuses,
+                                               Set<SearchHitType> types, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (query.length() > SearchService.MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + SearchService.MAX_QUERY_LENGTH + " characters");
+        }
+        return index.search(query, projectId, statuses, types, limit);
+    }
+
+    public SearchIndexStatusResponse rebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            rebuildStartedAt = Instant.now();
+            rebuildFinishedAt = null;
+            rebuildError = null;
+            try {
+                taskExecutor.execute(this::runRebuild);
+            } catch (TaskRejectedException e) {
+                finish("Rejected by executor: " + e.getMessage());
+            }
+        }
+        return getStatus();
+    }
+
+    public SearchIndexStatusResponse getStatus() {
+        return new SearchIndexStatusResponse(rebuilding.get(), index.documentCount(),
+                rebuildStartedAt, rebuildFinishedAt, rebuildError);
+    }
+
+    void runRebuild() {
+        try {
+            long generation = index.beginRebuild();
+            long tasks = 0;
+            long afterId = 0;
+            List<TaskDocument> taskBatch;
+            do {
+                taskBatch = sourceRepository.findTasksAfter(afterId, REBUILD_BATCH_SIZE);
+                index.rebuildTasks(taskBatch);
+                tasks += taskBatch.size();
+                afterId = taskBatch.isEmpty() ? afterId : taskBatch.getLast().id();
+            } while (taskBatch.size() == REBUILD_BATCH_SIZE);
+
+            long comments = 0;
+            afterId = 0;
+            List<CommentDocument> commentBatch;
+            do {
+                commentBatch = sourceRepository.findCommentsAfter(afterId, REBUILD_BATCH_SIZE);
+                index.rebuildComments(commentBatch);
+                comments += commentBatch.size();
+                afterId = commentBatch.isEmpty() ? afterId : commentBatch.getLast().id();
+            } while (commentBatch.size() == REBUILD_BATCH_SIZE);
+
+            index.finishRebuild(generation);
+            log.info("Search index rebuilt: {} tasks, {} comments", tasks, comments);
+            finish(null);
+        } catch (RuntimeException e) {
+            log.warn("Search index rebuild failed", e);
+            index.abortRebuild();
+            finish(e.getMessage());
+        }
+    }
+
+    private void finish(String error) {
+        rebuildError = error;
+        rebuildFinishedAt = Instant.now();
+        rebuilding.set(false);
+    }
+}
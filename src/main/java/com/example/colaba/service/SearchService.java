@@ -0,0 +1,62 @@
+package com.example.colaba.service;
+
+import com.example.colaba.dto.common.ScrollResponse;
+import com.example.colaba.dto.search.SearchHitResponse;
+import com.example.colaba.dto.search.SearchHitType;
+import com.example.colaba.pagination.KeysetCursor;
+import com.example.colaba.repository.SearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    private final SearchRepository searchRepository;
+    private final ProjectService projectService;
+
+    // Синтаксис запроса — websearch_to_tsquery: слова через пробел (AND), "фраза", or, -исключение
+    @Transactional(readOnly = true)
+    public ScrollResponse<SearchHitResponse> search(Long projectId, String query, Set<SearchHitType> types,
+                                                    String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        SearchRepository.After after = parseCursor(cursor);
+        projectService.getProjectEntityById(projectId);
+
+        Set<SearchHitType> scope = types == null || types.isEmpty() ? EnumSet.allOf(SearchHitType.class) : types;
+        // Лишняя строка — признак следующей страницы, без COUNT
+        List<SearchHitResponse> hits = searchRepository.search(projectId, query, scope, after, limit + 1);
+        boolean hasMore = hits.size() > limit;
+        List<SearchHitResponse> page = hasMore ? hits.subList(0, limit) : hits;
+
+        SearchHitResponse last = hasMore ? page.getLast() : null;
+        String nextCursor = last == null ? null : KeysetCursor.encode(last.rank(), last.type(), last.id());
+        return new ScrollResponse<>(page, nextCursor, hasMore);
+    }
+
+    private SearchRepository.After parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        List<String> keys = KeysetCursor.decode(cursor, 3);
+        try {
+            return new SearchRepository.After(
+                    Float.parseFloat(keys.get(0)),
+                    SearchHitType.valueOf(keys.get(1)),
+                    Long.parseLong(keys.get(2)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,35 +1,59 @@
 package com.example.colaba.service;
 
+import com.example.colaba.dto.common.ScrollResponse;
+import com.example.colaba.dto.common.SliceResponse;
 import com.example.colaba.dto.tag.CreateTagRequest;
 import com.example.colaba.dto.tag.TagResponse;
+import com.example.colaba.dto.tag.TaskTagLink;
+import com.example.colaba.dto.tag.TaskTagRow;
 import com.example.colaba.dto.tag.UpdateTagRequest;
+import com.example.colaba.dto.task.TaskResponse;
+import com.example.colaba.dto.task.TaskTagsBatchRequest;
 import com.example.colaba.entity.Project;
 import com.example.colaba.entity.Tag;
-import com.example.colaba.entity.task.Task;
+import com.example.colaba.event.ProjectEventPublisher;
 import com.example.colaba.exception.tag.DuplicateTagException;
 import com.example.colaba.exception.tag.TagNotFoundException;
 import com.example.colaba.mapper.TagMapper;
+import com.example.colaba.pagination.KeysetCursor;
+import com.example.colaba.repository.RowEstimateRepository;
 import com.example.colaba.repository.TagRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class TagService {
+    public static final int MAX_TASK_IDS = 100;
+
     private final TagRepository tagRepository;
     private final ProjectService projectService;
     private final TaskService taskService;
     private final TagMapper tagMapper;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final ProjectEventPublisher projectEventPublisher;
 
     public Page<TagResponse> getAllTags(Pageable pageable) {
         return tagMapper.toTagResponsePage(tagRepository.findAll(pageable));
     }
 
+    public SliceResponse<TagResponse> getAllTagsSlice(Pageable pageable, boolean estimateTotal) {
+        Slice<Tag> tags = tagRepository.findSliceBy(pageable);
+        Long estimatedTotal = estimateTotal ? rowEstimateRepository.estimateTableRows("tags") : null;
+        return SliceResponse.of(tags.map(tagMapper::toTagResponse), estimatedTotal);
+    }
+
     public TagResponse getTagById(Long id) {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new TagNotFoundException(id));
@@ -41,12 +65,45 @@ public class TagService {
         return tagMapper.toTagResponsePage(tagRepository.findByProject(project, pageable));
     }
 
+    public ScrollResponse<TagResponse> getTagsByProjectScroll(Long projectId, String cursor, int limit) {
+        projectService.getProjectEntityById(projectId);
+        Slice<Tag> slice = tagRepository.findByProjectIdAndIdGreaterThanOrderByIdAsc(
+                projectId, KeysetCursor.afterId(cursor), PageRequest.of(0, limit));
+        return new ScrollResponse<>(
+                slice.map(tagMapper::toTagResponse).getContent(),
+                KeysetCursor.next(slice, tag -> KeysetCursor.encode(tag.getId())),
+                slice.hasNext());
+    }
+
     public List<TagResponse> getTagsByTask(Long taskId) {
         return tagRepository.findByTaskId(taskId).stream()
                 .map(tagMapper::toTagResponse)
                 .toList();
     }
 
+    // Один запрос на весь набор; каждая запрошенная задача есть в ответе, без тегов — пустой список
+    public Map<Long, List<TagResponse>> getTagsByTaskIds(Collection<Long> taskIds) {
+        if (taskIds.size() > MAX_TASK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_TASK_IDS + " task IDs per request");
+        }
+        Map<Long, List<TagResponse>> result = new LinkedHashMap<>();
+        taskIds.forEach(id -> result.put(id, new ArrayList<>()));
+        if (result.isEmpty()) {
+            return result;
+        }
+        for (TaskTagRow row : tagRepository.findTaskTagRows(result.keySet())) {
+            result.get(row.taskId()).add(tagMapper.toTagResponse(row));
+        }
+        return result;
+    }
+
+    public List<TaskResponse> withTags(List<TaskResponse> tasks) {
+        Map<Long, List<TagResponse>> tags = getTagsByTaskIds(tasks.stream().map(TaskResponse::id).toList());
+        return tasks.stream()
+                .map(task -> task.copyWithTags(tags.get(task.id())))
+                .toList();
+    }
+
     @Transactional
     public TagResponse createTag(CreateTagRequest request) {
         Project project = projectService.getProjectEntityById(request.projectId());
@@ -89,27 +146,44 @@ public class TagService {
         tagRepository.deleteById(id);
     }
 
+    // Один INSERT ... ON CONFLICT; при 0 строк выясняем причину: повторный assign — не ошибка
     @Transactional
     public void assignTagToTask(Long taskId, Long tagId) {
-        Task task = taskService.getTaskEntityById(taskId);
-        Tag tag = tagRepository.findById(tagId)
+        if (!tagRepository.linkTasks(List.of(taskId), List.of(tagId)).isEmpty()) {
+            projectEventPublisher.tagAssigned(taskId, tagId);
+            return;
+        }
+        Long taskProjectId = taskService.getTaskProjectId(taskId);
+        Long tagProjectId = tagRepository.findProjectIdById(tagId)
                 .orElseThrow(() -> new TagNotFoundException(tagId));
-        if (!tag.getProject().getId().equals(task.getProject().getId())) {
+        if (!tagProjectId.equals(taskProjectId)) {
             throw new IllegalArgumentException("Tag does not belong to task's project");
         }
-        boolean added = task.getTags().add(tag);
-        if (added) {
-            tag.getTasks().add(task);
-            taskService.saveTask(task);
-        }
     }
 
     @Transactional
     public void removeTagFromTask(Long taskId, Long tagId) {
-        Task task = taskService.getTaskEntityById(taskId);
-        Tag tag = tagRepository.findById(tagId)
-                .orElseThrow(() -> new TagNotFoundException(tagId));
-        task.getTags().remove(tag);
-        taskService.saveTask(task);
+        if (!tagRepository.unlinkTasks(List.of(taskId), List.of(tagId)).isEmpty()) {
+            projectEventPublisher.tagRemoved(taskId, tagId);
+            return;
+        }
+        taskService.getTaskProjectId(taskId);
+        if (!tagRepository.existsById(tagId)) {
+            throw new TagNotFoundException(tagId);
+        }
+    }
+
+    // M тегов на N задач одним statement'ом. Несуществующие id, пары из разных проектов
+    // и уже существующие (для REMOVE — отсутствующие) связи пропускаются без ошибки
+    @Transactional
+    public long updateTaskTags(TaskTagsBatchRequest request) {
+        List<TaskTagLink> changed = switch (request.operation()) {
+            case ASSIGN -> tagRepository.linkTasks(request.taskIds(), request.tagIds());
+            case REMOVE -> tagRepository.unlinkTasks(request.taskIds(), request.tagIds());
+        };
+        if (!changed.isEmpty()) {
+            projectEventPublisher.tagsUpdated(changed);
+        }
+        return changed.size();
     }
 }
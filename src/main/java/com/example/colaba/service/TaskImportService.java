@@ -0,0 +1,175 @@
+package com.example.colaba.service;
+
+import com.example.colaba.dto.task.CreateTaskRequest;
+import com.example.colaba.dto.task.TaskImportError;
+import com.example.colaba.dto.task.TaskImportResponse;
+import com.example.colaba.exception.project.ProjectNotFoundException;
+import com.example.colaba.exception.user.UserNotFoundException;
+import com.example.colaba.repository.TaskCopyRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Пакетный импорт задач (миграция из других трекеров).
+ * Вход — JSON-массив или NDJSON с {@link CreateTaskRequest}; читается потоково, пачками по CHUNK_SIZE.
+ * На пачку: bean validation построчно, два set-based запроса на существование project/user, один COPY
+ * и по одному инкременту счётчиков на (project, status).
+ * Невалидные строки пропускаются и попадают в отчёт.
+ * <p>
+ * Каждая пачка — своя короткая JDBC-транзакция, открываемая после того, как пачка прочитана: пока
+ * медленный клиент досылает тело, соединение из пула не занято. Поэтому импорт не атомарен: при сбое
+ * пачки (или обрыве потока) уже загруженные пачки остаются, ошибка уходит клиенту.
+ * Транзакции — через DataSourceTransactionManager, а не JPA: JPA-транзакция привязала бы соединение
+ * к сессии open-in-view до конца запроса.
+ * Lucene-индекс и SSE-события импорт не обновляет: новые задачи попадут в поиск после rebuild.
+ */
+@Service
+public class TaskImportService {
+
+    public static final int MAX_REPORTED_ERRORS = 1_000;
+    // Строк на пачку и транзакцию: id ссылок уходят одним массивом в ANY(?), CSV пачки держится в памяти
+    public static final int CHUNK_SIZE = 5_000;
+
+    private final TaskCopyRepository taskCopyRepository;
+    private final ProjectTaskCounterService projectTaskCounterService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate chunkTransaction;
+
+    public TaskImportService(TaskCopyRepository taskCopyRepository,
+                             ProjectTaskCounterService projectTaskCounterService,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             DataSource dataSource) {
+        this.taskCopyRepository = taskCopyRepository;
+        this.projectTaskCounterService = projectTaskCounterService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    public TaskImportResponse importTasks(InputStream body) throws IOException {
+        Report report = new Report();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (MappingIterator<CreateTaskRequest> rows = objectMapper.readerFor(CreateTaskRequest.class).readValues(body)) {
+            long index = 0;
+            while (true) {
+                CreateTaskRequest request;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    request = rows.nextValue();
+                } catch (JsonParseException e) {
+                    // Синтаксически битый поток: дальше строк не различить
+                    report.received++;
+                    report.fail(index, "Malformed JSON: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    // Неверный тип/enum в одной строке: итератор пропустит её и продолжит
+                    report.received++;
+                    report.fail(index++, "Invalid row: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                report.received++;
+                String violations = validate(request);
+                if (violations != null) {
+                    report.fail(index++, violations);
+                    continue;
+                }
+                chunk.add(new Row(index++, request));
+                if (chunk.size() == CHUNK_SIZE) {
+                    loadInTransaction(chunk, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            loadInTransaction(chunk, report);
+        }
+        return new TaskImportResponse(report.received, report.imported, report.failed, report.errors);
+    }
+
+    // Пачка уже в памяти: транзакция не ждёт чтения тела запроса
+    private void loadInTransaction(List<Row> chunk, Report report) {
+        chunkTransaction.executeWithoutResult(status -> load(chunk, report));
+    }
+
+    private void load(List<Row> chunk, Report report) {
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (Row row : chunk) {
+            projectIds.add(row.request().projectId());
+            userIds.add(row.request().reporterId());
+            if (row.request().assigneeId() != null) {
+                userIds.add(row.request().assigneeId());
+            }
+        }
+        Set<Long> existingProjects = taskCopyRepository.findExistingProjectIds(projectIds);
+        Set<Long> existingUsers = taskCopyRepository.findExistingUserIds(userIds);
+
+        List<CreateTaskRequest> valid = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            CreateTaskRequest request = row.request();
+            if (!existingProjects.contains(request.projectId())) {
+                report.fail(row.index(), new ProjectNotFoundException(request.projectId()).getMessage());
+            } else if (!existingUsers.contains(request.reporterId())) {
+                report.fail(row.index(), new UserNotFoundException(request.reporterId()).getMessage());
+            } else if (request.assigneeId() != null && !existingUsers.contains(request.assigneeId())) {
+                report.fail(row.index(), new UserNotFoundException(request.assigneeId()).getMessage());
+            } else {
+                valid.add(request);
+            }
+        }
+        if (!valid.isEmpty()) {
+            report.imported += taskCopyRepository.copyIn(valid);
+            projectTaskCounterService.tasksImported(valid);
+        }
+    }
+
+    private String validate(CreateTaskRequest request) {
+        Set<ConstraintViolation<CreateTaskRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private record Row(long index, CreateTaskRequest request) {
+    }
+
+    private static final class Report {
+        private long received;
+        private long imported;
+        private long failed;
+        private final List<TaskImportError> errors = new ArrayList<>();
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TaskImportError(row, message));
+            }
+        }
+    }
+}
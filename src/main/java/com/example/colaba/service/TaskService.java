@@ -1,56 +1,144 @@
 package com.example.colaba.service;
 
+import com.example.colaba.dto.common.ResourceVersion;
+import com.example.colaba.dto.common.ScrollResponse;
+import com.example.colaba.dto.common.SliceResponse;
 import com.example.colaba.dto.task.CreateTaskRequest;
+import com.example.colaba.dto.task.TaskField;
+import com.example.colaba.dto.task.TaskFilter;
 import com.example.colaba.dto.task.TaskResponse;
+import com.example.colaba.dto.task.TaskVersionRow;
 import com.example.colaba.dto.task.UpdateTaskRequest;
 import com.example.colaba.entity.Project;
 import com.example.colaba.entity.User;
 import com.example.colaba.entity.task.Task;
 import com.example.colaba.entity.task.TaskPriority;
 import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.event.ProjectEventPublisher;
 import com.example.colaba.exception.task.TaskNotFoundException;
 import com.example.colaba.mapper.TaskMapper;
+import com.example.colaba.pagination.KeysetCursor;
+import com.example.colaba.repository.RowEstimateRepository;
+import com.example.colaba.repository.SparseFieldRepository;
 import com.example.colaba.repository.TaskRepository;
+import com.example.colaba.search.SearchIndexUpdater;
+import com.example.colaba.specification.TaskSpecifications;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class TaskService {
+    // Тот же граф, что у списочных методов TaskRepository, для запросов по Specification
+    private static final String[] LIST_GRAPH = {"project", "assignee", "reporter"};
+
     private final TaskRepository taskRepository;
     private final ProjectService projectService;
     private final UserService userService;
     private final TaskMapper taskMapper;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final SearchIndexUpdater searchIndexUpdater;
+    private final ProjectTaskCounterService projectTaskCounterService;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final ProjectEventPublisher projectEventPublisher;
+    private final TaskSyncService taskSyncService;
 
     public Page<TaskResponse> getAllTasks(Pageable pageable) {
         return taskMapper.toTaskResponsePage(taskRepository.findAll(pageable));
     }
 
+    public SliceResponse<TaskResponse> getAllTasksSlice(Pageable pageable, boolean estimateTotal) {
+        Slice<Task> tasks = taskRepository.findSliceBy(pageable);
+        Long estimatedTotal = estimateTotal ? rowEstimateRepository.estimateTableRows("tasks") : null;
+        return SliceResponse.of(tasks.map(taskMapper::toTaskResponse), estimatedTotal);
+    }
+
+    // Пустой фильтр — прежние запросы с EntityGraph; иначе Specification с тем же графом
+    public Page<TaskResponse> getTasks(TaskFilter filter, Pageable pageable) {
+        if (filter.isEmpty()) {
+            return getAllTasks(pageable);
+        }
+        Page<Task> tasks = taskRepository.findBy(TaskSpecifications.matching(filter),
+                query -> query.project(LIST_GRAPH).page(pageable));
+        return taskMapper.toTaskResponsePage(tasks);
+    }
+
+    // ?fields=: в SELECT только запрошенные колонки, JOIN — только для запрошенных имён
+    public Page<Map<String, Object>> getTaskFields(TaskFilter filter, Set<TaskField> fields, Pageable pageable) {
+        return sparseFieldRepository.findPage(Task.class, TaskSpecifications.matching(filter), fields, pageable);
+    }
+
+    // Оценка total по статистике планировщика есть только для таблицы целиком
+    public SliceResponse<TaskResponse> getTasksSlice(TaskFilter filter, Pageable pageable, boolean estimateTotal) {
+        if (filter.isEmpty()) {
+            return getAllTasksSlice(pageable, estimateTotal);
+        }
+        Slice<Task> tasks = taskRepository.findBy(TaskSpecifications.matching(filter),
+                query -> query.project(LIST_GRAPH).slice(pageable));
+        return SliceResponse.of(tasks.map(taskMapper::toTaskResponse), null);
+    }
+
     public TaskResponse getTaskById(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new TaskNotFoundException(id));
         return taskMapper.toTaskResponse(task);
     }
 
+    // Для If-None-Match: один SELECT скаляров вместо загрузки задачи
+    public ResourceVersion getTaskVersion(Long id) {
+        return taskRepository.findVersionById(id)
+                .map(TaskVersionRow::version)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+    }
+
     public Task getTaskEntityById(Long id) {
         return taskRepository.findById(id)
                 .orElseThrow(() -> new TaskNotFoundException(id));
     }
 
+    public Long getTaskProjectId(Long id) {
+        return taskRepository.findProjectIdById(id)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+    }
+
     public Page<TaskResponse> getTasksByProject(Long projectId, Pageable pageable) {
         Project project = projectService.getProjectEntityById(projectId);
         return taskMapper.toTaskResponsePage(taskRepository.findByProject(project, pageable));
     }
 
+    public Page<Map<String, Object>> getTaskFieldsByProject(Long projectId, Set<TaskField> fields, Pageable pageable) {
+        projectService.getProjectEntityById(projectId);
+        return sparseFieldRepository.findPage(Task.class, TaskSpecifications.inProject(projectId), fields, pageable);
+    }
+
+    public ResourceVersion getTasksByProjectVersion(Long projectId, Pageable pageable) {
+        projectService.getProjectEntityById(projectId);
+        return ResourceVersion.ofPage(taskRepository.findVersionsByProjectId(projectId, pageable)
+                .map(TaskVersionRow::version));
+    }
+
+    public ScrollResponse<TaskResponse> getTasksByProjectScroll(Long projectId, String cursor, int limit) {
+        projectService.getProjectEntityById(projectId);
+        Slice<Task> slice = taskRepository.findByProjectIdAndIdGreaterThanOrderByIdAsc(
+                projectId, KeysetCursor.afterId(cursor), PageRequest.of(0, limit));
+        return toScrollResponse(slice);
+    }
+
     @Transactional
     public TaskResponse createTask(CreateTaskRequest request) {
-        Project project = projectService.getProjectEntityById(request.projectId());
+        // Только ссылки: несуществующий project/assignee/reporter отловит FK на INSERT
+        Project project = projectService.getProjectReference(request.projectId());
         TaskPriority priority = (request.priority() != null) ? request.priority() : null;
-        User assignee = (request.assigneeId() != null) ? userService.getUserEntityById(request.assigneeId()) : null;
-        User reporter = userService.getUserEntityById(request.reporterId());
+        User assignee = (request.assigneeId() != null) ? userService.getUserReference(request.assigneeId()) : null;
+        User reporter = userService.getUserReference(request.reporterId());
 
         Task task = Task.builder()
                 .title(request.title())
@@ -63,7 +151,11 @@ public class TaskService {
                 .dueDate(request.dueDate())
                 .build();
 
-        Task savedTask = taskRepository.save(task);
+        // SEQUENCE id откладывает INSERT до flush: FK должен сработать до чтения ссылок маппером
+        Task savedTask = taskRepository.saveAndFlush(task);
+        projectTaskCounterService.taskCreated(request.projectId(), savedTask.getStatus());
+        searchIndexUpdater.taskSaved(savedTask);
+        projectEventPublisher.taskCreated(savedTask);
         return taskMapper.toTaskResponse(savedTask);
     }
 
@@ -84,6 +176,7 @@ public class TaskService {
         }
         if (request.status() != null && !request.status().equals(task.getStatus())) {
             TaskStatus status = request.status();
+            projectTaskCounterService.taskStatusChanged(task.getProject().getId(), task.getStatus(), status);
             task.setStatus(status);
             hasChanges = true;
         }
@@ -102,16 +195,25 @@ public class TaskService {
             hasChanges = true;
         }
 
-        Task updatedTask = hasChanges ? taskRepository.save(task) : task;
+        Task updatedTask = task;
+        if (hasChanges) {
+            updatedTask = taskRepository.save(task);
+            searchIndexUpdater.taskSaved(updatedTask);
+            projectEventPublisher.taskUpdated(updatedTask);
+        }
         return taskMapper.toTaskResponse(updatedTask);
     }
 
     @Transactional
     public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new TaskNotFoundException(id);
-        }
-        taskRepository.deleteById(id);
+        // Статус и проект нужны счётчикам, поэтому загрузка вместо existsById
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        taskRepository.delete(task);
+        projectTaskCounterService.taskDeleted(task.getProject().getId(), task.getStatus());
+        taskSyncService.taskDeleted(task.getProject().getId(), id);
+        searchIndexUpdater.taskDeleted(id);
+        projectEventPublisher.taskDeleted(task);
     }
 
     public Page<TaskResponse> getTasksByAssignee(Long userId, Pageable pageable) {
@@ -119,6 +221,25 @@ public class TaskService {
         return taskMapper.toTaskResponsePage(taskRepository.findByAssignee(assignee, pageable));
     }
 
+    public Page<Map<String, Object>> getTaskFieldsByAssignee(Long userId, Set<TaskField> fields, Pageable pageable) {
+        userService.getUserEntityById(userId);
+        return sparseFieldRepository.findPage(Task.class, TaskSpecifications.assignedTo(userId), fields, pageable);
+    }
+
+    public ScrollResponse<TaskResponse> getTasksByAssigneeScroll(Long userId, String cursor, int limit) {
+        userService.getUserEntityById(userId);
+        Slice<Task> slice = taskRepository.findByAssigneeIdAndIdGreaterThanOrderByIdAsc(
+                userId, KeysetCursor.afterId(cursor), PageRequest.of(0, limit));
+        return toScrollResponse(slice);
+    }
+
+    private ScrollResponse<TaskResponse> toScrollResponse(Slice<Task> slice) {
+        return new ScrollResponse<>(
+                slice.map(taskMapper::toTaskResponse).getContent(),
+                KeysetCursor.next(slice, task -> KeysetCursor.encode(task.getId())),
+                slice.hasNext());
+    }
+
     @Transactional
     public void saveTask(Task task) {
         taskRepository.save(task);
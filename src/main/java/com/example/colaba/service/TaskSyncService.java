@@ -0,0 +1,110 @@
+package com.example.colaba.service;
+
+import com.example.colaba.dto.task.TaskChangesResponse;
+import com.example.colaba.dto.task.TaskResponse;
+import com.example.colaba.dto.task.TaskTombstone;
+import com.example.colaba.entity.task.Task;
+import com.example.colaba.exception.task.SyncWatermarkExpiredException;
+import com.example.colaba.mapper.TaskMapper;
+import com.example.colaba.pagination.SyncWatermark;
+import com.example.colaba.repository.TaskRepository;
+import com.example.colaba.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Дельта-синхронизация задач проекта: изменённые с водяного знака задачи и удалённые (deleted_tasks).
+ * Изменённые читаются по (project_id, updated_at, id) — стоимость растёт с числом изменений, а не с размером проекта.
+ * <p>
+ * updated_at ставится при flush, а видна строка после COMMIT: транзакция, начатая раньше, может
+ * закоммититься позже уже выданного водяного знака. Поэтому водяной знак не уходит дальше
+ * "сейчас минус settle-delay" — последние секунды повторяются в следующем ответе (применение идемпотентно),
+ * это же покрывает расхождение часов инстансов.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskSyncService {
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final ProjectService projectService;
+    private final TaskMapper taskMapper;
+
+    @Value("${colaba.sync.settle-delay:30s}")
+    private Duration settleDelay = Duration.ofSeconds(30);
+
+    @Value("${colaba.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getTaskChanges(Long projectId, String since, int limit) {
+        projectService.getProjectEntityById(projectId);
+        SyncWatermark watermark = SyncWatermark.decode(since);
+        Instant now = Instant.now();
+        // Удаления до этой границы уже вычищены: дельта была бы неполной
+        if (watermark != null && watermark.at().isBefore(now.minus(tombstoneRetention))) {
+            throw new SyncWatermarkExpiredException();
+        }
+        SyncWatermark start = watermark != null ? watermark : new SyncWatermark(Instant.EPOCH, 0);
+
+        Slice<Task> slice = taskRepository.findChangedAfter(projectId, toLocal(start.at()), start.id(),
+                PageRequest.of(0, limit));
+        List<Task> tasks = slice.getContent();
+        SyncWatermark settled = new SyncWatermark(now.minus(settleDelay), 0);
+        SyncWatermark next = settled;
+        if (slice.hasNext()) {
+            Task last = tasks.getLast();
+            SyncWatermark lastSeen = new SyncWatermark(toInstant(last.getUpdatedAt()), last.getId());
+            next = lastSeen.compareTo(settled) < 0 ? lastSeen : settled;
+            // Полная страница целиком после settled: без сдвига клиент получал бы её бесконечно
+            if (next.compareTo(start) <= 0) {
+                next = lastSeen;
+            }
+        } else if (next.compareTo(start) < 0) {
+            next = start;
+        }
+
+        // Первая синхронизация берёт все задачи — удалять клиенту нечего
+        List<TaskTombstone> deleted = watermark == null || !next.at().isAfter(start.at())
+                ? List.of()
+                : tombstoneRepository.findByProject(projectId, start.at(), next.at());
+        List<TaskResponse> changed = tasks.stream().map(taskMapper::toTaskResponse).toList();
+        return new TaskChangesResponse(changed, deleted, next.encode(), slice.hasNext());
+    }
+
+    // В транзакции удаления задачи: запись в журнал и DELETE коммитятся вместе
+    public void taskDeleted(Long projectId, Long taskId) {
+        tombstoneRepository.record(projectId, taskId);
+    }
+
+    @Scheduled(cron = "${colaba.sync.tombstone-purge-cron:0 45 3 * * *}")
+    public int purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(Instant.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Purged {} deleted task records older than {}", purged, tombstoneRetention);
+        }
+        return purged;
+    }
+
+    // updated_at задач — LocalDateTime в зоне JVM (@UpdateTimestamp), как в ResourceVersion
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.colaba.service;
+
+import com.example.colaba.dto.user.UserPurgeJobResponse;
+import com.example.colaba.exception.user.UserNotFoundException;
+import com.example.colaba.exception.user.UserPurgeJobNotFoundException;
+import com.example.colaba.repository.UserPurgeRepository;
+import com.example.colaba.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Асинхронное удаление пользователя с большим объёмом данных.
+ * Вместо одного каскадного DELETE (см. {@link UserService#deleteUser}) зависимые строки удаляются
+ * пачками по batch-size, каждая пачка — отдельная транзакция; финальный DELETE пользователя
+ * каскадом снимает только проекты, теги и участия. Прогресс — по числу строк на фазу.
+ * Не атомарно: при ошибке удалённые пачки остаются, повторный запуск продолжит с того же места.
+ * Задания хранятся в памяти инстанса, который их запустил.
+ * Lucene-индекс и SSE-события пачки не обновляют: удалённые задачи и комментарии уходят из поиска после rebuild.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserPurgeService {
+
+    private static final Duration FINISHED_JOB_TTL = Duration.ofHours(1);
+
+    private final UserRepository userRepository;
+    private final UserPurgeRepository userPurgeRepository;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Job> runningByUser = new ConcurrentHashMap<>();
+
+    @Value("${colaba.users.purge.batch-size:1000}")
+    private int batchSize = 1_000;
+
+    public UserPurgeJobResponse startPurge(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        dropExpiredJobs();
+
+        Job[] created = new Job[1];
+        // Повторный запрос для того же пользователя возвращает уже идущее задание
+        Job job = runningByUser.computeIfAbsent(userId, id -> created[0] = new Job(id));
+        if (job == created[0]) {
+            jobs.put(job.id, job);
+            try {
+                taskExecutor.execute(() -> run(job));
+            } catch (TaskRejectedException e) {
+                finish(job, Status.FAILED, "Rejected by executor: " + e.getMessage());
+            }
+        }
+        return job.toResponse();
+    }
+
+    public UserPurgeJobResponse getJob(UUID jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new UserPurgeJobNotFoundException(jobId);
+        }
+        return job.toResponse();
+    }
+
+    void run(Job job) {
+        try {
+            drain(job, Phase.AUTHORED_COMMENTS, userPurgeRepository::deleteAuthoredComments);
+            drain(job, Phase.PROJECT_COMMENTS, userPurgeRepository::deleteOwnedProjectComments);
+            drain(job, Phase.PROJECT_TASKS, userPurgeRepository::deleteOwnedProjectTasks);
+            drain(job, Phase.ASSIGNED_TASKS, userPurgeRepository::unlinkAssignee);
+            drain(job, Phase.REPORTED_TASKS, userPurgeRepository::unlinkReporter);
+
+            job.phase = Phase.USER;
+            userService.deleteUser(job.userId);
+            job.processed.put(Phase.USER, 1L);
+            finish(job, Status.COMPLETED, null);
+        } catch (RuntimeException e) {
+            finish(job, Status.FAILED, e.getMessage());
+        }
+    }
+
+    private void drain(Job job, Phase phase, BatchStep step) {
+        job.phase = phase;
+        job.processed.putIfAbsent(phase, 0L);
+        int affected;
+        do {
+            Integer rows = transactionTemplate.execute(status -> step.apply(job.userId, batchSize));
+            affected = rows == null ? 0 : rows;
+            job.processed.merge(phase, (long) affected, Long::sum);
+        } while (affected == batchSize);
+    }
+
+    private void finish(Job job, Status status, String error) {
+        job.error = error;
+        job.finishedAt = Instant.now();
+        job.status = status;
+        runningByUser.remove(job.userId, job);
+    }
+
+    private void dropExpiredJobs() {
+        Instant threshold = Instant.now().minus(FINISHED_JOB_TTL);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(threshold));
+    }
+
+    @FunctionalInterface
+    private interface BatchStep {
+        int apply(long userId, int limit);
+    }
+
+    enum Status {RUNNING, COMPLETED, FAILED}
+
+    enum Phase {AUTHORED_COMMENTS, PROJECT_COMMENTS, PROJECT_TASKS, ASSIGNED_TASKS, REPORTED_TASKS, USER}
+
+    static final class Job {
+        private final UUID id = UUID.randomUUID();
+        private final Long userId;
+        private final Instant startedAt = Instant.now();
+        private final Map<Phase, Long> processed = new ConcurrentHashMap<>();
+        private volatile Status status = Status.RUNNING;
+        private volatile Phase phase;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Job(Long userId) {
+            this.userId = userId;
+        }
+
+        private UserPurgeJobResponse toResponse() {
+            Map<String, Long> rows = new LinkedHashMap<>();
+            for (Phase p : Phase.values()) {
+                Long count = processed.get(p);
+                if (count != null) {
+                    rows.put(p.name(), count);
+                }
+            }
+            return new UserPurgeJobResponse(id, userId, status.name(), phase == null ? null : phase.name(),
+                    rows, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -1,30 +1,36 @@
 package com.example.colaba.service;
 
+import com.example.colaba.cache.CacheEvictionListener;
+import com.example.colaba.dto.common.SliceResponse;
 import com.example.colaba.dto.user.CreateUserRequest;
 import com.example.colaba.dto.user.UpdateUserRequest;
 import com.example.colaba.dto.user.UserResponse;
 import com.example.colaba.dto.user.UserScrollResponse;
-import com.example.colaba.entity.Project;
 import com.example.colaba.entity.User;
 import com.example.colaba.exception.user.DuplicateUserEntityEmailException;
 import com.example.colaba.exception.user.DuplicateUserEntityUsernameException;
 import com.example.colaba.exception.user.UserNotFoundException;
 import com.example.colaba.mapper.UserMapper;
-import com.example.colaba.repository.ProjectRepository;
+import com.example.colaba.pagination.KeysetCursor;
+import com.example.colaba.repository.RowEstimateRepository;
+import com.example.colaba.repository.TaskRepository;
 import com.example.colaba.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
-    private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final CacheEvictionListener cacheEvictionListener;
+    private final TaskRepository taskRepository;
 
     @Transactional
     public UserResponse createUser(CreateUserRequest request) {
@@ -53,6 +59,11 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException(id));
     }
 
+    // Ссылка без SELECT: существование проверит FK при INSERT (см. GlobalExceptionHandler)
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
     public UserResponse getUserByUsername(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException(username));
@@ -75,14 +86,17 @@ public class UserService {
         return userMapper.toUserResponse(saved);
     }
 
+    // Для пользователей с большим объёмом данных — UserPurgeService: те же удаления пачками
     @Transactional
     public void deleteUser(Long id) {
-        User user = getUserEntityById(id);
-
-        List<Project> ownedProjects = projectRepository.findByOwner(user);
-        projectRepository.deleteAll(ownedProjects);
-
-        userRepository.deleteById(id);
+        // updated_at меняется до DELETE: задачи чужих проектов попадут в /tasks/changes
+        LocalDateTime now = LocalDateTime.now();
+        taskRepository.unlinkAssignee(id, now);
+        taskRepository.unlinkReporter(id, now);
+        if (userRepository.deleteCascadeById(id) == 0) {
+            throw new UserNotFoundException(id);
+        }
+        cacheEvictionListener.onBulkRemove(User.class, id);
     }
 
     public Page<UserResponse> getAllUsers(Pageable pageable) {
@@ -94,14 +108,17 @@ public class UserService {
         }
     }
 
+    public SliceResponse<UserResponse> getAllUsersSlice(Pageable pageable, boolean estimateTotal) {
+        Slice<User> users = userRepository.findSliceBy(pageable);
+        Long estimatedTotal = estimateTotal ? rowEstimateRepository.estimateTableRows("users") : null;
+        return SliceResponse.of(users.map(userMapper::toUserResponse), estimatedTotal);
+    }
+
     public UserScrollResponse getUsersScroll(String cursor, int limit) {
-        long offset = cursor.isEmpty() ? 0 : Long.parseLong(cursor);
-        int page = (int) (offset / limit);  // Approximate page for offset
-        Pageable pageable = PageRequest.of(page, limit, Sort.by("id"));  // Ensures ORDER BY id
-        Slice<User> users = userRepository.findAll(pageable);  // Uses standard paginated query
+        Pageable pageable = PageRequest.of(0, limit);  // Keyset: offset всегда 0, позиция — в курсоре
+        Slice<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.afterId(cursor), pageable);
         List<UserResponse> userResponseList = userMapper.toUserResponseList(users.getContent());
-        String nextCursor = String.valueOf(offset + users.getNumberOfElements());
-        boolean hasMore = users.hasNext();  // Equivalent to !isLast(), works with Pageable
-        return new UserScrollResponse(userResponseList, nextCursor, hasMore);
+        String nextCursor = KeysetCursor.next(users, user -> KeysetCursor.encode(user.getId()));
+        return new UserScrollResponse(userResponseList, nextCursor, users.hasNext());
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.example.colaba.specification;
+
+import com.example.colaba.dto.task.TaskFilter;
+import com.example.colaba.entity.task.Task;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Specification'ы для фильтра задач ({@link TaskFilter}).
+ * Условия по FK сравнивают колонку (project.id, assignee.id) без JOIN к родительским таблицам.
+ * Фильтр по тегам — подзапрос к task_tags по индексу (tag_id, task_id), без JOIN в основном запросе:
+ * страница не дублирует задачи и не требует DISTINCT.
+ * Индексы под частые сочетания — changeset 011-task-filter-indexes.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        List<Specification<Task>> specs = new ArrayList<>();
+        if (filter.projectId() != null) {
+            specs.add(equal("project", filter.projectId()));
+        }
+        if (filter.status() != null && !filter.status().isEmpty()) {
+            specs.add((root, query, cb) -> root.get("status").in(filter.status()));
+        }
+        if (filter.priority() != null && !filter.priority().isEmpty()) {
+            specs.add((root, query, cb) -> root.get("priority").in(filter.priority()));
+        }
+        if (filter.assigneeId() != null) {
+            specs.add(equal("assignee", filter.assigneeId()));
+        }
+        if (filter.reporterId() != null) {
+            specs.add(equal("reporter", filter.reporterId()));
+        }
+        if (filter.dueFrom() != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), filter.dueFrom()));
+        }
+        if (filter.dueTo() != null) {
+            specs.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), filter.dueTo()));
+        }
+        if (filter.createdFrom() != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            specs.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdAt"), filter.createdTo()));
+        }
+        if (filter.updatedFrom() != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("updatedAt"), filter.updatedFrom()));
+        }
+        if (filter.updatedTo() != null) {
+            specs.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("updatedAt"), filter.updatedTo()));
+        }
+        if (filter.tagsAny() != null && !filter.tagsAny().isEmpty()) {
+            specs.add(taggedWith(filter.tagsAny(), false));
+        }
+        if (filter.tagsAll() != null && !filter.tagsAll().isEmpty()) {
+            specs.add(taggedWith(filter.tagsAll(), true));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Task> inProject(Long projectId) {
+        return equal("project", projectId);
+    }
+
+    public static Specification<Task> assignedTo(Long userId) {
+        return equal("assignee", userId);
+    }
+
+    private static Specification<Task> equal(String association, Long id) {
+        return (root, query, cb) -> cb.equal(root.get(association).get("id"), id);
+    }
+
+    // id IN (SELECT task_id FROM task_tags WHERE tag_id IN (...) [GROUP BY task_id HAVING count = n])
+    private static Specification<Task> taggedWith(Collection<Long> tagIds, boolean all) {
+        return (root, query, cb) -> {
+            Subquery<Long> tagged = query.subquery(Long.class);
+            Root<Task> task = tagged.from(Task.class);
+            Join<Task, ?> tag = task.join("tags");
+            tagged.select(task.get("id")).where(tag.get("id").in(tagIds));
+            if (all) {
+                tagged.groupBy(task.get("id"))
+                        .having(cb.equal(cb.countDistinct(tag.get("id")), (long) tagIds.size()));
+            }
+            return root.get("id").in(tagged);
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.colaba.integration;
+
+import com.example.colaba.entity.Comment;
+import com.example.colaba.entity.Project;
+import com.example.colaba.entity.User;
+import com.example.colaba.entity.task.Task;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.repository.CommentRepository;
+import com.example.colaba.repository.ProjectRepository;
+import com.example.colaba.repository.TaskRepository;
+import com.example.colaba.repository.UserRepository;
+import com.example.colaba.service.CommentService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка и замер JDBC batching после перехода на SEQUENCE id (pooled, allocationSize = 50).
+ * С IDENTITY каждая вставка — отдельный statement; с batch_size = 50 — один на пачку
+ * плюс один nextval на 50 id.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+class BatchInsertIntegrationTest {
+
+    private static final int ROWS = 1_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(User.builder().username("batcher").email("batcher@example.com").build());
+        Project project = projectRepository.save(Project.builder().name("Batch Project").owner(user).build());
+        task = taskRepository.save(Task.builder()
+                .title("Batch Task")
+                .status(TaskStatus.TODO)
+                .project(project)
+                .reporter(user)
+                .build());
+    }
+
+    @Test
+    void reWriteBatchedInserts_ShouldBeEnabledOnPool() {
+        assertThat(((HikariDataSource) dataSource).getDataSourceProperties())
+                .containsEntry("reWriteBatchedInserts", "true");
+    }
+
+    @Test
+    void saveAll_ShouldBatchInserts() {
+        Statistics statistics = statistics();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            comments.add(Comment.builder().task(task).user(user).content("Comment " + i).build());
+        }
+
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> commentRepository.saveAll(comments));
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Batched insert of {} comments: {} ms, {} statements",
+                ROWS, elapsedMs, statistics.getPrepareStatementCount());
+
+        assertThat(commentRepository.countByTaskId(task.getId())).isEqualTo(ROWS);
+        // INSERT-пачки + nextval на каждые 50 id; без batching было бы >= ROWS
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * ROWS / BATCH_SIZE + 2);
+    }
+
+    @Test
+    void bulkUpdateContentForTask_ShouldUseSingleStatement() {
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            comments.add(Comment.builder().task(task).user(user).content("Comment " + i).build());
+        }
+        commentRepository.saveAll(comments);
+        Statistics statistics = statistics();
+
+        long started = System.nanoTime();
+        int updated = commentService.bulkUpdateContentForTask(task.getId(), "[x] ");
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Set-based update of {} comments: {} ms, {} statements",
+                ROWS, elapsedMs, statistics.getPrepareStatementCount());
+
+        assertThat(updated).isEqualTo(ROWS);
+        // existsById + один UPDATE
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void bulkUpdateContentForTaskChunked_ShouldPrefixEveryRowOnce() {
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            comments.add(Comment.builder().task(task).user(user).content("Comment " + i).build());
+        }
+        commentRepository.saveAll(comments);
+
+        long updated = commentService.bulkUpdateContentForTaskChunked(task.getId(), "[y] ", 300);
+
+        assertThat(updated).isEqualTo(ROWS);
+        assertThat(commentRepository.findAllByTaskId(task.getId()))
+                .allSatisfy(c -> assertThat(c.getContent()).startsWith("[y] Comment"));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
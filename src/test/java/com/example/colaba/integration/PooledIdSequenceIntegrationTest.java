@@ -0,0 +1,82 @@
+package com.example.colaba.integration;
+
+import com.example.colaba.entity.User;
+import com.example.colaba.repository.UserRepository;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Схема из Liquibase (ddl-auto=validate), а не из Hibernate: последовательности id настраивает
+ * changeset pooled-id-sequences. Он повторно применяется к уже заполненной таблице, как на
+ * существующей базе, после чего вставки через Hibernate (pooled, allocationSize = 50) не должны
+ * задевать существующие id.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+class PooledIdSequenceIntegrationTest {
+
+    private static final long EXISTING_MAX_ID = 200;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SpringLiquibase liquibase;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void hibernateInserts_ShouldNotCollideWithExistingIds_AfterPooledSequenceMigration() throws Exception {
+        // Given: строки, вставленные до перехода на pooled-последовательности
+        jdbcTemplate.update("""
+                INSERT INTO users (id, username, email)
+                SELECT g, 'legacy' || g, 'legacy' || g || '@colaba.com'
+                FROM generate_series(2, ?) AS g
+                """, EXISTING_MAX_ID);
+        jdbcTemplate.update("DELETE FROM databasechangelog WHERE id = 'pooled-id-sequences'");
+        liquibase.afterPropertiesSet();
+
+        // When: больше одного блока id
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            users.add(User.builder().username("new" + i).email("new" + i + "@colaba.com").build());
+        }
+        userRepository.saveAll(users);
+
+        // Then
+        List<Long> ids = users.stream().map(User::getId).toList();
+        assertThat(ids).allSatisfy(id -> assertThat(id).isGreaterThan(EXISTING_MAX_ID));
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(userRepository.count()).isEqualTo(EXISTING_MAX_ID + users.size());
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.colaba.integration;
+
+import com.example.colaba.dto.common.ScrollResponse;
+import com.example.colaba.dto.search.SearchHitResponse;
+import com.example.colaba.dto.search.SearchHitType;
+import com.example.colaba.entity.Comment;
+import com.example.colaba.entity.Project;
+import com.example.colaba.entity.User;
+import com.example.colaba.entity.task.Task;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.repository.CommentRepository;
+import com.example.colaba.repository.ProjectRepository;
+import com.example.colaba.repository.TaskRepository;
+import com.example.colaba.repository.UserRepository;
+import com.example.colaba.service.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Поиск по схеме из Liquibase (generated search_vector, GIN-индексы), а не из create-drop:
+ * Hibernate об этих колонках не знает.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+class SearchIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(User.builder().username("searcher").email("searcher@example.com").build());
+        project = projectRepository.save(Project.builder().name("Search Project").owner(user).build());
+    }
+
+    @Test
+    void search_ShouldRankTitleAboveDescription_AndHighlightStems() {
+        Task inDescription = task(project, "Release notes", "Describe the deployment steps");
+        Task inTitle = task(project, "Deploying to production", null);
+        task(project, "Unrelated", "Nothing here");
+
+        ScrollResponse<SearchHitResponse> result = searchService.search(project.getId(), "deploy", null, null, 20);
+
+        assertThat(result.items()).extracting(SearchHitResponse::id)
+                .containsExactly(inTitle.getId(), inDescription.getId());
+        assertThat(result.items().getFirst().title()).isEqualTo("<mark>Deploying</mark> to production");
+        assertThat(result.items().get(1).snippet()).contains("<mark>deployment</mark>");
+        assertThat(result.hasMore()).isFalse();
+    }
+
+    @Test
+    void search_ShouldFindRussianWordForms_InComments() {
+        Task task = task(project, "Квартал", null);
+        Comment comment = commentRepository.save(
+                Comment.builder().task(task).user(user).content("Проверили отчеты за квартал").build());
+
+        ScrollResponse<SearchHitResponse> result = searchService.search(
+                project.getId(), "отчет", Set.of(SearchHitType.COMMENT), null, 20);
+
+        assertThat(result.items()).singleElement().satisfies(hit -> {
+            assertThat(hit.type()).isEqualTo(SearchHitType.COMMENT);
+            assertThat(hit.id()).isEqualTo(comment.getId());
+            assertThat(hit.taskId()).isEqualTo(task.getId());
+        });
+    }
+
+    @Test
+    void search_ShouldStayInProject_AndEscapeHtml() {
+        Project other = projectRepository.save(Project.builder().name("Other").owner(user).build());
+        task(other, "Invoice export", null);
+        Task own = task(project, "Invoice 5 > 3 & tax", null);
+
+        ScrollResponse<SearchHitResponse> result = searchService.search(project.getId(), "invoice", null, null, 20);
+
+        assertThat(result.items()).extracting(SearchHitResponse::id).containsExactly(own.getId());
+        assertThat(result.items().getFirst().title()).isEqualTo("<mark>Invoice</mark> 5 &gt; 3 &amp; tax");
+    }
+
+    @Test
+    void search_ShouldWalkAllHitsWithCursor_WithoutDuplicates() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Task task = task(project, "Migration " + i, i % 2 == 0 ? "migration checklist" : null);
+            expected.add(task.getId());
+            if (i % 5 == 0) {
+                expected.add(commentRepository.save(
+                        Comment.builder().task(task).user(user).content("Migration done").build()).getId());
+            }
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            ScrollResponse<SearchHitResponse> page = searchService.search(project.getId(), "migration", null, cursor, 7);
+            page.items().forEach(hit -> seen.add(hit.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private Task task(Project project, String title, String description) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .description(description)
+                .status(TaskStatus.TODO)
+                .project(project)
+                .reporter(user)
+                .build());
+    }
+}
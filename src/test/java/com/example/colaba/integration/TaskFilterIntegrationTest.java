@@ -0,0 +1,178 @@
+package com.example.colaba.integration;
+
+import com.example.colaba.entity.Project;
+import com.example.colaba.entity.Tag;
+import com.example.colaba.entity.User;
+import com.example.colaba.entity.task.Task;
+import com.example.colaba.entity.task.TaskPriority;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.repository.ProjectRepository;
+import com.example.colaba.repository.TagRepository;
+import com.example.colaba.repository.TaskRepository;
+import com.example.colaba.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc
+class TaskFilterIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Project project;
+    private User alice;
+    private Tag backend;
+    private Tag urgent;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        tagRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        alice = userRepository.save(User.builder().username("alice").email("alice@example.com").build());
+        User bob = userRepository.save(User.builder().username("bob").email("bob@example.com").build());
+        project = projectRepository.save(Project.builder().name("Filtered").owner(alice).build());
+        Project other = projectRepository.save(Project.builder().name("Other").owner(bob).build());
+        backend = tagRepository.save(Tag.builder().name("backend").project(project).build());
+        urgent = tagRepository.save(Tag.builder().name("urgent").project(project).build());
+
+        Task api = save("API", TaskStatus.TODO, TaskPriority.HIGH, project, alice, bob, LocalDate.of(2026, 3, 1));
+        Task db = save("DB", TaskStatus.IN_PROGRESS, TaskPriority.LOW, project, alice, alice, LocalDate.of(2026, 3, 15));
+        save("Docs", TaskStatus.DONE, TaskPriority.LOW, project, bob, alice, null);
+        save("Elsewhere", TaskStatus.TODO, TaskPriority.HIGH, other, alice, bob, LocalDate.of(2026, 3, 1));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            tagRepository.linkTasks(List.of(api.getId(), db.getId()), List.of(backend.getId()));
+            tagRepository.linkTasks(List.of(api.getId()), List.of(urgent.getId()));
+        });
+    }
+
+    @Test
+    void filter_ByProjectAndStatusSet() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("projectId", project.getId().toString())
+                        .param("status", "TODO,IN_PROGRESS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[*].title", containsInAnyOrder("API", "DB")));
+    }
+
+    @Test
+    void filter_ByAssigneeAndDueRange_WithoutCount() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("assigneeId", alice.getId().toString())
+                        .param("dueFrom", "2026-03-01")
+                        .param("dueTo", "2026-03-10")
+                        .param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", containsInAnyOrder("API", "Elsewhere")))
+                .andExpect(jsonPath("$.estimatedTotal").doesNotExist());
+    }
+
+    @Test
+    void filter_ByTags_AnyOfAndAllOf() throws Exception {
+        String both = backend.getId() + "," + urgent.getId();
+        mockMvc.perform(get("/api/tasks").param("tagsAny", both))
+                .andExpect(jsonPath("$.totalElements").value(2));
+        mockMvc.perform(get("/api/tasks").param("tagsAll", both))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("API"));
+    }
+
+    @Test
+    void filter_ByPriorityAndReporter() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("priority", "LOW")
+                        .param("reporterId", alice.getId().toString()))
+                .andExpect(jsonPath("$.content[*].title", containsInAnyOrder("DB", "Docs")));
+    }
+
+    @Test
+    void filter_InvalidStatus_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("status", "SOMEDAY"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void projectStats_ShouldAggregateInOneQuery() throws Exception {
+        // Сроки в прошлом: API и DB просрочены, Docs закрыта
+        mockMvc.perform(get("/api/projects/{id}/stats", project.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.overdue").value(2))
+                .andExpect(jsonPath("$.byStatus.TODO").value(1))
+                .andExpect(jsonPath("$.byStatus.DONE").value(1))
+                .andExpect(jsonPath("$.byStatus.BLOCKED").value(0))
+                .andExpect(jsonPath("$.byPriority.LOW").value(2))
+                .andExpect(jsonPath("$.withoutPriority").value(0))
+                .andExpect(jsonPath("$.byAssignee[0].assigneeId").value(alice.getId()))
+                .andExpect(jsonPath("$.byAssignee[0].total").value(2))
+                .andExpect(jsonPath("$.byAssignee[0].overdue").value(2));
+    }
+
+    private Task save(String title, TaskStatus status, TaskPriority priority, Project project,
+                      User assignee, User reporter, LocalDate dueDate) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .status(status)
+                .priority(priority)
+                .project(project)
+                .assignee(assignee)
+                .reporter(reporter)
+                .dueDate(dueDate)
+                .build());
+    }
+}
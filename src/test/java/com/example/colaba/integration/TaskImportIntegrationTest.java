@@ -0,0 +1,117 @@
+package com.example.colaba.integration;
+
+import com.example.colaba.entity.Project;
+import com.example.colaba.entity.User;
+import com.example.colaba.repository.ProjectRepository;
+import com.example.colaba.repository.TaskRepository;
+import com.example.colaba.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Импорт через POST /api/tasks/bulk на настоящем PostgreSQL. Цель — не меньше 50k строк/с на локальной машине;
+ * пропускная способность пишется в лог и не проверяется: время в CI зависит от раннера.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc
+class TaskImportIntegrationTest {
+
+    private static final int ROWS = 100_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Project project;
+    private User reporter;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+        reporter = userRepository.save(User.builder().username("importer").email("importer@example.com").build());
+        project = projectRepository.save(Project.builder().name("Imported").owner(reporter).build());
+    }
+
+    @Test
+    void importTasks_ShouldLoadNdjsonStream_AndReportThroughput() throws Exception {
+        StringBuilder body = new StringBuilder(ROWS * 80);
+        for (int i = 0; i < ROWS; i++) {
+            body.append("{\"title\":\"Imported \\\"task\\\", #").append(i)
+                    .append("\",\"priority\":\"MEDIUM\",\"projectId\":").append(project.getId())
+                    .append(",\"reporterId\":").append(reporter.getId()).append("}\n");
+        }
+
+        long started = System.nanoTime();
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(ROWS))
+                .andExpect(jsonPath("$.failed").value(0));
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Imported {} tasks in {} s ({} rows/s)", ROWS, String.format("%.2f", seconds), Math.round(ROWS / seconds));
+
+        assertThat(taskRepository.count()).isEqualTo(ROWS);
+    }
+
+    @Test
+    void importTasks_ShouldSkipRowsWithMissingReferences_FromJsonArray() throws Exception {
+        String body = """
+                [
+                  {"title": "Valid", "projectId": %d, "reporterId": %d},
+                  {"title": "Unknown project", "projectId": 999999, "reporterId": %d}
+                ]""".formatted(project.getId(), reporter.getId(), reporter.getId());
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("Project not found: ID 999999"));
+    }
+}
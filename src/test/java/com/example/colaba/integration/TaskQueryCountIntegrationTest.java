@@ -0,0 +1,304 @@
+package com.example.colaba.integration;
+
+import com.example.colaba.entity.Comment;
+import com.example.colaba.entity.Project;
+import com.example.colaba.entity.Tag;
+import com.example.colaba.entity.User;
+import com.example.colaba.entity.task.Task;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.repository.CommentRepository;
+import com.example.colaba.repository.ProjectRepository;
+import com.example.colaba.repository.TagRepository;
+import com.example.colaba.repository.TaskRepository;
+import com.example.colaba.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc
+class TaskQueryCountIntegrationTest {
+
+    // Данные + COUNT для полной страницы; lazy-загрузок быть не должно
+    private static final long STATEMENTS_PER_PAGE = 2;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        // L2 кэш убрал бы lookup проекта/пользователя со второго запроса — считаем без него
+        registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> "false");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Project project;
+    private User assignee;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        taskRepository.deleteAll();
+        tagRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        // Разные пользователи, чтобы N+1 не маскировался кэшем persistence context
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            users.add(userRepository.save(User.builder()
+                    .username("user" + i)
+                    .email("user" + i + "@example.com")
+                    .build()));
+        }
+        assignee = users.getFirst();
+        project = projectRepository.save(Project.builder()
+                .name("Counted Project")
+                .owner(assignee)
+                .build());
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .status(TaskStatus.TODO)
+                    .project(project)
+                    .assignee(i % 2 == 0 ? assignee : users.get(i % users.size()))
+                    .reporter(users.get((i + 3) % users.size()))
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @Test
+    void getAllTasks_ShouldUseConstantStatementCount_RegardlessOfPageSize() throws Exception {
+        long small = countStatements("/api/tasks", 5);
+        long large = countStatements("/api/tasks", 30);
+
+        assertThat(small).isEqualTo(STATEMENTS_PER_PAGE);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void getTasksByProject_ShouldUseConstantStatementCount_RegardlessOfPageSize() throws Exception {
+        String url = "/api/tasks/project/" + project.getId();
+        long small = countStatements(url, 5);
+        long large = countStatements(url, 30);
+
+        // + lookup проекта в сервисе
+        assertThat(small).isEqualTo(STATEMENTS_PER_PAGE + 1);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void getTasksByAssignee_ShouldUseConstantStatementCount_RegardlessOfPageSize() throws Exception {
+        String url = "/api/tasks/assignee/" + assignee.getId();
+        long small = countStatements(url, 5);
+        long large = countStatements(url, 15);
+
+        // + lookup пользователя в сервисе
+        assertThat(small).isEqualTo(STATEMENTS_PER_PAGE + 1);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void getAllTasks_WithTags_ShouldAddSingleStatement_RegardlessOfPageSize() throws Exception {
+        Tag backend = tagRepository.save(Tag.builder().name("backend").project(project).build());
+        Tag urgent = tagRepository.save(Tag.builder().name("urgent").project(project).build());
+        List<Long> taskIds = taskRepository.findAll().stream().map(Task::getId).toList();
+        transactionTemplate.executeWithoutResult(status ->
+                tagRepository.linkTasks(taskIds, List.of(backend.getId(), urgent.getId())));
+
+        long small = countStatements("/api/tasks?include=tags", 5);
+        long large = countStatements("/api/tasks?include=tags", 30);
+
+        // + один task_id IN (...) по task_tags на всю страницу
+        assertThat(small).isEqualTo(STATEMENTS_PER_PAGE + 1);
+        assertThat(large).isEqualTo(small);
+        mockMvc.perform(get("/api/tasks").param("include", "tags"))
+                .andExpect(jsonPath("$.content[0].tags.length()").value(2))
+                .andExpect(jsonPath("$.content[0].tags[0].name").value("backend"));
+    }
+
+    @Test
+    void getAllTasks_WithCommentCount_ShouldAddSingleStatement_RegardlessOfPageSize() throws Exception {
+        List<Task> tasks = taskRepository.findAll();
+        List<Comment> comments = new ArrayList<>();
+        for (Task task : tasks) {
+            for (int i = 0; i < 3; i++) {
+                comments.add(Comment.builder().task(task).user(assignee).content("Comment " + i).build());
+            }
+        }
+        commentRepository.saveAll(comments);
+
+        long small = countStatements("/api/tasks?include=commentCount", 5);
+        long large = countStatements("/api/tasks?include=commentCount", 30);
+
+        // + один GROUP BY task_id по comments на всю страницу
+        assertThat(small).isEqualTo(STATEMENTS_PER_PAGE + 1);
+        assertThat(large).isEqualTo(small);
+        mockMvc.perform(get("/api/tasks").param("include", "commentCount,tags"))
+                .andExpect(jsonPath("$.content[0].commentCount").value(3))
+                .andExpect(jsonPath("$.content[0].tags.length()").value(0));
+    }
+
+    @Test
+    void getAllTasks_WithoutInclude_ShouldOmitTags() throws Exception {
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].tags").doesNotExist())
+                .andExpect(jsonPath("$.content[0].commentCount").doesNotExist());
+    }
+
+    @Test
+    void getTaskById_WithMatchingETag_ShouldReturn304_WithSingleVersionStatement() throws Exception {
+        Task task = taskRepository.findAll().getFirst();
+        String url = "/api/tasks/" + task.getId();
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        // Только запрос версии, задача не загружается
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Task managed = taskRepository.findById(task.getId()).orElseThrow();
+            managed.setTitle("Renamed");
+        });
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Renamed"));
+    }
+
+    @Test
+    void getTasksByProject_WithMatchingETag_ShouldReturn304_UntilAssigneeRenamed() throws Exception {
+        String url = "/api/tasks/project/" + project.getId();
+        String etag = mockMvc.perform(get(url).param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url).param("size", "10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(url).param("size", "20").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        // Имя исполнителя есть в ответе, но updatedAt задач не меняет
+        transactionTemplate.executeWithoutResult(status -> {
+            User managed = userRepository.findById(assignee.getId()).orElseThrow();
+            managed.setUsername("renamed");
+        });
+        mockMvc.perform(get(url).param("size", "10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getTasksByProject_WithFields_ShouldReturnOnlySelectedProperties() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/tasks/project/" + project.getId())
+                        .param("fields", "title,status,assigneeUsername")
+                        .param("size", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(30))
+                .andExpect(jsonPath("$.totalElements").value(40))
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.content[0].status").value("TODO"))
+                .andExpect(jsonPath("$.content[0].assigneeUsername").exists())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].projectName").doesNotExist());
+
+        // lookup проекта + tuple-запрос + COUNT, сущности не гидрируются
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_PAGE + 1);
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void getAllTasks_WithUnknownFieldOrInclude_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("fields", "title,secret"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("fields", "title").param("include", "tags"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("fields", "title").param("count", "none"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long countStatements(String url, int size) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(url)
+                        .param("page", "0")
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(size))
+                .andExpect(jsonPath("$.content[0].projectName").value("Counted Project"))
+                .andExpect(jsonPath("$.content[0].reporterUsername").exists());
+
+        return statistics.getPrepareStatementCount();
+    }
+}
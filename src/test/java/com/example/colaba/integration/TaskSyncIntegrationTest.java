@@ -0,0 +1,110 @@
+package com.example.colaba.integration;
+
+import com.example.colaba.entity.Project;
+import com.example.colaba.entity.User;
+import com.example.colaba.entity.task.Task;
+import com.example.colaba.entity.task.TaskPriority;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.repository.ProjectRepository;
+import com.example.colaba.repository.TaskRepository;
+import com.example.colaba.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc
+class TaskSyncIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        // Водяной знак без отставания: иначе задача вернулась бы повторно и без исправления
+        registry.add("colaba.sync.settle-delay", () -> "0s");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Project project;
+    private User bob;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User alice = userRepository.save(User.builder().username("alice").email("alice@example.com").build());
+        bob = userRepository.save(User.builder().username("bob").email("bob@example.com").build());
+        project = projectRepository.save(Project.builder().name("Synced").owner(alice).build());
+        task = taskRepository.save(Task.builder()
+                .title("Assigned to bob")
+                .status(TaskStatus.TODO)
+                .priority(TaskPriority.MEDIUM)
+                .project(project)
+                .assignee(bob)
+                .reporter(bob)
+                .build());
+    }
+
+    @Test
+    void getTaskChanges_ShouldReturnTask_WhenAssigneeAndReporterDeleted() throws Exception {
+        // Given: клиент синхронизирован
+        String body = mockMvc.perform(get("/api/projects/{id}/tasks/changes", project.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].assigneeId").value(bob.getId()))
+                .andReturn().getResponse().getContentAsString();
+        String watermark = JsonPath.read(body, "$.watermark");
+        Thread.sleep(5);
+
+        // When
+        mockMvc.perform(delete("/api/users/{id}", bob.getId()))
+                .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/api/projects/{id}/tasks/changes", project.getId()).param("since", watermark))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed.length()").value(1))
+                .andExpect(jsonPath("$.changed[0].id").value(task.getId()))
+                .andExpect(jsonPath("$.changed[0].assigneeId").value(nullValue()))
+                .andExpect(jsonPath("$.changed[0].reporterId").value(nullValue()));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.colaba.integration;
+
+import com.example.colaba.ColabaApplication;
+import com.example.colaba.db.ConnectionLimiter;
+import com.example.colaba.entity.Project;
+import com.example.colaba.entity.User;
+import com.example.colaba.entity.task.Task;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.repository.ProjectRepository;
+import com.example.colaba.repository.TaskRepository;
+import com.example.colaba.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнение пула платформенных потоков Tomcat с виртуальными потоками и ConnectionLimiter.
+ * Одно и то же приложение поднимается дважды на общей БД; CLIENTS клиентов параллельно читают
+ * страницу задач с include (несколько запросов к БД на HTTP-запрос). Печатает throughput и p99.
+ * Долгий, поэтому только по запросу: ./mvnw test -Dtest=ThreadingBenchmarkIntegrationTest -Dcolaba.benchmark=true
+ */
+@Slf4j
+@Testcontainers
+@EnabledIfSystemProperty(named = "colaba.benchmark", matches = "true")
+class ThreadingBenchmarkIntegrationTest {
+
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 25;
+    private static final int WARMUP_REQUESTS = 500;
+    // Пул Tomcat меньше числа клиентов: в платформенном режиме запросы ждут поток, в виртуальном — разрешение к БД
+    private static final int TOMCAT_THREADS = 50;
+    private static final int POOL_SIZE = 10;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    private Long projectId;
+
+    @Test
+    void compareThreadingModels() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.info(String.format("%-9s %10s %10s %10s %8s", "threads", "req/s", "p50 ms", "p99 ms", "errors"));
+        for (Result result : List.of(platform, virtual)) {
+            log.info(String.format("%-9s %10.0f %10.1f %10.1f %8d", result.mode(), result.throughput(),
+                    result.p50Ms(), result.p99Ms(), result.errors()));
+        }
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ColabaApplication.class)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run()) {
+            if (projectId == null) {
+                projectId = seed(context);
+            }
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + "/api/tasks/project/" + projectId
+                    + "?size=20&include=tags,commentCount");
+
+            try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+                 ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                    send(client, uri);
+                }
+
+                AtomicInteger errors = new AtomicInteger();
+                long started = System.nanoTime();
+                List<Future<long[]>> futures = new ArrayList<>();
+                for (int c = 0; c < CLIENTS; c++) {
+                    futures.add(clients.submit(() -> {
+                        long[] latencies = new long[REQUESTS_PER_CLIENT];
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            long sent = System.nanoTime();
+                            if (send(client, uri) != 200) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[r] = System.nanoTime() - sent;
+                        }
+                        return latencies;
+                    }));
+                }
+                long[] all = new long[CLIENTS * REQUESTS_PER_CLIENT];
+                int offset = 0;
+                for (Future<long[]> future : futures) {
+                    long[] latencies = future.get();
+                    System.arraycopy(latencies, 0, all, offset, latencies.length);
+                    offset += latencies.length;
+                }
+                double seconds = (System.nanoTime() - started) / 1e9;
+
+                if (virtualThreads) {
+                    log.info("Connection limiter: {}", context.getBean(ConnectionLimiter.class).getStats());
+                }
+                Arrays.sort(all);
+                return new Result(virtualThreads ? "virtual" : "platform", all.length / seconds,
+                        percentile(all, 0.50), percentile(all, 0.99), errors.get());
+            }
+        }
+    }
+
+    private static int send(HttpClient client, URI uri) {
+        try {
+            return client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Long seed(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ProjectRepository projectRepository = context.getBean(ProjectRepository.class);
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+
+        User owner = userRepository.save(User.builder().username("bench").email("bench@example.com").build());
+        Project project = projectRepository.save(Project.builder().name("Benchmark").owner(owner).build());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .status(TaskStatus.TODO)
+                    .project(project)
+                    .reporter(owner)
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+        return project.getId();
+    }
+
+    private record Result(String mode, double throughput, double p50Ms, double p99Ms, int errors) {
+    }
+}
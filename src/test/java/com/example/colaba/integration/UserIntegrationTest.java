@@ -4,6 +4,7 @@ import com.example.colaba.dto.user.CreateUserRequest;
 import com.example.colaba.dto.user.UpdateUserRequest;
 import com.example.colaba.entity.User;
 import com.example.colaba.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -253,18 +254,33 @@ class UserIntegrationTest {
                     .build());
         }
 
-        // When/Then: Initial scroll (cursor=0, limit=20)
-        mockMvc.perform(get("/api/users/scroll")
-                        .param("cursor", "0")
+        // When/Then: Initial scroll (no cursor, limit=20)
+        String body = mockMvc.perform(get("/api/users/scroll")
                         .param("limit", "20"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.users").exists())
                 .andExpect(jsonPath("$.users.length()").value(20))
-                .andExpect(jsonPath("$.nextCursor").value("20"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
                 .andExpect(jsonPath("$.hasMore").value(true))
                 .andExpect(jsonPath("$.users[0].username").value("scrolluser1"))
-                .andExpect(jsonPath("$.users[19].username").value("scrolluser20"));
-        ;
+                .andExpect(jsonPath("$.users[19].username").value("scrolluser20"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Next page continues right after the last returned id
+        String nextCursor = JsonPath.read(body, "$.nextCursor");
+        mockMvc.perform(get("/api/users/scroll")
+                        .param("cursor", nextCursor)
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].username").value("scrolluser21"))
+                .andExpect(jsonPath("$.users[19].username").value("scrolluser40"));
+    }
+
+    @Test
+    void getUsersScroll_ShouldReturnBadRequest_WhenCursorIsInvalid() throws Exception {
+        mockMvc.perform(get("/api/users/scroll")
+                        .param("cursor", "!!!"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -274,7 +290,6 @@ class UserIntegrationTest {
 
         // When/Then
         mockMvc.perform(get("/api/users/scroll")
-                        .param("cursor", "0")
                         .param("limit", "100")) // >50
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.users.length()").value(1)); // Assuming only 1 user, but limit capped internally
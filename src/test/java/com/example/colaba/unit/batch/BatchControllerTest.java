@@ -0,0 +1,184 @@
+package com.example.colaba.unit.batch;
+
+import com.example.colaba.batch.BatchDispatcher;
+import com.example.colaba.controller.BatchController;
+import com.example.colaba.controller.ProjectController;
+import com.example.colaba.controller.TaskController;
+import com.example.colaba.dto.common.ResourceVersion;
+import com.example.colaba.dto.task.TaskResponse;
+import com.example.colaba.dto.task.TaskVersionRow;
+import com.example.colaba.exception.task.TaskNotFoundException;
+import com.example.colaba.service.BatchService;
+import com.example.colaba.service.CommentService;
+import com.example.colaba.service.ProjectEventService;
+import com.example.colaba.service.ProjectService;
+import com.example.colaba.service.ProjectStatsService;
+import com.example.colaba.service.ProjectTaskCounterService;
+import com.example.colaba.service.TagService;
+import com.example.colaba.service.TaskImportService;
+import com.example.colaba.service.TaskService;
+import com.example.colaba.service.TaskSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Под-запросы проходят через настоящий Spring MVC: маппинг, конвертеры, GlobalExceptionHandler
+@WebMvcTest(controllers = {BatchController.class, TaskController.class, ProjectController.class})
+@Import({BatchService.class, BatchDispatcher.class})
+class BatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private TaskService taskService;
+
+    @MockitoBean
+    private TagService tagService;
+
+    @MockitoBean
+    private TaskImportService taskImportService;
+
+    @MockitoBean
+    private CommentService commentService;
+
+    @MockitoBean
+    private ProjectService projectService;
+
+    @MockitoBean
+    private ProjectStatsService projectStatsService;
+
+    @MockitoBean
+    private ProjectTaskCounterService projectTaskCounterService;
+
+    @MockitoBean
+    private ProjectEventService projectEventService;
+
+    @MockitoBean
+    private TaskSyncService taskSyncService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    void execute_ShouldRouteSubRequests_AndReturnTheirStatusesHeadersAndBodies() throws Exception {
+        // Given
+        TaskResponse task = new TaskResponse(42L, "Write docs", null, "TODO", "LOW", 1L, "Colaba", null, null,
+                2L, "reporter", LocalDate.of(2026, 1, 1), LocalDateTime.of(2026, 1, 1, 10, 0),
+                LocalDateTime.of(2026, 1, 2, 10, 0));
+        when(taskService.getTaskById(42L)).thenReturn(task);
+        when(taskService.getTaskById(99L)).thenThrow(new TaskNotFoundException(99L));
+
+        // When & Then
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"requests": [
+                                  {"id": "task", "path": "/api/tasks/42"},
+                                  {"id": "missing", "path": "/api/tasks/99"},
+                                  {"id": "badInclude", "path": "/api/tasks/42?include=unknown"},
+                                  {"id": "noRoute", "path": "/api/nothing"}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responses.length()").value(4))
+                .andExpect(jsonPath("$.responses[0].id").value("task"))
+                .andExpect(jsonPath("$.responses[0].status").value(200))
+                .andExpect(jsonPath("$.responses[0].headers.ETag").exists())
+                .andExpect(jsonPath("$.responses[0].body.title").value("Write docs"))
+                .andExpect(jsonPath("$.responses[1].status").value(404))
+                .andExpect(jsonPath("$.responses[1].body.error").value("NotFound"))
+                .andExpect(jsonPath("$.responses[2].status").value(400))
+                .andExpect(jsonPath("$.responses[3].status").value(404));
+
+        // Все под-запросы — в одной read-only транзакции
+        verify(transactionManager, times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void execute_ShouldReturn304_WhenSubRequestETagMatches() throws Exception {
+        // Given
+        TaskResponse task = new TaskResponse(42L, "Write docs", null, "TODO", "LOW", 1L, "Colaba", null, null,
+                2L, "reporter", null, LocalDateTime.of(2026, 1, 1, 10, 0), LocalDateTime.of(2026, 1, 2, 10, 0));
+        when(taskService.getTaskById(42L)).thenReturn(task);
+        ResourceVersion version = TaskVersionRow.from(task).version();
+        when(taskService.getTaskVersion(42L)).thenReturn(version);
+        String etag = version.etag().replace("\"", "\\\"");
+
+        // When & Then
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"parallel": true, "requests": [
+                                  {"path": "/api/tasks/42", "headers": {"If-None-Match": "%s"}},
+                                  {"path": "/api/tasks/42"}
+                                ]}
+                                """.formatted(etag)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responses[0].status").value(304))
+                .andExpect(jsonPath("$.responses[0].body").doesNotExist())
+                .andExpect(jsonPath("$.responses[1].status").value(200))
+                .andExpect(jsonPath("$.responses[1].body.id").value(42));
+        verify(taskService, times(1)).getTaskById(42L);
+        // parallel=true — своя транзакция у каждого под-запроса
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    void execute_ShouldReject_NonGetOrRecursiveSubRequests() throws Exception {
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requests\": [{\"method\": \"DELETE\", \"path\": \"/api/tasks/42\"}]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requests\": [{\"path\": \"/api/batch\"}]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requests\": []}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void execute_ShouldRejectStreamingSubRequests_WithoutInvokingThem() throws Exception {
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"requests": [
+                                  {"id": "events", "path": "/api/projects/1/events", "headers": {"Accept": "text/event-stream"}},
+                                  {"id": "export", "path": "/api/projects/export", "headers": {"Accept": "application/x-ndjson"}}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responses[0].status").value(400))
+                .andExpect(jsonPath("$.responses[0].body.error").value("InvalidRequest"))
+                .andExpect(jsonPath("$.responses[1].status").value(400));
+        // SSE-подписка не создана: в брокере не осталось бы подписчика без async-колбэков
+        verifyNoInteractions(projectEventService, projectService);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.colaba.unit.db;
+
+import com.example.colaba.db.ConnectionLimiter;
+import com.example.colaba.db.LimitedDataSource;
+import com.example.colaba.dto.db.ConnectionLimiterStatsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LimitedDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection pooled;
+
+    private ConnectionLimiter limiter;
+    private LimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new ConnectionLimiter(1, Duration.ofMillis(50));
+        dataSource = new LimitedDataSource(pool, limiter);
+    }
+
+    @Test
+    void getConnection_ShouldTimeOut_WhenAllPermitsInUse() throws Exception {
+        // Given
+        when(pool.getConnection()).thenReturn(pooled);
+        Connection first = dataSource.getConnection();
+
+        // When & Then
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(pool, times(1)).getConnection();
+        ConnectionLimiterStatsResponse stats = limiter.getStats();
+        assertEquals(1, stats.inUse());
+        assertEquals(1, stats.acquiredCount());
+        assertEquals(1, stats.timeoutCount());
+
+        first.close();
+        assertEquals(0, limiter.getStats().inUse());
+    }
+
+    @Test
+    void close_ShouldReleasePermitOnce() throws Exception {
+        // Given
+        when(pool.getConnection()).thenReturn(pooled);
+        Connection connection = dataSource.getConnection();
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then
+        verify(pooled, times(2)).close();
+        assertEquals(0, limiter.getStats().inUse());
+        dataSource.getConnection();
+        assertEquals(1, limiter.getStats().inUse());
+    }
+
+    @Test
+    void getConnection_ShouldReleasePermit_WhenPoolFails() throws Exception {
+        // Given
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // When & Then
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(0, limiter.getStats().inUse());
+    }
+
+    @Test
+    void unwrap_ShouldReachPooledConnection() throws Exception {
+        // Given
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        when(pooled.unwrap(PGConnection.class)).thenReturn(pgConnection);
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertSame(pgConnection, connection.unwrap(PGConnection.class));
+        assertEquals(connection, connection);
+        assertNotEquals(pooled, connection);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.colaba.unit.event;
+
+import com.example.colaba.dto.event.ProjectEvent;
+import com.example.colaba.dto.event.ProjectEventType;
+import com.example.colaba.event.ProjectEventBroker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ProjectEventBrokerTest {
+
+    private static final Pattern DROPPED_COUNT = Pattern.compile("\"droppedCount\":(\\d+)");
+
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private volatile boolean blockWrites;
+    private ProjectEventBroker broker;
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        if (broker != null) {
+            broker.shutdown();
+        }
+    }
+
+    @Test
+    void publish_ShouldDeliverEventsOnlyToSubscribersOfTheProject() throws Exception {
+        // Given
+        broker = new ProjectEventBroker(new ObjectMapper().findAndRegisterModules(), 16, Duration.ofMinutes(1));
+        MockMvc mockMvc = mockMvc();
+        MvcResult first = subscribe(mockMvc, 1L);
+        MvcResult second = subscribe(mockMvc, 1L);
+        MvcResult other = subscribe(mockMvc, 2L);
+
+        // When
+        broker.publish(ProjectEvent.task(ProjectEventType.TASK_UPDATED, 1L, 42L));
+        broker.publish(ProjectEvent.comment(ProjectEventType.COMMENT_CREATED, 1L, 42L, 7L));
+
+        // Then
+        for (MvcResult result : List.of(first, second)) {
+            String body = awaitBody(result.getResponse(), "comment.created");
+            assertTrue(body.indexOf("event:task.updated") < body.indexOf("event:comment.created"));
+            assertTrue(body.contains("\"type\":\"task.updated\""));
+            assertTrue(body.contains("\"taskId\":42"));
+            assertTrue(body.contains("\"commentId\":7"));
+            assertFalse(body.contains("links"));
+        }
+        assertEquals("", other.getResponse().getContentAsString());
+        assertTrue(broker.hasSubscribers(1L));
+        assertFalse(broker.hasSubscribers(3L));
+    }
+
+    @Test
+    void publish_ShouldDropEventsBeyondBuffer_AndReportThem_WhenClientIsSlow() throws Exception {
+        // Given: клиент не читает, запись в его сокет стоит
+        int bufferSize = 2;
+        int published = 10;
+        broker = new ProjectEventBroker(new ObjectMapper().findAndRegisterModules(), bufferSize, Duration.ofMinutes(1));
+        MockMvc mockMvc = mockMvc();
+        MvcResult slow = subscribe(mockMvc, 1L);
+        blockWrites = true;
+
+        // When: публикация не ждёт клиента
+        for (long taskId = 1; taskId <= published; taskId++) {
+            broker.publish(ProjectEvent.task(ProjectEventType.TASK_UPDATED, 1L, taskId));
+        }
+        blockWrites = false;
+        gate.countDown();
+
+        // Then: в очереди было не больше bufferSize событий, об остальных — одно событие dropped
+        MockHttpServletResponse response = slow.getResponse();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (accounted(response.getContentAsString()) < published && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        String body = response.getContentAsString();
+        assertEquals(published, accounted(body), body);
+        assertEquals(1, count(body, "event:dropped"), body);
+        assertTrue(count(body, "event:task.updated") <= bufferSize + 1, body);
+    }
+
+    @Test
+    void shutdown_ShouldCloseAndForgetAllSubscriptions() throws Exception {
+        // Given
+        broker = new ProjectEventBroker(new ObjectMapper().findAndRegisterModules(), 16, Duration.ofMinutes(1));
+        MockMvc mockMvc = mockMvc();
+        subscribe(mockMvc, 1L);
+        assertTrue(broker.hasSubscribers());
+
+        // When
+        broker.shutdown();
+
+        // Then
+        assertFalse(broker.hasSubscribers());
+        assertFalse(broker.hasSubscribers(1L));
+    }
+
+    private MockMvc mockMvc() {
+        return MockMvcBuilders.standaloneSetup(new EventsController(broker))
+                .addFilters(slowClientFilter())
+                .build();
+    }
+
+    private static MvcResult subscribe(MockMvc mockMvc, Long projectId) throws Exception {
+        return mockMvc.perform(get("/events/{id}", projectId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static String awaitBody(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String body = response.getContentAsString();
+        while (!body.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            body = response.getContentAsString();
+        }
+        assertTrue(body.contains(expected), body);
+        return body;
+    }
+
+    // Доставленные события плюс отброшенные по событию dropped
+    private static int accounted(String body) {
+        Matcher dropped = DROPPED_COUNT.matcher(body);
+        int lost = dropped.find() ? Integer.parseInt(dropped.group(1)) : 0;
+        return count(body, "event:task.updated") + lost;
+    }
+
+    private static int count(String body, String token) {
+        int count = 0;
+        for (int i = body.indexOf(token); i >= 0; i = body.indexOf(token, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    // Пока blockWrites, запись в ответ ждёт gate — как send() в сокет клиента, который не читает
+    private Filter slowClientFilter() {
+        return (request, response, chain) -> chain.doFilter(request,
+                new HttpServletResponseWrapper((HttpServletResponse) response) {
+                    @Override
+                    public ServletOutputStream getOutputStream() throws IOException {
+                        ServletOutputStream target = super.getOutputStream();
+                        return new ServletOutputStream() {
+                            @Override
+                            public boolean isReady() {
+                                return true;
+                            }
+
+                            @Override
+                            public void setWriteListener(WriteListener writeListener) {
+                                target.setWriteListener(writeListener);
+                            }
+
+                            @Override
+                            public void write(int b) throws IOException {
+                                awaitGate();
+                                target.write(b);
+                            }
+
+                            @Override
+                            public void write(byte[] bytes, int offset, int length) throws IOException {
+                                awaitGate();
+                                target.write(bytes, offset, length);
+                            }
+                        };
+                    }
+                });
+    }
+
+    private void awaitGate() throws IOException {
+        if (!blockWrites) {
+            return;
+        }
+        try {
+            gate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    @RestController
+    static class EventsController {
+        private final ProjectEventBroker broker;
+
+        EventsController(ProjectEventBroker broker) {
+            this.broker = broker;
+        }
+
+        @GetMapping("/events/{id}")
+        SseEmitter events(@PathVariable Long id) {
+            return broker.subscribe(id);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.colaba.unit.event;
+
+import com.example.colaba.dto.comment.CommentContentRow;
+import com.example.colaba.dto.event.ProjectEvent;
+import com.example.colaba.dto.event.ProjectEventType;
+import com.example.colaba.dto.tag.TaskTagLink;
+import com.example.colaba.event.ProjectEventBroker;
+import com.example.colaba.event.ProjectEventPublisher;
+import com.example.colaba.repository.CommentRepository;
+import com.example.colaba.repository.TagRepository;
+import com.example.colaba.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectEventPublisherTest {
+
+    @Mock
+    private ProjectEventBroker broker;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @InjectMocks
+    private ProjectEventPublisher publisher;
+
+    @Test
+    void tagsUpdated_ShouldPublishOnlyChangedLinksOfEachProject() {
+        // Given: изменённые пары из двух проектов, у проекта 3 нет подписчиков
+        when(broker.hasSubscribers()).thenReturn(true);
+        when(broker.hasSubscribers(1L)).thenReturn(true);
+        when(broker.hasSubscribers(2L)).thenReturn(true);
+        when(broker.hasSubscribers(3L)).thenReturn(false);
+
+        // When
+        publisher.tagsUpdated(List.of(
+                new TaskTagLink(10L, 100L, 1L),
+                new TaskTagLink(20L, 200L, 2L),
+                new TaskTagLink(11L, 100L, 1L),
+                new TaskTagLink(30L, 300L, 3L)));
+
+        // Then
+        ArgumentCaptor<ProjectEvent> captor = ArgumentCaptor.forClass(ProjectEvent.class);
+        verify(broker, times(2)).publish(captor.capture());
+        List<ProjectEvent> events = captor.getAllValues();
+        assertEquals(ProjectEventType.TAGS_UPDATED, events.get(0).type());
+        assertEquals(1L, events.get(0).projectId());
+        assertEquals(List.of(new ProjectEvent.Link(10L, 100L), new ProjectEvent.Link(11L, 100L)),
+                events.get(0).links());
+        assertEquals(2L, events.get(1).projectId());
+        assertEquals(List.of(new ProjectEvent.Link(20L, 200L)), events.get(1).links());
+        verifyNoInteractions(tagRepository);
+    }
+
+    @Test
+    void tagsUpdated_ShouldDoNothing_WhenNoSubscribers() {
+        // Given
+        when(broker.hasSubscribers()).thenReturn(false);
+
+        // When
+        publisher.tagsUpdated(List.of(new TaskTagLink(10L, 100L, 1L)));
+
+        // Then
+        verify(broker, never()).publish(any());
+    }
+
+    @Test
+    void commentsUpdated_ShouldPublishCommentUpdatedForEachComment() {
+        // Given
+        when(broker.hasSubscribers(1L)).thenReturn(true);
+
+        // When
+        publisher.commentsUpdated(List.of(
+                new CommentContentRow(5L, 10L, 1L, "P: a"),
+                new CommentContentRow(7L, 10L, 1L, "P: b")));
+
+        // Then
+        ArgumentCaptor<ProjectEvent> captor = ArgumentCaptor.forClass(ProjectEvent.class);
+        verify(broker, times(2)).publish(captor.capture());
+        assertEquals(List.of(5L, 7L), captor.getAllValues().stream().map(ProjectEvent::commentId).toList());
+        captor.getAllValues().forEach(event -> {
+            assertEquals(ProjectEventType.COMMENT_UPDATED, event.type());
+            assertEquals(1L, event.projectId());
+            assertEquals(10L, event.taskId());
+        });
+        verifyNoInteractions(taskRepository);
+    }
+}
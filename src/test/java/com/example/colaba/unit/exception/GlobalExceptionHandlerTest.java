@@ -0,0 +1,92 @@
+package com.example.colaba.unit.exception;
+
+import com.example.colaba.dto.common.ErrorResponseDto;
+import com.example.colaba.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void handleDataIntegrity_ShouldReturnProjectNotFound_WhenProjectForeignKeyViolated() {
+        // Given
+        DataIntegrityViolationException e = violation("23503", "tasks",
+                "Key (project_id)=(42) is not present in table \"projects\".");
+
+        // When
+        ResponseEntity<ErrorResponseDto> response = handler.handleDataIntegrity(e);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Project not found: ID 42", response.getBody().getMessage());
+    }
+
+    @Test
+    void handleDataIntegrity_ShouldReturnUserNotFound_WhenReporterForeignKeyViolated() {
+        // Given: detail локализован, но фрагмент (column)=(value) — нет
+        DataIntegrityViolationException e = violation("23503", "tasks",
+                "Ключ (reporter_id)=(7) отсутствует в таблице \"users\".");
+
+        // When
+        ResponseEntity<ErrorResponseDto> response = handler.handleDataIntegrity(e);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("User not found: ID 7", response.getBody().getMessage());
+    }
+
+    @Test
+    void handleDataIntegrity_ShouldReturnTaskNotFound_WhenCommentTaskForeignKeyViolated() {
+        // Given
+        DataIntegrityViolationException e = violation("23503", "comments",
+                "Key (task_id)=(999) is not present in table \"tasks\".");
+
+        // When
+        ResponseEntity<ErrorResponseDto> response = handler.handleDataIntegrity(e);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Task not found: ID 999", response.getBody().getMessage());
+    }
+
+    @Test
+    void handleDataIntegrity_ShouldReturnConflict_WhenMembershipAlreadyExists() {
+        // Given
+        DataIntegrityViolationException e = violation("23505", "project_members",
+                "Key (project_id, user_id)=(1, 2) already exists.");
+
+        // When
+        ResponseEntity<ErrorResponseDto> response = handler.handleDataIntegrity(e);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("User 2 is already a member of project 1", response.getBody().getMessage());
+    }
+
+    @Test
+    void handleDataIntegrity_ShouldReturnGenericConflict_WhenViolationUnknown() {
+        // Given
+        DataIntegrityViolationException e = new DataIntegrityViolationException("unknown");
+
+        // When
+        ResponseEntity<ErrorResponseDto> response = handler.handleDataIntegrity(e);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("DataIntegrityViolation", response.getBody().getError());
+    }
+
+    private DataIntegrityViolationException violation(String sqlState, String table, String detail) {
+        ServerErrorMessage message = new ServerErrorMessage(
+                "SERROR\0C" + sqlState + "\0Mconstraint violation\0D" + detail + "\0t" + table + "\0");
+        return new DataIntegrityViolationException("could not execute statement", new PSQLException(message));
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.colaba.unit.search;
+
+import com.example.colaba.dto.search.IndexSearchHitResponse;
+import com.example.colaba.dto.search.SearchHitType;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.search.CommentDocument;
+import com.example.colaba.search.LuceneTaskIndex;
+import com.example.colaba.search.TaskDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LuceneTaskIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private LuceneTaskIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (index.isRunning()) {
+            index.stop();
+        }
+    }
+
+    @Test
+    void search_ShouldMatchTitleWithTypos_AndRankExactTitleFirst() {
+        // Given
+        index.upsertTask(new TaskDocument(1L, 10L, TaskStatus.TODO, "Deploy billing service", null));
+        index.upsertTask(new TaskDocument(2L, 10L, TaskStatus.TODO, "Release notes", "Deploy after review"));
+        index.upsertTask(new TaskDocument(3L, 10L, TaskStatus.TODO, "Unrelated", null));
+        index.refresh();
+
+        // When
+        List<IndexSearchHitResponse> exact = index.search("deploy", null, null, null, 10);
+        List<IndexSearchHitResponse> typo = index.search("deplyo biling", null, null, null, 10);
+
+        // Then
+        assertEquals(List.of(1L, 2L), exact.stream().map(IndexSearchHitResponse::id).toList());
+        assertEquals(List.of(1L), typo.stream().map(IndexSearchHitResponse::id).toList());
+        assertEquals("Deploy billing service", typo.getFirst().title());
+        assertEquals(TaskStatus.TODO, typo.getFirst().status());
+    }
+
+    @Test
+    void search_ShouldFilterByProjectStatusAndType() {
+        // Given
+        index.upsertTask(new TaskDocument(1L, 10L, TaskStatus.TODO, "Invoice export", null));
+        index.upsertTask(new TaskDocument(2L, 10L, TaskStatus.DONE, "Invoice import", null));
+        index.upsertTask(new TaskDocument(3L, 20L, TaskStatus.TODO, "Invoice archive", null));
+        index.upsertComment(new CommentDocument(7L, 1L, 10L, "Invoice totals look wrong"));
+        index.refresh();
+
+        // When & Then
+        assertEquals(Set.of(1L, 2L, 7L), ids(index.search("invoice", 10L, null, null, 10)));
+        assertEquals(Set.of(1L), ids(index.search("invoice", 10L, Set.of(TaskStatus.TODO), null, 10)));
+        List<IndexSearchHitResponse> comments = index.search("invoice", 10L, null, Set.of(SearchHitType.COMMENT), 10);
+        assertEquals(1, comments.size());
+        assertEquals(1L, comments.getFirst().taskId());
+        assertEquals("Invoice totals look wrong", comments.getFirst().excerpt());
+    }
+
+    @Test
+    void upsertTask_ShouldReplaceDocument() {
+        // Given
+        index.upsertTask(new TaskDocument(1L, 10L, TaskStatus.TODO, "Old title", null));
+        index.upsertTask(new TaskDocument(1L, 10L, TaskStatus.IN_PROGRESS, "New title", null));
+        index.refresh();
+
+        // When
+        List<IndexSearchHitResponse> hits = index.search("title", null, null, null, 10);
+
+        // Then
+        assertEquals(1, hits.size());
+        assertEquals("New title", hits.getFirst().title());
+        assertEquals(TaskStatus.IN_PROGRESS, hits.getFirst().status());
+    }
+
+    @Test
+    void deleteTask_ShouldRemoveTaskAndItsComments() {
+        // Given
+        index.upsertTask(new TaskDocument(1L, 10L, TaskStatus.TODO, "Broken build", null));
+        index.upsertComment(new CommentDocument(7L, 1L, 10L, "Build fails on CI"));
+        index.upsertTask(new TaskDocument(2L, 10L, TaskStatus.TODO, "Build cache", null));
+
+        // When
+        index.deleteTask(1L);
+        index.refresh();
+
+        // Then
+        assertEquals(Set.of(2L), ids(index.search("build", null, null, null, 10)));
+    }
+
+    @Test
+    void finishRebuild_ShouldDropDocumentsNotRewritten() {
+        // Given
+        index.upsertTask(new TaskDocument(1L, 10L, TaskStatus.TODO, "Kept task", null));
+        index.upsertTask(new TaskDocument(2L, 10L, TaskStatus.TODO, "Deleted task", null));
+
+        // When
+        long generation = index.beginRebuild();
+        index.rebuildTasks(List.of(new TaskDocument(1L, 10L, TaskStatus.TODO, "Kept task", null)));
+        index.finishRebuild(generation);
+
+        // Then
+        assertEquals(Set.of(1L), ids(index.search("task", null, null, null, 10)));
+        assertEquals(1, index.documentCount());
+    }
+
+    @Test
+    void rebuild_ShouldNotResurrectDocumentsDeletedDuringRebuild() {
+        // Given: снимок rebuild прочитан до удаления задачи 1, комментария 8 и проекта 20
+        index.upsertTask(new TaskDocument(1L, 10L, TaskStatus.TODO, "Deleted task", null));
+        index.upsertComment(new CommentDocument(7L, 1L, 10L, "Deleted task comment"));
+        index.upsertComment(new CommentDocument(8L, 2L, 10L, "Deleted comment"));
+        index.upsertTask(new TaskDocument(3L, 20L, TaskStatus.TODO, "Deleted project task", null));
+        long generation = index.beginRebuild();
+
+        // When
+        index.deleteTask(1L);
+        index.deleteComment(8L);
+        index.deleteProject(20L);
+        index.rebuildTasks(List.of(
+                new TaskDocument(1L, 10L, TaskStatus.TODO, "Deleted task", null),
+                new TaskDocument(2L, 10L, TaskStatus.TODO, "Kept task", null),
+                new TaskDocument(3L, 20L, TaskStatus.TODO, "Deleted project task", null)));
+        index.rebuildComments(List.of(
+                new CommentDocument(7L, 1L, 10L, "Deleted task comment"),
+                new CommentDocument(8L, 2L, 10L, "Deleted comment")));
+        index.finishRebuild(generation);
+
+        // Then
+        assertEquals(Set.of(2L), ids(index.search("task", null, null, null, 10)));
+        assertEquals(Set.of(), ids(index.search("comment", null, null, null, 10)));
+        assertEquals(1, index.documentCount());
+    }
+
+    @Test
+    void rebuild_ShouldKeepNewerIncrementalUpdate() {
+        // Given
+        long generation = index.beginRebuild();
+        index.upsertTask(new TaskDocument(1L, 10L, TaskStatus.DONE, "New title", null));
+
+        // When: снимок rebuild старше инкрементального обновления
+        index.rebuildTasks(List.of(new TaskDocument(1L, 10L, TaskStatus.TODO, "Old title", null)));
+        index.finishRebuild(generation);
+
+        // Then
+        List<IndexSearchHitResponse> hits = index.search("title", null, null, null, 10);
+        assertEquals(1, hits.size());
+        assertEquals("New title", hits.getFirst().title());
+        assertEquals(TaskStatus.DONE, hits.getFirst().status());
+    }
+
+    @Test
+    void beginRebuild_ShouldForgetChangesOfAbortedRebuild() {
+        // Given: прерванный rebuild видел удаление задачи 1
+        index.beginRebuild();
+        index.deleteTask(1L);
+        index.abortRebuild();
+        index.upsertTask(new TaskDocument(1L, 10L, TaskStatus.TODO, "Recreated task", null));
+
+        // When
+        long generation = index.beginRebuild();
+        index.rebuildTasks(List.of(new TaskDocument(1L, 10L, TaskStatus.TODO, "Recreated task", null)));
+        index.finishRebuild(generation);
+
+        // Then
+        assertEquals(Set.of(1L), ids(index.search("task", null, null, null, 10)));
+    }
+
+    @Test
+    void stop_ShouldCommit_SoDocumentsSurviveRestart() {
+        // Given
+        long generation = index.beginRebuild();
+        index.upsertTask(new TaskDocument(1L, 10L, TaskStatus.TODO, "Persistent task", null));
+        index.finishRebuild(generation);
+        index.upsertTask(new TaskDocument(2L, 10L, TaskStatus.TODO, "Uncommitted task", null));
+
+        // When
+        index.stop();
+        index = open();
+        long next = index.beginRebuild();
+
+        // Then
+        assertEquals(Set.of(1L, 2L), ids(index.search("task", null, null, null, 10)));
+        assertEquals(generation + 1, next);
+    }
+
+    private LuceneTaskIndex open() {
+        LuceneTaskIndex opened = new LuceneTaskIndex();
+        ReflectionTestUtils.setField(opened, "path", directory.toString());
+        opened.start();
+        return opened;
+    }
+
+    private static Set<Long> ids(List<IndexSearchHitResponse> hits) {
+        return Set.copyOf(hits.stream().map(IndexSearchHitResponse::id).toList());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.colaba.unit.service;
+
+import com.example.colaba.dto.cache.CacheRegionStatsResponse;
+import com.example.colaba.service.CacheStatsService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheStatsServiceTest {
+
+    // SessionFactory сам является EntityManagerFactory — второй mock того же типа запутал бы @InjectMocks
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    @Mock
+    private CacheRegionStatistics regionStatistics;
+
+    @InjectMocks
+    private CacheStatsService cacheStatsService;
+
+    @Test
+    void getRegionStats_ShouldReportEveryRegionWithHitRatio() {
+        // Given
+        when(sessionFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"users", "projects", "tags"});
+        when(statistics.getDomainDataRegionStatistics(anyString())).thenReturn(regionStatistics);
+        when(regionStatistics.getHitCount()).thenReturn(3L);
+        when(regionStatistics.getMissCount()).thenReturn(1L);
+        when(regionStatistics.getPutCount()).thenReturn(1L);
+
+        // When
+        List<CacheRegionStatsResponse> result = cacheStatsService.getRegionStats();
+
+        // Then
+        assertEquals(List.of("users", "projects", "tags"), result.stream().map(CacheRegionStatsResponse::region).toList());
+        assertEquals(0.75, result.getFirst().hitRatio());
+        assertEquals(3L, result.getFirst().hitCount());
+    }
+
+    @Test
+    void getRegionStats_ShouldReportZeroRatio_WhenRegionUnused() {
+        // Given
+        when(sessionFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"users", "projects", "tags"});
+        when(statistics.getDomainDataRegionStatistics(anyString())).thenReturn(regionStatistics);
+
+        // When
+        List<CacheRegionStatsResponse> result = cacheStatsService.getRegionStats();
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(0.0, result.get(1).hitRatio());
+    }
+
+    @Test
+    void getRegionStats_ShouldReturnEmptyList_WhenSecondLevelCacheDisabled() {
+        // Given
+        when(sessionFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[0]);
+
+        // When
+        List<CacheRegionStatsResponse> result = cacheStatsService.getRegionStats();
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(statistics, never()).getDomainDataRegionStatistics(anyString());
+    }
+}
@@ -1,19 +1,28 @@
 package com.example.colaba.unit.service;
 
+import com.example.colaba.dto.comment.CommentContentRow;
 import com.example.colaba.dto.comment.CommentResponse;
 import com.example.colaba.dto.comment.CommentScrollResponse;
+import com.example.colaba.dto.comment.CommentVersionRow;
 import com.example.colaba.dto.comment.CreateCommentRequest;
+import com.example.colaba.dto.comment.TaskCommentCount;
 import com.example.colaba.dto.comment.UpdateCommentRequest;
+import com.example.colaba.dto.common.ResourceVersion;
+import com.example.colaba.dto.common.SliceResponse;
+import com.example.colaba.dto.task.TaskResponse;
 import com.example.colaba.entity.Comment;
 import com.example.colaba.entity.User;
 import com.example.colaba.entity.task.Task;
+import com.example.colaba.event.ProjectEventPublisher;
 import com.example.colaba.exception.comment.CommentNotFoundException;
 import com.example.colaba.exception.comment.TaskNotFoundException;
-import com.example.colaba.exception.comment.UserNotFoundException;
 import com.example.colaba.mapper.CommentMapper;
+import com.example.colaba.pagination.KeysetCursor;
 import com.example.colaba.repository.CommentRepository;
+import com.example.colaba.repository.RowEstimateRepository;
 import com.example.colaba.repository.TaskRepository;
 import com.example.colaba.repository.UserRepository;
+import com.example.colaba.search.SearchIndexUpdater;
 import com.example.colaba.service.CommentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,14 +30,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +61,16 @@ class CommentServiceTest {
     private TaskRepository taskRepository;
     @Mock
     private CommentMapper commentMapper;
+    @Mock
+    private RowEstimateRepository rowEstimateRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SearchIndexUpdater searchIndexUpdater;
+    @Mock
+    private ProjectEventPublisher projectEventPublisher;
 
     @InjectMocks
     private CommentService commentService;
@@ -89,36 +117,29 @@ class CommentServiceTest {
     @Test
     void createComment_ShouldReturnResponse_WhenValidRequest() {
         CreateCommentRequest request = new CreateCommentRequest(1L, 1L, "Test content");
-        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(mockTask));
-        when(commentRepository.save(any(Comment.class))).thenReturn(mockComment);
+        when(userRepository.getReferenceById(1L)).thenReturn(mockUser);
+        when(taskRepository.getReferenceById(1L)).thenReturn(mockTask);
+        when(commentRepository.saveAndFlush(any(Comment.class))).thenReturn(mockComment);
         when(commentMapper.toResponse(mockComment)).thenReturn(mockResponse);
 
         CommentResponse result = commentService.createComment(request);
 
         assertEquals(mockResponse, result);
-        verify(commentRepository).save(any(Comment.class));
-    }
-
-    @Test
-    void createComment_ShouldThrowUserNotFoundException_WhenUserNotExists() {
-        CreateCommentRequest request = new CreateCommentRequest(1L, 999L, "Test");
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
-
-        UserNotFoundException exception = assertThrows(UserNotFoundException.class,
-                () -> commentService.createComment(request));
-        assertEquals("User not found: 999", exception.getMessage());
+        verify(commentRepository).saveAndFlush(any(Comment.class));
+        verify(userRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).findById(anyLong());
     }
 
     @Test
-    void createComment_ShouldThrowTaskNotFoundException_WhenTaskNotExists() {
+    void createComment_ShouldPropagateForeignKeyViolation_WhenReferenceMissing() {
         CreateCommentRequest request = new CreateCommentRequest(999L, 1L, "Test");
-        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.getReferenceById(1L)).thenReturn(mockUser);
+        when(taskRepository.getReferenceById(999L)).thenReturn(mockTask);
+        when(commentRepository.saveAndFlush(any(Comment.class)))
+                .thenThrow(new DataIntegrityViolationException("fk_comment_task"));
 
-        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class,
-                () -> commentService.createComment(request));
-        assertEquals("Task not found: 999", exception.getMessage());
+        assertThrows(DataIntegrityViolationException.class, () -> commentService.createComment(request));
+        verify(commentMapper, never()).toResponse(any(Comment.class));
     }
 
     @Test
@@ -140,6 +161,40 @@ class CommentServiceTest {
         assertEquals("Comment not found: 999", exception.getMessage());
     }
 
+    @Test
+    void getCommentVersion_ShouldMatchVersionOfFullResponse_WithoutLoadingComment() {
+        when(commentRepository.findVersionById(1L))
+                .thenReturn(Optional.of(new CommentVersionRow(1L, mockResponse.updatedAt())));
+
+        ResourceVersion version = commentService.getCommentVersion(1L);
+
+        assertEquals(CommentVersionRow.from(mockResponse).version(), version);
+        verify(commentRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getCommentVersion_ShouldThrowNotFound_WhenCommentNotExists() {
+        when(commentRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(CommentNotFoundException.class, () -> commentService.getCommentVersion(999L));
+    }
+
+    @Test
+    void getCommentsByTaskVersion_ShouldChange_WhenTotalChanges() {
+        Pageable pageable = PageRequest.of(0, 1);
+        List<CommentVersionRow> rows = List.of(CommentVersionRow.from(mockResponse));
+        when(commentRepository.findVersionsByTaskId(1L, pageable))
+                .thenReturn(new PageImpl<>(rows, pageable, 1))
+                .thenReturn(new PageImpl<>(rows, pageable, 2));
+
+        ResourceVersion first = commentService.getCommentsByTaskVersion(1L, pageable);
+        ResourceVersion second = commentService.getCommentsByTaskVersion(1L, pageable);
+
+        assertNotEquals(first.etag(), second.etag());
+        // Страница проверяется только по ETag: максимальный updatedAt не видит удалений
+        assertEquals(ResourceVersion.NO_LAST_MODIFIED, second.lastModified());
+    }
+
     @Test
     void getCommentsByTask_ShouldReturnPage_WhenValidTaskId() {
         Pageable pageable = PageRequest.of(0, 10);
@@ -153,67 +208,92 @@ class CommentServiceTest {
         assertEquals(1, result.getTotalElements());
     }
 
+    @Test
+    void getCommentsByTaskSlice_ShouldUseExplainEstimate_WhenRequested() {
+        Pageable pageable = PageRequest.of(1, 10);
+        Slice<Comment> mockSlice = new SliceImpl<>(List.of(mockComment), pageable, false);
+        when(commentRepository.findByTaskIdOrderByCreatedAtDescIdDesc(1L, pageable)).thenReturn(mockSlice);
+        when(commentMapper.toResponse(mockComment)).thenReturn(mockResponse);
+        when(rowEstimateRepository.estimateQueryRows(anyString(), eq(1L))).thenReturn(11L);
+
+        SliceResponse<CommentResponse> result = commentService.getCommentsByTaskSlice(1L, pageable, true);
+
+        assertEquals(1, result.page());
+        assertFalse(result.hasNext());
+        assertEquals(11L, result.estimatedTotal());
+        verify(commentRepository, never()).findByTaskIdOrderByCreatedAtDesc(anyLong(), any());
+    }
+
     @Test
     void getCommentsByTaskScroll_ShouldReturnResponseWithHasMoreFalse_WhenLessThanLimit() {
         String cursor = null;
         int limit = 2;
-        Pageable pageable = PageRequest.of(0, limit, Sort.by("createdAt").descending());
+        Pageable pageable = PageRequest.of(0, limit);
         List<Comment> content = List.of(mockComment);
         Slice<Comment> mockSlice = new SliceImpl<>(content, pageable, false);
         List<CommentResponse> mockResponses = List.of(mockResponse);
-        when(commentRepository.findByTaskIdAndCreatedAtBeforeOrderByCreatedAtDesc(eq(1L), any(OffsetDateTime.class), eq(pageable)))
-                .thenReturn(mockSlice);
+        when(commentRepository.findByTaskIdOrderByCreatedAtDescIdDesc(1L, pageable)).thenReturn(mockSlice);
         when(commentMapper.toResponseList(content)).thenReturn(mockResponses);
 
         CommentScrollResponse result = commentService.getCommentsByTaskScroll(1L, cursor, limit);
 
         assertFalse(result.hasMore());
-        assertEquals(fixedCreatedAt.toString(), result.nextCursor());  // Match fixed
+        assertEquals(KeysetCursor.encode(fixedCreatedAt, 1L), result.nextCursor());  // (createdAt, id) последнего
         verify(commentMapper).toResponseList(content);
+        verify(commentRepository, never()).findTimelineBefore(anyLong(), any(), anyLong(), any());
     }
 
     @Test
     void getCommentsByTaskScroll_ShouldReturnHasMoreTrue_WhenBatchFull() {
         int limit = 2;
-        Pageable pageable = PageRequest.of(0, limit, Sort.by("createdAt").descending());
+        Pageable pageable = PageRequest.of(0, limit);
         List<Comment> fullContent = List.of(mockComment, mockComment2);
         Slice<Comment> mockSlice = new SliceImpl<>(fullContent, pageable, true);
-        when(commentRepository.findByTaskIdAndCreatedAtBeforeOrderByCreatedAtDesc(eq(1L), any(OffsetDateTime.class), eq(pageable)))
-                .thenReturn(mockSlice);
+        when(commentRepository.findByTaskIdOrderByCreatedAtDescIdDesc(1L, pageable)).thenReturn(mockSlice);
 
         CommentScrollResponse result = commentService.getCommentsByTaskScroll(1L, null, limit);
 
         assertTrue(result.hasMore());
-        assertEquals(mockComment2.getCreatedAt().toString(), result.nextCursor());  // Oldest
+        assertEquals(KeysetCursor.encode(mockComment2.getCreatedAt(), 2L), result.nextCursor());  // Oldest
     }
 
     @Test
-    void getCommentsByTaskScroll_ShouldParseCursor_WhenNonBlank() {
-        String cursor = "2025-11-12T10:00:00Z";  // Valid ISO
+    void getCommentsByTaskScroll_ShouldSeekByCreatedAtAndId_WhenCursorGiven() {
+        OffsetDateTime cursorTime = OffsetDateTime.parse("2025-11-12T10:00:00.123456Z");
+        String cursor = KeysetCursor.encode(cursorTime, 42L);
         int limit = 2;
-        Pageable pageable = PageRequest.of(0, limit, Sort.by("createdAt").descending());
+        Pageable pageable = PageRequest.of(0, limit);
         List<Comment> content = List.of(mockComment);
         Slice<Comment> mockSlice = new SliceImpl<>(content, pageable, false);
         List<CommentResponse> mockResponses = List.of(mockResponse);
-        when(commentRepository.findByTaskIdAndCreatedAtBeforeOrderByCreatedAtDesc(eq(1L), any(OffsetDateTime.class), eq(pageable)))
-                .thenReturn(mockSlice);
+        when(commentRepository.findTimelineBefore(1L, cursorTime, 42L, pageable)).thenReturn(mockSlice);
         when(commentMapper.toResponseList(content)).thenReturn(mockResponses);
 
         CommentScrollResponse result = commentService.getCommentsByTaskScroll(1L, cursor, limit);
 
         assertFalse(result.hasMore());
-        assertEquals(fixedCreatedAt.toString(), result.nextCursor());  // Non-empty
-        verify(commentMapper).toResponseList(content);
+        assertEquals(KeysetCursor.encode(fixedCreatedAt, 1L), result.nextCursor());
+        verify(commentRepository).findTimelineBefore(1L, cursorTime, 42L, pageable);
+    }
+
+    @Test
+    void getCommentsByTaskScroll_ShouldThrow_WhenCursorMalformed() {
+        String legacyCursor = "2025-11-12T10:00:00Z";  // Старый формат без id
+
+        assertThrows(IllegalArgumentException.class,
+                () -> commentService.getCommentsByTaskScroll(1L, legacyCursor, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> commentService.getCommentsByTaskScroll(1L, KeysetCursor.encode("yesterday", 1L), 2));
+        verifyNoInteractions(commentMapper);
     }
 
     @Test
     void getCommentsByTaskScroll_ShouldReturnNullCursor_WhenEmptySlice() {
         String cursor = null;
         int limit = 2;
-        Pageable pageable = PageRequest.of(0, limit, Sort.by("createdAt").descending());
+        Pageable pageable = PageRequest.of(0, limit);
         Slice<Comment> emptySlice = new SliceImpl<>(List.of(), pageable, false);  // Empty content
-        when(commentRepository.findByTaskIdAndCreatedAtBeforeOrderByCreatedAtDesc(eq(1L), any(OffsetDateTime.class), eq(pageable)))
-                .thenReturn(emptySlice);
+        when(commentRepository.findByTaskIdOrderByCreatedAtDescIdDesc(1L, pageable)).thenReturn(emptySlice);
         when(commentMapper.toResponseList(List.of())).thenReturn(List.of());
 
         CommentScrollResponse result = commentService.getCommentsByTaskScroll(1L, cursor, limit);
@@ -316,35 +396,129 @@ class CommentServiceTest {
     }
 
     @Test
-    void bulkUpdateContentForTask_ShouldUpdateAllInTransaction() {
-        List<Comment> comments = List.of(mockComment);
-        when(commentRepository.findAllByTaskId(1L)).thenReturn(comments);
-        when(commentRepository.saveAll(comments)).thenReturn(comments);
+    void bulkUpdateContentForTask_ShouldRunSingleUpdate() {
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        List<CommentContentRow> rows = List.of(row(5L, "Prefix: a"), row(7L, "Prefix: b"), row(9L, "Prefix: c"));
+        when(commentRepository.prefixContentByTaskId(1L, "Prefix: ")).thenReturn(rows);
+
+        int updated = commentService.bulkUpdateContentForTask(1L, "Prefix: ");
+
+        assertEquals(3, updated);
+        verify(commentRepository, never()).findAllByTaskId(anyLong());
+        verify(commentRepository, never()).saveAll(anyList());
+        verify(searchIndexUpdater).commentsUpdated(rows);
+        verify(projectEventPublisher).commentsUpdated(rows);
+    }
+
+    @Test
+    void bulkUpdateContentForTask_ShouldThrowTaskNotFound_WhenTaskNotExists() {
+        when(taskRepository.existsById(999L)).thenReturn(false);
 
-        commentService.bulkUpdateContentForTask(1L, "Prefix: ");
+        assertThrows(TaskNotFoundException.class, () -> commentService.bulkUpdateContentForTask(999L, "Prefix: "));
+        verify(commentRepository, never()).prefixContentByTaskId(anyLong(), anyString());
+    }
 
-        verify(commentRepository).saveAll(comments);
-        assertEquals("Prefix: Test content", mockComment.getContent());
+    @Test
+    void bulkUpdateContentForTaskChunked_ShouldAdvanceCursorUntilShortChunk() {
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        List<CommentContentRow> first = List.of(row(7L, "P: b"), row(5L, "P: a"));
+        List<CommentContentRow> second = List.of(row(9L, "P: c"));
+        when(commentRepository.prefixContentChunk(1L, "P: ", 0L, 2)).thenReturn(first);
+        when(commentRepository.prefixContentChunk(1L, "P: ", 7L, 2)).thenReturn(second);
+
+        long updated = commentService.bulkUpdateContentForTaskChunked(1L, "P: ", 2);
+
+        assertEquals(3, updated);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(searchIndexUpdater).commentsUpdated(first);
+        verify(searchIndexUpdater).commentsUpdated(second);
+        verify(projectEventPublisher).commentsUpdated(first);
+        verify(projectEventPublisher).commentsUpdated(second);
+    }
+
+    @Test
+    void bulkUpdateContentForTaskChunked_ShouldStopOnEmptyChunk() {
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(commentRepository.prefixContentChunk(1L, "P: ", 0L, 2)).thenReturn(List.of(row(5L, "P: a"), row(7L, "P: b")));
+        when(commentRepository.prefixContentChunk(1L, "P: ", 7L, 2)).thenReturn(List.of());
+
+        long updated = commentService.bulkUpdateContentForTaskChunked(1L, "P: ", 2);
+
+        assertEquals(2, updated);
     }
 
     @Test
     void countCommentsByTask_ShouldReturnCorrectCount() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(mockTask));
         when(commentRepository.countByTaskId(1L)).thenReturn(5L);
         long count = commentService.countCommentsByTask(1L);
 
         assertEquals(5L, count);
-        verify(commentRepository).countByTaskId(1L);  // Called after check
+        verify(taskRepository, never()).existsById(anyLong());  // Ненулевой счётчик уже доказывает, что задача есть
+    }
+
+    @Test
+    void countCommentsByTask_ShouldReturnZero_WhenTaskHasNoComments() {
+        when(commentRepository.countByTaskId(1L)).thenReturn(0L);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        assertEquals(0L, commentService.countCommentsByTask(1L));
     }
 
     @Test
     void countCommentsByTask_ShouldThrowTaskNotFound_WhenTaskNotExists() {
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(commentRepository.countByTaskId(999L)).thenReturn(0L);
+        when(taskRepository.existsById(999L)).thenReturn(false);
 
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class,
                 () -> commentService.countCommentsByTask(999L));
         assertEquals("Task not found: 999", exception.getMessage());
-        verify(commentRepository, never()).countByTaskId(anyLong());  // No count if throw early
     }
 
+    @Test
+    void getCommentCountsByTaskIds_ShouldReturnZeroForTasksWithoutComments() {
+        // Given
+        when(commentRepository.countByTaskIds(Set.of(1L, 2L, 3L)))
+                .thenReturn(List.of(new TaskCommentCount(1L, 4), new TaskCommentCount(3L, 1)));
+
+        // When
+        Map<Long, Long> counts = commentService.getCommentCountsByTaskIds(List.of(1L, 2L, 3L));
+
+        // Then
+        assertEquals(Map.of(1L, 4L, 2L, 0L, 3L, 1L), counts);
+        verify(commentRepository, times(1)).countByTaskIds(any());
+    }
+
+    @Test
+    void getCommentCountsByTaskIds_ShouldThrow_WhenTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, CommentService.MAX_TASK_IDS + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> commentService.getCommentCountsByTaskIds(ids));
+        verify(commentRepository, never()).countByTaskIds(any());
+    }
+
+    @Test
+    void withCommentCounts_ShouldEmbedCountIntoEachTask() {
+        // Given
+        TaskResponse discussed = new TaskResponse(1L, "Discussed", null, "TODO", null, 1L,
+                "Project", null, null, null, null, null, null, null);
+        TaskResponse quiet = new TaskResponse(2L, "Quiet", null, "TODO", null, 1L,
+                "Project", null, null, null, null, null, null, null);
+        when(commentRepository.countByTaskIds(Set.of(1L, 2L))).thenReturn(List.of(new TaskCommentCount(1L, 3)));
+
+        // When
+        List<TaskResponse> result = commentService.withCommentCounts(List.of(discussed, quiet));
+
+        // Then
+        assertEquals(3L, result.get(0).commentCount());
+        assertEquals(0L, result.get(1).commentCount());
+        assertNull(result.get(1).tags());
+    }
+
+    private static CommentContentRow row(Long id, String content) {
+        return new CommentContentRow(id, 1L, 10L, content);
+    }
 }
\ No newline at end of file
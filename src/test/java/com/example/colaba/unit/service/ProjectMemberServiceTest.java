@@ -1,5 +1,6 @@
 package com.example.colaba.unit.service;
 
+import com.example.colaba.dto.common.SliceResponse;
 import com.example.colaba.dto.projectmember.CreateProjectMemberRequest;
 import com.example.colaba.dto.projectmember.ProjectMemberResponse;
 import com.example.colaba.dto.projectmember.UpdateProjectMemberRequest;
@@ -9,11 +10,10 @@ import com.example.colaba.entity.projectmember.ProjectMember;
 import com.example.colaba.entity.projectmember.ProjectMemberId;
 import com.example.colaba.entity.projectmember.ProjectRole;
 import com.example.colaba.exception.project.ProjectNotFoundException;
-import com.example.colaba.exception.projectmember.DuplicateProjectMemberException;
 import com.example.colaba.exception.projectmember.ProjectMemberNotFoundException;
-import com.example.colaba.exception.user.UserNotFoundException;
 import com.example.colaba.mapper.ProjectMemberMapper;
 import com.example.colaba.repository.ProjectMemberRepository;
+import com.example.colaba.repository.RowEstimateRepository;
 import com.example.colaba.service.ProjectMemberService;
 import com.example.colaba.service.ProjectService;
 import com.example.colaba.service.UserService;
@@ -23,16 +23,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -53,6 +56,9 @@ class ProjectMemberServiceTest {
     @Mock
     private ProjectMemberMapper projectMemberMapper;
 
+    @Mock
+    private RowEstimateRepository rowEstimateRepository;
+
     @InjectMocks
     private ProjectMemberService projectMemberService;
 
@@ -109,6 +115,27 @@ class ProjectMemberServiceTest {
         verify(projectMemberMapper).toProjectMemberResponsePage(mockPage);
     }
 
+    @Test
+    void getMembersByProjectSlice_withEstimate_skipsCountQuery() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
+        when(projectMemberRepository.findSliceByProjectId(testProjectId, pageable))
+                .thenReturn(new SliceImpl<>(List.of(savedMember), pageable, true));
+        when(projectMemberMapper.toProjectMemberResponse(savedMember)).thenReturn(memberResponse);
+        when(rowEstimateRepository.estimateQueryRows(anyString(), eq(testProjectId))).thenReturn(120L);
+
+        // When
+        SliceResponse<ProjectMemberResponse> result =
+                projectMemberService.getMembersByProjectSlice(testProjectId, pageable, true);
+
+        // Then
+        assertEquals(1, result.content().size());
+        assertTrue(result.hasNext());
+        assertEquals(120L, result.estimatedTotal());
+        verify(projectMemberRepository, never()).findByProjectId(anyLong(), any(Pageable.class));
+    }
+
     @Test
     void getMembersByProject_projectNotFound_throwsException() {
         // Given
@@ -126,11 +153,9 @@ class ProjectMemberServiceTest {
     @Test
     void createMembership_success_withRole() {
         // Given
-        ProjectMemberId id = new ProjectMemberId(testProjectId, testUserId);
-        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
-        when(userService.getUserEntityById(testUserId)).thenReturn(testUser);
-        when(projectMemberRepository.existsById(id)).thenReturn(false);
-        when(projectMemberRepository.save(any(ProjectMember.class))).thenReturn(savedMember);
+        when(projectService.getProjectReference(testProjectId)).thenReturn(testProject);
+        when(userService.getUserReference(testUserId)).thenReturn(testUser);
+        when(projectMemberRepository.saveAndFlush(any(ProjectMember.class))).thenReturn(savedMember);
         when(projectMemberMapper.toProjectMemberResponse(savedMember)).thenReturn(memberResponse);
 
         // When
@@ -140,11 +165,14 @@ class ProjectMemberServiceTest {
         assertEquals(testProjectId, result.projectId());
         assertEquals(testUserId, result.userId());
         assertEquals(testRole.getValue(), result.role());
-        verify(projectService).getProjectEntityById(testProjectId);
-        verify(userService).getUserEntityById(testUserId);
-        verify(projectMemberRepository).existsById(id);
-        verify(projectMemberRepository).save(argThat(member ->
-                testProject.equals(member.getProject()) &&
+        verify(projectService, never()).getProjectEntityById(anyLong());
+        verify(userService, never()).getUserEntityById(anyLong());
+        verify(projectMemberRepository, never()).existsById(any(ProjectMemberId.class));
+        verify(projectMemberRepository).saveAndFlush(argThat(member ->
+                member.isNew() &&
+                        testProjectId.equals(member.getProjectId()) &&
+                        testUserId.equals(member.getUserId()) &&
+                        testProject.equals(member.getProject()) &&
                         testUser.equals(member.getUser()) &&
                         testRole.equals(member.getRole())));
         verify(projectMemberMapper).toProjectMemberResponse(savedMember);
@@ -154,74 +182,32 @@ class ProjectMemberServiceTest {
     void createMembership_success_withDefaultRole() {
         // Given: Null role in request
         CreateProjectMemberRequest defaultRequest = new CreateProjectMemberRequest(testUserId, null);
-        ProjectMemberId id = new ProjectMemberId(testProjectId, testUserId);
         ProjectRole defaultRole = ProjectRole.getDefault();
-        ProjectMember defaultMember = ProjectMember.builder()
-                .project(testProject)
-                .user(testUser)
-                .role(defaultRole)
-                .build();
 
-        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
-        when(userService.getUserEntityById(testUserId)).thenReturn(testUser);
-        when(projectMemberRepository.existsById(id)).thenReturn(false);
-        when(projectMemberRepository.save(any(ProjectMember.class))).thenReturn(savedMember);
+        when(projectService.getProjectReference(testProjectId)).thenReturn(testProject);
+        when(userService.getUserReference(testUserId)).thenReturn(testUser);
+        when(projectMemberRepository.saveAndFlush(any(ProjectMember.class))).thenReturn(savedMember);
         when(projectMemberMapper.toProjectMemberResponse(savedMember)).thenReturn(memberResponse);
 
         // When
-        ProjectMemberResponse result = projectMemberService.createMembership(testProjectId, defaultRequest);
+        projectMemberService.createMembership(testProjectId, defaultRequest);
 
         // Then
-        assertEquals(defaultRole.getValue(), result.role());  // Default applied
-        verify(projectMemberRepository).save(argThat(member -> defaultRole.equals(member.getRole())));
+        verify(projectMemberRepository).saveAndFlush(argThat(member -> defaultRole.equals(member.getRole())));
     }
 
     @Test
-    void createMembership_duplicate_throwsException() {
-        // Given
-        ProjectMemberId id = new ProjectMemberId(testProjectId, testUserId);
-        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
-        when(userService.getUserEntityById(testUserId)).thenReturn(testUser);
-        when(projectMemberRepository.existsById(id)).thenReturn(true);
-
-        // When & Then
-        DuplicateProjectMemberException exception = assertThrows(DuplicateProjectMemberException.class,
-                () -> projectMemberService.createMembership(testProjectId, createRequest));
-        assertEquals("User 'testuser' is already a member of project 1", exception.getMessage());
-        verify(projectService).getProjectEntityById(testProjectId);
-        verify(userService).getUserEntityById(testUserId);
-        verify(projectMemberRepository).existsById(id);
-        verify(projectMemberRepository, never()).save(any(ProjectMember.class));
-    }
-
-    @Test
-    void createMembership_projectNotFound_throwsException() {
-        // Given
-        when(projectService.getProjectEntityById(testProjectId))
-                .thenThrow(new ProjectNotFoundException(testProjectId));
+    void createMembership_constraintViolation_propagatesBeforeMapping() {
+        // Given: дубликат (PK) или отсутствующий project/user (FK) — ошибка INSERT при flush
+        when(projectService.getProjectReference(testProjectId)).thenReturn(testProject);
+        when(userService.getUserReference(testUserId)).thenReturn(testUser);
+        when(projectMemberRepository.saveAndFlush(any(ProjectMember.class)))
+                .thenThrow(new DataIntegrityViolationException("pk_project_members"));
 
         // When & Then
-        ProjectNotFoundException exception = assertThrows(ProjectNotFoundException.class,
-                () -> projectMemberService.createMembership(testProjectId, createRequest));
-        assertEquals("Project not found: ID " + testProjectId, exception.getMessage());
-        verify(userService, never()).getUserEntityById(anyLong());
-        verify(projectMemberRepository, never()).existsById(any(ProjectMemberId.class));
-    }
-
-    @Test
-    void createMembership_userNotFound_throwsException() {
-        // Given
-        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
-        when(userService.getUserEntityById(testUserId))
-                .thenThrow(new UserNotFoundException(testUserId));
-
-        // When & Then
-        UserNotFoundException exception = assertThrows(UserNotFoundException.class,
+        assertThrows(DataIntegrityViolationException.class,
                 () -> projectMemberService.createMembership(testProjectId, createRequest));
-        assertEquals("User not found: ID " + testUserId, exception.getMessage());
-        verify(projectService).getProjectEntityById(testProjectId);
-        verify(userService).getUserEntityById(testUserId);
-        verify(projectMemberRepository, never()).existsById(any(ProjectMemberId.class));
+        verify(projectMemberMapper, never()).toProjectMemberResponse(any(ProjectMember.class));
     }
 
     @Test
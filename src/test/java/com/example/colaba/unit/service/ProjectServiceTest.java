@@ -0,0 +1,125 @@
+package com.example.colaba.unit.service;
+
+import com.example.colaba.dto.project.ProjectResponse;
+import com.example.colaba.entity.Project;
+import com.example.colaba.entity.User;
+import com.example.colaba.mapper.ProjectMapper;
+import com.example.colaba.repository.ProjectRepository;
+import com.example.colaba.repository.UserRepository;
+import com.example.colaba.search.SearchIndexUpdater;
+import com.example.colaba.service.ProjectService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProjectMapper projectMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SearchIndexUpdater searchIndexUpdater;
+
+    @InjectMocks
+    private ProjectService projectService;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = User.builder().id(1L).username("owner").email("owner@example.com").build();
+    }
+
+    @Test
+    void streamAll_ShouldPassEveryProjectToConsumerInOrder() {
+        // Given
+        Project first = project(1L);
+        Project second = project(2L);
+        when(projectRepository.streamAll()).thenReturn(Stream.of(first, second));
+        when(projectMapper.toProjectResponse(any(Project.class)))
+                .thenAnswer(inv -> response(inv.getArgument(0)));
+        List<ProjectResponse> received = new ArrayList<>();
+
+        // When
+        projectService.streamAll(received::add);
+
+        // Then
+        assertEquals(List.of(1L, 2L), received.stream().map(ProjectResponse::id).toList());
+        verify(projectRepository, never()).findAll();
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void streamAll_ShouldClearPersistenceContextEveryFetchBatch() {
+        // Given
+        int total = ProjectRepository.STREAM_FETCH_SIZE * 2 + 1;
+        when(projectRepository.streamAll())
+                .thenReturn(IntStream.rangeClosed(1, total).mapToObj(i -> project((long) i)));
+        when(projectMapper.toProjectResponse(any(Project.class)))
+                .thenAnswer(inv -> response(inv.getArgument(0)));
+        int[] count = {0};
+
+        // When
+        projectService.streamAll(p -> count[0]++);
+
+        // Then
+        assertEquals(total, count[0]);
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void streamAll_ShouldCloseStream_WhenConsumerFails() {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(projectRepository.streamAll())
+                .thenReturn(Stream.of(project(1L)).onClose(() -> closed.set(true)));
+        when(projectMapper.toProjectResponse(any(Project.class)))
+                .thenAnswer(inv -> response(inv.getArgument(0)));
+
+        // When
+        try {
+            projectService.streamAll(p -> {
+                throw new IllegalStateException("client disconnected");
+            });
+        } catch (IllegalStateException ignored) {
+        }
+
+        // Then
+        assertTrue(closed.get());
+    }
+
+    private Project project(Long id) {
+        return Project.builder().id(id).name("Project " + id).owner(owner).build();
+    }
+
+    private ProjectResponse response(Project project) {
+        return new ProjectResponse(project.getId(), project.getName(), null,
+                owner.getId(), owner.getUsername(), LocalDateTime.now(), null);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.colaba.unit.service;
+
+import com.example.colaba.dto.project.AssigneeStatsResponse;
+import com.example.colaba.dto.project.ProjectStatsResponse;
+import com.example.colaba.dto.project.ProjectStatsRow;
+import com.example.colaba.entity.task.TaskPriority;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.exception.project.ProjectNotFoundException;
+import com.example.colaba.repository.ProjectStatsRepository;
+import com.example.colaba.service.ProjectService;
+import com.example.colaba.service.ProjectStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectStatsServiceTest {
+
+    @Mock
+    private ProjectStatsRepository projectStatsRepository;
+
+    @Mock
+    private ProjectService projectService;
+
+    private ProjectStatsService projectStatsService;
+
+    @BeforeEach
+    void setUp() {
+        projectStatsService = new ProjectStatsService(projectStatsRepository, projectService, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void getProjectStats_ShouldSplitGroupingSets() {
+        // Given
+        when(projectStatsRepository.aggregateByProject(1L)).thenReturn(List.of(
+                new ProjectStatsRow(ProjectStatsRepository.BY_STATUS, TaskStatus.TODO, null, null, 3, 1),
+                new ProjectStatsRow(ProjectStatsRepository.BY_STATUS, TaskStatus.DONE, null, null, 2, 0),
+                new ProjectStatsRow(ProjectStatsRepository.BY_PRIORITY, null, TaskPriority.HIGH, null, 4, 1),
+                new ProjectStatsRow(ProjectStatsRepository.BY_PRIORITY, null, null, null, 1, 0),
+                new ProjectStatsRow(ProjectStatsRepository.BY_ASSIGNEE, null, null, null, 1, 0),
+                new ProjectStatsRow(ProjectStatsRepository.BY_ASSIGNEE, null, null, 7L, 4, 1),
+                new ProjectStatsRow(ProjectStatsRepository.TOTAL, null, null, null, 5, 1)));
+
+        // When
+        ProjectStatsResponse stats = projectStatsService.getProjectStats(1L);
+
+        // Then
+        assertEquals(5, stats.total());
+        assertEquals(1, stats.overdue());
+        assertEquals(3L, stats.byStatus().get(TaskStatus.TODO));
+        assertEquals(0L, stats.byStatus().get(TaskStatus.IN_PROGRESS));
+        assertEquals(4L, stats.byPriority().get(TaskPriority.HIGH));
+        assertEquals(1, stats.withoutPriority());
+        assertEquals(List.of(new AssigneeStatsResponse(7L, 4, 1), new AssigneeStatsResponse(null, 1, 0)),
+                stats.byAssignee());
+    }
+
+    @Test
+    void getProjectStats_ShouldServeRepeatedCallsFromCache() {
+        // Given
+        when(projectStatsRepository.aggregateByProject(1L)).thenReturn(List.of(
+                new ProjectStatsRow(ProjectStatsRepository.TOTAL, null, null, null, 0, 0)));
+
+        // When
+        ProjectStatsResponse first = projectStatsService.getProjectStats(1L);
+        ProjectStatsResponse second = projectStatsService.getProjectStats(1L);
+
+        // Then
+        assertSame(first, second);
+        verify(projectStatsRepository, times(1)).aggregateByProject(1L);
+        verify(projectService, times(1)).getProjectEntityById(1L);
+    }
+
+    @Test
+    void getProjectStats_ShouldThrow_WhenProjectNotFound() {
+        // Given
+        when(projectService.getProjectEntityById(99L)).thenThrow(new ProjectNotFoundException(99L));
+
+        // When & Then
+        assertThrows(ProjectNotFoundException.class, () -> projectStatsService.getProjectStats(99L));
+        verifyNoInteractions(projectStatsRepository);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.colaba.unit.service;
+
+import com.example.colaba.dto.project.ProjectTaskCountsResponse;
+import com.example.colaba.dto.project.TaskCountDelta;
+import com.example.colaba.dto.task.CreateTaskRequest;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.exception.project.ProjectNotFoundException;
+import com.example.colaba.repository.ProjectTaskCounterRepository;
+import com.example.colaba.service.ProjectService;
+import com.example.colaba.service.ProjectTaskCounterService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectTaskCounterServiceTest {
+
+    @Mock
+    private ProjectTaskCounterRepository counterRepository;
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ProjectTaskCounterService counterService;
+
+    @Test
+    void taskStatusChanged_ShouldMoveOneTaskBetweenStatuses() {
+        // When
+        counterService.taskStatusChanged(1L, TaskStatus.TODO, TaskStatus.DONE);
+
+        // Then
+        verify(counterRepository).add(List.of(
+                new TaskCountDelta(1L, TaskStatus.TODO, -1),
+                new TaskCountDelta(1L, TaskStatus.DONE, 1)));
+    }
+
+    @Test
+    void taskStatusChanged_ShouldSkip_WhenStatusUnchanged() {
+        // When
+        counterService.taskStatusChanged(1L, TaskStatus.TODO, TaskStatus.TODO);
+
+        // Then
+        verifyNoInteractions(counterRepository);
+    }
+
+    @Test
+    void tasksImported_ShouldAggregatePerProjectAndStatus() {
+        // Given
+        List<CreateTaskRequest> tasks = List.of(
+                task(1L, TaskStatus.TODO), task(1L, TaskStatus.TODO), task(1L, TaskStatus.DONE), task(2L, TaskStatus.TODO));
+
+        // When
+        counterService.tasksImported(tasks);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskCountDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(counterRepository).add(deltas.capture());
+        assertEquals(Set.of(
+                        new TaskCountDelta(1L, TaskStatus.TODO, 2),
+                        new TaskCountDelta(1L, TaskStatus.DONE, 1),
+                        new TaskCountDelta(2L, TaskStatus.TODO, 1)),
+                Set.copyOf(deltas.getValue()));
+    }
+
+    @Test
+    void getTaskCounts_ShouldFillMissingStatusesWithZero() {
+        // Given
+        when(counterRepository.countByProject(1L)).thenReturn(Map.of(TaskStatus.TODO, 3L, TaskStatus.DONE, 2L));
+
+        // When
+        ProjectTaskCountsResponse counts = counterService.getTaskCounts(1L);
+
+        // Then
+        assertEquals(5, counts.total());
+        assertEquals(3L, counts.byStatus().get(TaskStatus.TODO));
+        assertEquals(0L, counts.byStatus().get(TaskStatus.IN_PROGRESS));
+        assertEquals(TaskStatus.values().length, counts.byStatus().size());
+        verifyNoInteractions(projectService);
+    }
+
+    @Test
+    void getTaskCounts_ShouldThrow_WhenNoCountersAndProjectNotFound() {
+        // Given
+        when(counterRepository.countByProject(99L)).thenReturn(Map.of());
+        when(projectService.getProjectEntityById(99L)).thenThrow(new ProjectNotFoundException(99L));
+
+        // When & Then
+        assertThrows(ProjectNotFoundException.class, () -> counterService.getTaskCounts(99L));
+    }
+
+    @Test
+    void reconcile_ShouldWalkProjectRanges_AndContinueAfterFailedBatch() {
+        // Given
+        ReflectionTestUtils.setField(counterService, "reconcileBatchSize", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(counterRepository.findProjectIdsAfter(0L, 2)).thenReturn(List.of(3L, 5L));
+        when(counterRepository.findProjectIdsAfter(5L, 2)).thenReturn(List.of(8L, 9L));
+        when(counterRepository.findProjectIdsAfter(9L, 2)).thenReturn(List.of(12L));
+        when(counterRepository.reconcile(0L, 5L)).thenReturn(2);
+        when(counterRepository.reconcile(5L, 9L)).thenThrow(new IllegalStateException("project deleted"));
+        when(counterRepository.reconcile(9L, 12L)).thenReturn(1);
+
+        // When
+        long repaired = counterService.reconcile();
+
+        // Then
+        assertEquals(3, repaired);
+        verify(counterRepository, times(3)).lockReconciliation();
+        verify(counterRepository, never()).findProjectIdsAfter(12L, 2);
+    }
+
+    private static CreateTaskRequest task(Long projectId, TaskStatus status) {
+        return new CreateTaskRequest("Task", null, status, null, projectId, null, 10L, null);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.colaba.unit.service;
+
+import com.example.colaba.dto.search.SearchIndexStatusResponse;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.repository.SearchIndexSourceRepository;
+import com.example.colaba.search.CommentDocument;
+import com.example.colaba.search.LuceneTaskIndex;
+import com.example.colaba.search.TaskDocument;
+import com.example.colaba.service.SearchIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexServiceTest {
+
+    private static final int BATCH = 1_000;
+
+    @Mock
+    private LuceneTaskIndex index;
+
+    @Mock
+    private SearchIndexSourceRepository sourceRepository;
+
+    private SearchIndexService searchIndexService;
+
+    @BeforeEach
+    void setUp() {
+        // Rebuild выполняется сразу в вызывающем потоке
+        searchIndexService = new SearchIndexService(index, sourceRepository, Runnable::run);
+    }
+
+    @Test
+    void rebuild_ShouldPageThroughTasksAndComments_ThenDropOldGeneration() {
+        // Given
+        List<TaskDocument> fullBatch = LongStream.rangeClosed(1, BATCH)
+                .mapToObj(id -> new TaskDocument(id, 1L, TaskStatus.TODO, "Task " + id, null))
+                .toList();
+        TaskDocument lastTask = new TaskDocument(BATCH + 1, 1L, TaskStatus.DONE, "Last", null);
+        CommentDocument comment = new CommentDocument(5L, 1L, 1L, "Comment");
+        when(index.beginRebuild()).thenReturn(3L);
+        when(sourceRepository.findTasksAfter(0L, BATCH)).thenReturn(fullBatch);
+        when(sourceRepository.findTasksAfter(BATCH, BATCH)).thenReturn(List.of(lastTask));
+        when(sourceRepository.findCommentsAfter(0L, BATCH)).thenReturn(List.of(comment));
+        when(index.documentCount()).thenReturn(BATCH + 2L);
+
+        // When
+        SearchIndexStatusResponse status = searchIndexService.rebuild();
+
+        // Then
+        InOrder order = inOrder(index);
+        order.verify(index).beginRebuild();
+        order.verify(index).rebuildTasks(fullBatch);
+        order.verify(index).rebuildTasks(List.of(lastTask));
+        order.verify(index).rebuildComments(List.of(comment));
+        order.verify(index).finishRebuild(3L);
+        assertFalse(status.rebuilding());
+        assertNull(status.rebuildError());
+        assertNotNull(status.rebuildFinishedAt());
+        assertEquals(BATCH + 2L, status.documents());
+    }
+
+    @Test
+    void rebuild_ShouldReportError_AndKeepOldDocuments_WhenSourceFails() {
+        // Given
+        when(sourceRepository.findTasksAfter(0L, BATCH)).thenThrow(new IllegalStateException("connection lost"));
+
+        // When
+        SearchIndexStatusResponse status = searchIndexService.rebuild();
+
+        // Then
+        assertEquals("connection lost", status.rebuildError());
+        assertFalse(status.rebuilding());
+        verify(index, never()).finishRebuild(anyLong());
+        verify(index).abortRebuild();
+    }
+
+    @Test
+    void rebuild_ShouldNotStartTwice_WhileRunning() {
+        // Given
+        searchIndexService = new SearchIndexService(index, sourceRepository, task -> {
+        });
+
+        // When
+        SearchIndexStatusResponse first = searchIndexService.rebuild();
+        SearchIndexStatusResponse second = searchIndexService.rebuild();
+
+        // Then
+        assertTrue(first.rebuilding());
+        assertTrue(second.rebuilding());
+        assertEquals(first.rebuildStartedAt(), second.rebuildStartedAt());
+    }
+
+    @Test
+    void rebuild_ShouldFail_WhenExecutorRejects() {
+        // Given
+        searchIndexService = new SearchIndexService(index, sourceRepository, task -> {
+            throw new TaskRejectedException("queue full");
+        });
+
+        // When
+        SearchIndexStatusResponse status = searchIndexService.rebuild();
+
+        // Then
+        assertFalse(status.rebuilding());
+        assertTrue(status.rebuildError().startsWith("Rejected by executor"));
+    }
+
+    @Test
+    void search_ShouldThrow_WhenQueryBlank() {
+        assertThrows(IllegalArgumentException.class, () -> searchIndexService.search(" ", null, null, null, 20));
+        verifyNoInteractions(index);
+    }
+}
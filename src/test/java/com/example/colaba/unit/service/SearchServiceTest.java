@@ -0,0 +1,106 @@
+package com.example.colaba.unit.service;
+
+import com.example.colaba.dto.common.ScrollResponse;
+import com.example.colaba.dto.search.SearchHitResponse;
+import com.example.colaba.dto.search.SearchHitType;
+import com.example.colaba.exception.project.ProjectNotFoundException;
+import com.example.colaba.pagination.KeysetCursor;
+import com.example.colaba.repository.SearchRepository;
+import com.example.colaba.service.ProjectService;
+import com.example.colaba.service.SearchService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    @Mock
+    private SearchRepository searchRepository;
+
+    @Mock
+    private ProjectService projectService;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @Test
+    void search_ShouldReturnNextCursor_WhenMoreHitsThanLimit() {
+        // Given
+        SearchHitResponse first = hit(SearchHitType.TASK, 5L, 0.9f);
+        SearchHitResponse second = hit(SearchHitType.COMMENT, 7L, 0.4f);
+        when(searchRepository.search(1L, "deploy", EnumSet.allOf(SearchHitType.class), null, 3))
+                .thenReturn(List.of(first, second, hit(SearchHitType.TASK, 2L, 0.1f)));
+
+        // When
+        ScrollResponse<SearchHitResponse> result = searchService.search(1L, "deploy", null, null, 2);
+
+        // Then
+        assertEquals(List.of(first, second), result.items());
+        assertTrue(result.hasMore());
+        assertEquals(KeysetCursor.encode(0.4f, SearchHitType.COMMENT, 7L), result.nextCursor());
+        verify(projectService).getProjectEntityById(1L);
+    }
+
+    @Test
+    void search_ShouldContinueAfterCursor_AndKeepRequestedTypes() {
+        // Given
+        String cursor = KeysetCursor.encode(0.4f, SearchHitType.COMMENT, 7L);
+        SearchHitResponse only = hit(SearchHitType.TASK, 2L, 0.1f);
+        when(searchRepository.search(1L, "deploy", Set.of(SearchHitType.TASK),
+                new SearchRepository.After(0.4f, SearchHitType.COMMENT, 7L), 21))
+                .thenReturn(List.of(only));
+
+        // When
+        ScrollResponse<SearchHitResponse> result = searchService.search(1L, "deploy", Set.of(SearchHitType.TASK), cursor, 20);
+
+        // Then
+        assertEquals(List.of(only), result.items());
+        assertFalse(result.hasMore());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void search_ShouldThrow_WhenQueryBlankOrTooLong() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(1L, "  ", null, null, 20));
+        String tooLong = "a".repeat(SearchService.MAX_QUERY_LENGTH + 1);
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(1L, tooLong, null, null, 20));
+        verifyNoInteractions(searchRepository, projectService);
+    }
+
+    @Test
+    void search_ShouldThrow_WhenCursorInvalid() {
+        // Given
+        String cursor = KeysetCursor.encode(0.4f, "NOTE", 7L);
+
+        // When & Then
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> searchService.search(1L, "deploy", null, cursor, 20));
+        assertEquals("Invalid cursor", ex.getMessage());
+        verifyNoInteractions(searchRepository);
+    }
+
+    @Test
+    void search_ShouldThrow_WhenProjectNotFound() {
+        // Given
+        when(projectService.getProjectEntityById(99L)).thenThrow(new ProjectNotFoundException(99L));
+
+        // When & Then
+        assertThrows(ProjectNotFoundException.class, () -> searchService.search(99L, "deploy", null, null, 20));
+        verify(searchRepository, never()).search(anyLong(), anyString(), any(), any(), anyInt());
+    }
+
+    private SearchHitResponse hit(SearchHitType type, Long id, float rank) {
+        return new SearchHitResponse(type, id, id, "Task " + id, null, rank);
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.colaba.unit.service;
 
+import com.example.colaba.dto.common.ScrollResponse;
+import com.example.colaba.dto.common.SliceResponse;
 import com.example.colaba.dto.tag.CreateTagRequest;
 import com.example.colaba.dto.tag.TagResponse;
+import com.example.colaba.dto.tag.TaskTagLink;
+import com.example.colaba.dto.tag.TaskTagRow;
 import com.example.colaba.dto.tag.UpdateTagRequest;
+import com.example.colaba.dto.task.TaskResponse;
+import com.example.colaba.dto.task.TaskTagsBatchRequest;
+import com.example.colaba.dto.task.TaskTagsOperation;
 import com.example.colaba.entity.Project;
 import com.example.colaba.entity.Tag;
 import com.example.colaba.entity.task.Task;
+import com.example.colaba.event.ProjectEventPublisher;
 import com.example.colaba.exception.tag.DuplicateTagException;
 import com.example.colaba.exception.tag.TagNotFoundException;
 import com.example.colaba.exception.task.TaskNotFoundException;
 import com.example.colaba.mapper.TagMapper;
+import com.example.colaba.pagination.KeysetCursor;
+import com.example.colaba.repository.RowEstimateRepository;
 import com.example.colaba.repository.TagRepository;
 import com.example.colaba.service.ProjectService;
 import com.example.colaba.service.TagService;
@@ -24,9 +34,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -47,6 +62,12 @@ class TagServiceTest {
     @Mock
     private TagMapper tagMapper;
 
+    @Mock
+    private RowEstimateRepository rowEstimateRepository;
+
+    @Mock
+    private ProjectEventPublisher projectEventPublisher;
+
     @InjectMocks
     private TagService tagService;
 
@@ -109,6 +130,23 @@ class TagServiceTest {
         verify(tagMapper).toTagResponsePage(mockPage);
     }
 
+    @Test
+    void getAllTagsSlice_withoutEstimate_skipsCount() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(tagRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(savedTag), pageable, false));
+        when(tagMapper.toTagResponse(savedTag)).thenReturn(tagResponse);
+
+        // When
+        SliceResponse<TagResponse> result = tagService.getAllTagsSlice(pageable, false);
+
+        // Then
+        assertEquals(1, result.content().size());
+        assertFalse(result.hasNext());
+        assertNull(result.estimatedTotal());
+        verifyNoInteractions(rowEstimateRepository);
+    }
+
     @Test
     void getTagById_success() {
         // Given
@@ -158,6 +196,26 @@ class TagServiceTest {
         verify(tagMapper).toTagResponsePage(mockPage);
     }
 
+    @Test
+    void getTagsByProjectScroll_success() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<Tag> mockSlice = new SliceImpl<>(List.of(savedTag), pageable, true);
+
+        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
+        when(tagRepository.findByProjectIdAndIdGreaterThanOrderByIdAsc(testProjectId, 0L, pageable)).thenReturn(mockSlice);
+        when(tagMapper.toTagResponse(savedTag)).thenReturn(tagResponse);
+
+        // When
+        ScrollResponse<TagResponse> result = tagService.getTagsByProjectScroll(testProjectId, null, 10);
+
+        // Then
+        assertEquals(1, result.items().size());
+        assertTrue(result.hasMore());
+        assertEquals(KeysetCursor.encode(testTagId), result.nextCursor());
+        verify(tagRepository).findByProjectIdAndIdGreaterThanOrderByIdAsc(testProjectId, 0L, pageable);
+    }
+
     @Test
     void getTagsByProject_projectNotFound_throwsException() {
         // TODO
@@ -377,154 +435,224 @@ class TagServiceTest {
     @Test
     void assignTagToTask_success_newAssignment() {
         // Given
-        when(taskService.getTaskEntityById(testTaskId)).thenReturn(testTask);
-        when(tagRepository.findById(testTagId)).thenReturn(Optional.of(savedTag));
+        when(tagRepository.linkTasks(List.of(testTaskId), List.of(testTagId))).thenReturn(
+                List.of(new TaskTagLink(testTaskId, testTagId, testProjectId)));
 
         // When
         tagService.assignTagToTask(testTaskId, testTagId);
 
-        // Then
-        verify(taskService).getTaskEntityById(testTaskId);
-        verify(tagRepository).findById(testTagId);
-        verify(taskService).saveTask(argThat(task -> task.getTags().contains(savedTag)));
+        // Then: одна вставка, без загрузки task/tag и их коллекций
+        verify(taskService, never()).getTaskEntityById(anyLong());
+        verify(tagRepository, never()).findById(anyLong());
+        verify(taskService, never()).saveTask(any(Task.class));
+        verify(projectEventPublisher).tagAssigned(testTaskId, testTagId);
     }
 
     @Test
-    void assignTagToTask_idempotent_noSaveOnDuplicate() {
-        // Given: Pre-add tag to task for duplicate simulation
-        testTask.getTags().add(savedTag);  // Simulate already assigned
+    void assignTagToTask_idempotent_whenAlreadyLinked() {
+        // Given: ON CONFLICT DO NOTHING — 0 строк, но task и tag из одного проекта
+        when(tagRepository.linkTasks(List.of(testTaskId), List.of(testTagId))).thenReturn(List.of());
+        when(taskService.getTaskProjectId(testTaskId)).thenReturn(testProjectId);
+        when(tagRepository.findProjectIdById(testTagId)).thenReturn(Optional.of(testProjectId));
 
-        when(taskService.getTaskEntityById(testTaskId)).thenReturn(testTask);
-        when(tagRepository.findById(testTagId)).thenReturn(Optional.of(savedTag));
-
-        // When
-        tagService.assignTagToTask(testTaskId, testTagId);
-
-        // Then
-        verify(taskService).getTaskEntityById(testTaskId);
-        verify(tagRepository).findById(testTagId);
-        verify(taskService, never()).saveTask(any(Task.class));  // No save on duplicate
+        // When & Then
+        assertDoesNotThrow(() -> tagService.assignTagToTask(testTaskId, testTagId));
+        verifyNoInteractions(projectEventPublisher);
     }
 
     @Test
     void assignTagToTask_projectMismatch_throwsException() {
-        // Given: Mismatch project
-        Project otherProject = Project.builder().id(20L).build();
-        savedTag.setProject(otherProject);
-        when(taskService.getTaskEntityById(testTaskId)).thenReturn(testTask);
-        when(tagRepository.findById(testTagId)).thenReturn(Optional.of(savedTag));
+        // Given
+        when(tagRepository.linkTasks(List.of(testTaskId), List.of(testTagId))).thenReturn(List.of());
+        when(taskService.getTaskProjectId(testTaskId)).thenReturn(testProjectId);
+        when(tagRepository.findProjectIdById(testTagId)).thenReturn(Optional.of(20L));
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> tagService.assignTagToTask(testTaskId, testTagId));
         assertEquals("Tag does not belong to task's project", exception.getMessage());
-        verify(taskService).getTaskEntityById(testTaskId);
-        verify(tagRepository).findById(testTagId);
-        verify(taskService, never()).saveTask(any(Task.class));
     }
 
     @Test
     void assignTagToTask_tagNotFound_throwsException() {
         // Given
-        when(taskService.getTaskEntityById(testTaskId)).thenReturn(testTask);
-        when(tagRepository.findById(testTagId)).thenReturn(Optional.empty());
+        when(tagRepository.linkTasks(List.of(testTaskId), List.of(testTagId))).thenReturn(List.of());
+        when(taskService.getTaskProjectId(testTaskId)).thenReturn(testProjectId);
+        when(tagRepository.findProjectIdById(testTagId)).thenReturn(Optional.empty());
 
         // When & Then
         TagNotFoundException exception = assertThrows(TagNotFoundException.class,
                 () -> tagService.assignTagToTask(testTaskId, testTagId));
         assertEquals("Tag not found: ID " + testTagId, exception.getMessage());
-        verify(taskService).getTaskEntityById(testTaskId);
-        verify(tagRepository).findById(testTagId);
-        verify(taskService, never()).saveTask(any(Task.class));
     }
 
     @Test
     void assignTagToTask_taskNotFound_throwsException() {
         // Given
-        when(taskService.getTaskEntityById(testTaskId)).thenThrow(new TaskNotFoundException(testTaskId));
+        when(tagRepository.linkTasks(List.of(testTaskId), List.of(testTagId))).thenReturn(List.of());
+        when(taskService.getTaskProjectId(testTaskId)).thenThrow(new TaskNotFoundException(testTaskId));
 
         // When & Then
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class,
                 () -> tagService.assignTagToTask(testTaskId, testTagId));
         assertEquals("Task not found: ID " + testTaskId, exception.getMessage());
-        verify(tagRepository, never()).findById(anyLong());
-        verify(taskService, never()).saveTask(any(Task.class));
+        verify(tagRepository, never()).findProjectIdById(anyLong());
     }
 
     @Test
     void removeTagFromTask_success() {
-        // Given: Pre-add tag
-        testTask.getTags().add(savedTag);
-
-        when(taskService.getTaskEntityById(testTaskId)).thenReturn(testTask);
-        when(tagRepository.findById(testTagId)).thenReturn(Optional.of(savedTag));
-
-        // When
-        tagService.removeTagFromTask(testTaskId, testTagId);
-
-        // Then
-        verify(taskService).getTaskEntityById(testTaskId);
-        verify(tagRepository).findById(testTagId);
-        verify(taskService).saveTask(argThat(task -> !task.getTags().contains(savedTag)));
-    }
-
-    @Test
-    void removeTagFromTask_notAssigned_stillSaves() {
-        // Given: No tag pre-added (simulate not assigned)
-        when(taskService.getTaskEntityById(testTaskId)).thenReturn(testTask);
-        when(tagRepository.findById(testTagId)).thenReturn(Optional.of(savedTag));
+        // Given
+        when(tagRepository.unlinkTasks(List.of(testTaskId), List.of(testTagId))).thenReturn(
+                List.of(new TaskTagLink(testTaskId, testTagId, testProjectId)));
 
         // When
         tagService.removeTagFromTask(testTaskId, testTagId);
 
         // Then
-        verify(taskService).getTaskEntityById(testTaskId);
-        verify(tagRepository).findById(testTagId);
-        verify(taskService).saveTask(any(Task.class));  // Saves even if not removed (per code)
+        verify(taskService, never()).getTaskProjectId(anyLong());
+        verify(tagRepository, never()).existsById(anyLong());
+        verify(projectEventPublisher).tagRemoved(testTaskId, testTagId);
     }
 
     @Test
-    void removeTagFromTask_projectMismatch_throwsNoExceptionButSaves() {
-        // Given: Mismatch (code doesn't check in remove—only in assign)
-        Project otherProject = Project.builder().id(20L).build();
-        savedTag.setProject(otherProject);
-        when(taskService.getTaskEntityById(testTaskId)).thenReturn(testTask);
-        when(tagRepository.findById(testTagId)).thenReturn(Optional.of(savedTag));
-
-        // When (no throw expected)
-        tagService.removeTagFromTask(testTaskId, testTagId);
+    void removeTagFromTask_notAssigned_noException() {
+        // Given
+        when(tagRepository.unlinkTasks(List.of(testTaskId), List.of(testTagId))).thenReturn(List.of());
+        when(taskService.getTaskProjectId(testTaskId)).thenReturn(testProjectId);
+        when(tagRepository.existsById(testTagId)).thenReturn(true);
 
-        // Then
-        verify(taskService).getTaskEntityById(testTaskId);
-        verify(tagRepository).findById(testTagId);
-        verify(taskService).saveTask(any(Task.class));  // Proceeds anyway
+        // When & Then
+        assertDoesNotThrow(() -> tagService.removeTagFromTask(testTaskId, testTagId));
     }
 
     @Test
     void removeTagFromTask_tagNotFound_throwsException() {
         // Given
-        when(taskService.getTaskEntityById(testTaskId)).thenReturn(testTask);
-        when(tagRepository.findById(testTagId)).thenReturn(Optional.empty());
+        when(tagRepository.unlinkTasks(List.of(testTaskId), List.of(testTagId))).thenReturn(List.of());
+        when(taskService.getTaskProjectId(testTaskId)).thenReturn(testProjectId);
+        when(tagRepository.existsById(testTagId)).thenReturn(false);
 
         // When & Then
         TagNotFoundException exception = assertThrows(TagNotFoundException.class,
                 () -> tagService.removeTagFromTask(testTaskId, testTagId));
         assertEquals("Tag not found: ID " + testTagId, exception.getMessage());
-        verify(taskService).getTaskEntityById(testTaskId);
-        verify(tagRepository).findById(testTagId);
-        verify(taskService, never()).saveTask(any(Task.class));
     }
 
     @Test
     void removeTagFromTask_taskNotFound_throwsException() {
         // Given
-        when(taskService.getTaskEntityById(testTaskId)).thenThrow(new TaskNotFoundException(testTaskId));
+        when(tagRepository.unlinkTasks(List.of(testTaskId), List.of(testTagId))).thenReturn(List.of());
+        when(taskService.getTaskProjectId(testTaskId)).thenThrow(new TaskNotFoundException(testTaskId));
 
         // When & Then
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class,
                 () -> tagService.removeTagFromTask(testTaskId, testTagId));
         assertEquals("Task not found: ID " + testTaskId, exception.getMessage());
-        verify(tagRepository, never()).findById(anyLong());
-        verify(taskService, never()).saveTask(any(Task.class));
+        verify(tagRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void updateTaskTags_assign_singleStatement() {
+        // Given
+        Set<Long> taskIds = Set.of(1L, 2L, 3L);
+        Set<Long> tagIds = Set.of(7L, 8L);
+        // Then ниже: 2 и 3 уже связаны с 8 — в событие идут только вставленные пары
+        List<TaskTagLink> inserted = List.of(
+                new TaskTagLink(1L, 7L, testProjectId), new TaskTagLink(1L, 8L, testProjectId),
+                new TaskTagLink(2L, 7L, testProjectId), new TaskTagLink(3L, 7L, testProjectId));
+        when(tagRepository.linkTasks(taskIds, tagIds)).thenReturn(inserted);
+
+        // When
+        long updated = tagService.updateTaskTags(new TaskTagsBatchRequest(TaskTagsOperation.ASSIGN, taskIds, tagIds));
+
+        // Then
+        assertEquals(4, updated);
+        verify(tagRepository, never()).unlinkTasks(any(), any());
+        verify(projectEventPublisher).tagsUpdated(inserted);
+    }
+
+    @Test
+    void updateTaskTags_remove_singleStatement() {
+        // Given
+        Set<Long> taskIds = Set.of(1L, 2L);
+        Set<Long> tagIds = Set.of(7L);
+        when(tagRepository.unlinkTasks(taskIds, tagIds)).thenReturn(List.of(
+                new TaskTagLink(1L, 7L, testProjectId), new TaskTagLink(2L, 7L, testProjectId)));
+
+        // When
+        long updated = tagService.updateTaskTags(new TaskTagsBatchRequest(TaskTagsOperation.REMOVE, taskIds, tagIds));
+
+        // Then
+        assertEquals(2, updated);
+        verify(tagRepository, never()).linkTasks(any(), any());
+    }
+
+    @Test
+    void updateTaskTags_nothingChanged_noEvent() {
+        // Given
+        Set<Long> taskIds = Set.of(1L);
+        Set<Long> tagIds = Set.of(7L);
+        when(tagRepository.unlinkTasks(taskIds, tagIds)).thenReturn(List.of());
+
+        // When
+        long updated = tagService.updateTaskTags(new TaskTagsBatchRequest(TaskTagsOperation.REMOVE, taskIds, tagIds));
+
+        // Then
+        assertEquals(0, updated);
+        verifyNoInteractions(projectEventPublisher);
+    }
+
+    @Test
+    void getTagsByTaskIds_groupsSingleQueryResult_andKeepsTasksWithoutTags() {
+        // Given
+        TaskTagRow first = new TaskTagRow(testTaskId, testTagId, testName, testProjectId, "Test Project");
+        TaskTagRow second = new TaskTagRow(testTaskId, 5L, "Other", testProjectId, "Test Project");
+        when(tagRepository.findTaskTagRows(Set.of(testTaskId, 3L))).thenReturn(List.of(first, second));
+        when(tagMapper.toTagResponse(first)).thenReturn(tagResponse);
+        TagResponse otherResponse = new TagResponse(5L, "Other", testProjectId, "Test Project");
+        when(tagMapper.toTagResponse(second)).thenReturn(otherResponse);
+
+        // When
+        Map<Long, List<TagResponse>> result = tagService.getTagsByTaskIds(List.of(testTaskId, 3L));
+
+        // Then
+        assertEquals(List.of(testTaskId, 3L), List.copyOf(result.keySet()));
+        assertEquals(List.of(tagResponse, otherResponse), result.get(testTaskId));
+        assertEquals(List.of(), result.get(3L));
+        verify(tagRepository, never()).findByTaskId(anyLong());
+    }
+
+    @Test
+    void getTagsByTaskIds_empty_noQuery() {
+        assertTrue(tagService.getTagsByTaskIds(List.of()).isEmpty());
+        verify(tagRepository, never()).findTaskTagRows(any());
+    }
+
+    @Test
+    void getTagsByTaskIds_tooManyIds_throwsException() {
+        List<Long> ids = LongStream.rangeClosed(1, TagService.MAX_TASK_IDS + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> tagService.getTagsByTaskIds(ids));
+        verify(tagRepository, never()).findTaskTagRows(any());
+    }
+
+    @Test
+    void withTags_embedsTagsIntoEachTask() {
+        // Given
+        TaskResponse tagged = new TaskResponse(testTaskId, "Tagged", null, "TODO", null, testProjectId,
+                "Test Project", null, null, null, null, null, null, null);
+        TaskResponse plain = new TaskResponse(3L, "Plain", null, "TODO", null, testProjectId,
+                "Test Project", null, null, null, null, null, null, null);
+        TaskTagRow row = new TaskTagRow(testTaskId, testTagId, testName, testProjectId, "Test Project");
+        when(tagRepository.findTaskTagRows(Set.of(testTaskId, 3L))).thenReturn(List.of(row));
+        when(tagMapper.toTagResponse(row)).thenReturn(tagResponse);
+
+        // When
+        List<TaskResponse> result = tagService.withTags(List.of(tagged, plain));
+
+        // Then
+        assertEquals(List.of(tagResponse), result.get(0).tags());
+        assertEquals(List.of(), result.get(1).tags());
+        assertEquals("Plain", result.get(1).title());
     }
-}
\ No newline at end of file
+}
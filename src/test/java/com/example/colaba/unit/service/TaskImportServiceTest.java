@@ -0,0 +1,184 @@
+package com.example.colaba.unit.service;
+
+import com.example.colaba.dto.task.CreateTaskRequest;
+import com.example.colaba.dto.task.TaskImportError;
+import com.example.colaba.dto.task.TaskImportResponse;
+import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.repository.TaskCopyRepository;
+import com.example.colaba.service.ProjectTaskCounterService;
+import com.example.colaba.service.TaskImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceTest {
+
+    @Mock
+    private TaskCopyRepository taskCopyRepository;
+
+    @Mock
+    private ProjectTaskCounterService projectTaskCounterService;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    private ValidatorFactory validatorFactory;
+    private TaskImportService taskImportService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        taskImportService = new TaskImportService(taskCopyRepository, projectTaskCounterService,
+                new ObjectMapper().findAndRegisterModules(), validatorFactory.getValidator(), dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importTasks_ShouldCopyValidRows_FromJsonArray() throws Exception {
+        // Given
+        String body = """
+                [
+                  {"title": "First", "projectId": 1, "reporterId": 10, "dueDate": "2026-01-31"},
+                  {"title": "Second", "status": "DONE", "priority": "HIGH", "projectId": 1, "assigneeId": 11, "reporterId": 10}
+                ]""";
+        stubConnection();
+        when(taskCopyRepository.findExistingProjectIds(Set.of(1L))).thenReturn(Set.of(1L));
+        when(taskCopyRepository.findExistingUserIds(Set.of(10L, 11L))).thenReturn(Set.of(10L, 11L));
+        when(taskCopyRepository.copyIn(anyList())).thenReturn(2L);
+
+        // When
+        TaskImportResponse result = taskImportService.importTasks(stream(body));
+
+        // Then
+        assertEquals(new TaskImportResponse(2, 2, 0, List.of()), result);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateTaskRequest>> rows = ArgumentCaptor.forClass(List.class);
+        verify(taskCopyRepository).copyIn(rows.capture());
+        assertEquals(TaskStatus.getDefault(), rows.getValue().getFirst().status());
+        assertEquals(LocalDate.of(2026, 1, 31), rows.getValue().getFirst().dueDate());
+        verify(projectTaskCounterService).tasksImported(rows.getValue());
+    }
+
+    @Test
+    void importTasks_ShouldReportPerRowErrors_FromNdjson() throws Exception {
+        // Given
+        String body = """
+                {"title": "Ok", "projectId": 1, "reporterId": 10}
+                {"title": "", "projectId": 1, "reporterId": 10}
+                {"title": "Bad status", "status": "NOPE", "projectId": 1, "reporterId": 10}
+                {"title": "Missing project", "projectId": 2, "reporterId": 10}
+                {"title": "Missing assignee", "projectId": 1, "assigneeId": 99, "reporterId": 10}
+                """;
+        stubConnection();
+        when(taskCopyRepository.findExistingProjectIds(anyCollection())).thenReturn(Set.of(1L));
+        when(taskCopyRepository.findExistingUserIds(anyCollection())).thenReturn(Set.of(10L));
+        when(taskCopyRepository.copyIn(anyList())).thenAnswer(inv -> (long) inv.<List<?>>getArgument(0).size());
+
+        // When
+        TaskImportResponse result = taskImportService.importTasks(stream(body));
+
+        // Then
+        assertEquals(5, result.received());
+        assertEquals(1, result.imported());
+        assertEquals(4, result.failed());
+        assertEquals(List.of(1L, 2L, 3L, 4L), result.errors().stream().map(TaskImportError::row).toList());
+        assertTrue(result.errors().get(0).message().startsWith("title:"));
+        assertTrue(result.errors().get(1).message().startsWith("Invalid row"));
+        assertEquals("Project not found: ID 2", result.errors().get(2).message());
+        assertEquals("User not found: ID 99", result.errors().get(3).message());
+    }
+
+    @Test
+    void importTasks_ShouldStopAtMalformedJson_AndKeepEarlierRows() throws Exception {
+        // Given
+        String body = """
+                {"title": "Ok", "projectId": 1, "reporterId": 10}
+                {"title": "Broken", "projectId": 1,
+                """;
+        stubConnection();
+        when(taskCopyRepository.findExistingProjectIds(anyCollection())).thenReturn(Set.of(1L));
+        when(taskCopyRepository.findExistingUserIds(anyCollection())).thenReturn(Set.of(10L));
+        when(taskCopyRepository.copyIn(anyList())).thenReturn(1L);
+
+        // When
+        TaskImportResponse result = taskImportService.importTasks(stream(body));
+
+        // Then
+        assertEquals(1, result.imported());
+        assertEquals(1, result.failed());
+        assertTrue(result.errors().getFirst().message().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void importTasks_ShouldNotQuery_WhenNoValidRows() throws Exception {
+        // When
+        TaskImportResponse result = taskImportService.importTasks(stream("[{\"title\": \"No refs\"}]"));
+
+        // Then
+        assertEquals(0, result.imported());
+        assertEquals(1, result.failed());
+        verifyNoInteractions(taskCopyRepository, dataSource);
+    }
+
+    @Test
+    void importTasks_ShouldCommitEachChunkInItsOwnTransaction() throws Exception {
+        // Given: пачка и ещё одна строка
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i <= TaskImportService.CHUNK_SIZE; i++) {
+            body.append("{\"title\": \"Task ").append(i).append("\", \"projectId\": 1, \"reporterId\": 10}\n");
+        }
+        stubConnection();
+        when(taskCopyRepository.findExistingProjectIds(anyCollection())).thenReturn(Set.of(1L));
+        when(taskCopyRepository.findExistingUserIds(anyCollection())).thenReturn(Set.of(10L));
+        when(taskCopyRepository.copyIn(anyList())).thenAnswer(inv -> (long) inv.<List<?>>getArgument(0).size());
+
+        // When
+        TaskImportResponse result = taskImportService.importTasks(stream(body.toString()));
+
+        // Then
+        assertEquals(TaskImportService.CHUNK_SIZE + 1, result.imported());
+        verify(taskCopyRepository, times(2)).copyIn(anyList());
+        verify(dataSource, times(2)).getConnection();
+        verify(connection, times(2)).commit();
+        verify(connection, times(2)).close();
+    }
+
+    private void stubConnection() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,35 +1,58 @@
 package com.example.colaba.unit.service;
 
+import com.example.colaba.dto.common.ResourceVersion;
+import com.example.colaba.dto.common.ScrollResponse;
+import com.example.colaba.dto.common.SliceResponse;
 import com.example.colaba.dto.task.CreateTaskRequest;
+import com.example.colaba.dto.task.TaskField;
+import com.example.colaba.dto.task.TaskFilter;
 import com.example.colaba.dto.task.TaskResponse;
+import com.example.colaba.dto.task.TaskVersionRow;
 import com.example.colaba.dto.task.UpdateTaskRequest;
 import com.example.colaba.entity.Project;
 import com.example.colaba.entity.User;
 import com.example.colaba.entity.task.Task;
 import com.example.colaba.entity.task.TaskPriority;
 import com.example.colaba.entity.task.TaskStatus;
+import com.example.colaba.event.ProjectEventPublisher;
 import com.example.colaba.exception.task.TaskNotFoundException;
 import com.example.colaba.exception.user.UserNotFoundException;
 import com.example.colaba.mapper.TaskMapper;
+import com.example.colaba.pagination.KeysetCursor;
+import com.example.colaba.repository.RowEstimateRepository;
+import com.example.colaba.repository.SparseFieldRepository;
 import com.example.colaba.repository.TaskRepository;
+import com.example.colaba.search.SearchIndexUpdater;
 import com.example.colaba.service.ProjectService;
+import com.example.colaba.service.ProjectTaskCounterService;
 import com.example.colaba.service.TaskService;
+import com.example.colaba.service.TaskSyncService;
 import com.example.colaba.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -51,6 +74,24 @@ class TaskServiceTest {
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private RowEstimateRepository rowEstimateRepository;
+
+    @Mock
+    private SearchIndexUpdater searchIndexUpdater;
+
+    @Mock
+    private ProjectTaskCounterService projectTaskCounterService;
+
+    @Mock
+    private SparseFieldRepository sparseFieldRepository;
+
+    @Mock
+    private ProjectEventPublisher projectEventPublisher;
+
+    @Mock
+    private TaskSyncService taskSyncService;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -120,10 +161,10 @@ class TaskServiceTest {
     @Test
     void createTask_success() {
         // Given (arrange)
-        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
-        when(userService.getUserEntityById(testReporterId)).thenReturn(testReporter);
-        when(userService.getUserEntityById(testAssigneeId)).thenReturn(testAssignee);
-        when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
+        when(projectService.getProjectReference(testProjectId)).thenReturn(testProject);
+        when(userService.getUserReference(testReporterId)).thenReturn(testReporter);
+        when(userService.getUserReference(testAssigneeId)).thenReturn(testAssignee);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(savedTask);
         when(taskMapper.toTaskResponse(savedTask)).thenReturn(taskResponse);
 
         // When (act)
@@ -136,10 +177,11 @@ class TaskServiceTest {
         assertEquals(testProjectId, result.projectId());
         assertEquals(testAssigneeId, result.assigneeId());
         assertEquals(testReporterId, result.reporterId());
-        verify(projectService).getProjectEntityById(testProjectId);
-        verify(userService).getUserEntityById(testReporterId);
-        verify(userService).getUserEntityById(testAssigneeId);
-        verify(taskRepository).save(any(Task.class));
+        verify(projectService).getProjectReference(testProjectId);
+        verify(userService).getUserReference(testReporterId);
+        verify(userService).getUserReference(testAssigneeId);
+        verify(taskRepository).saveAndFlush(any(Task.class));
+        verify(projectTaskCounterService).taskCreated(testProjectId, testStatus);
         verify(taskMapper).toTaskResponse(savedTask);
     }
 
@@ -147,31 +189,29 @@ class TaskServiceTest {
     void createTask_projectNotFound_throwsException() {
         // TODO
 //        // Given
-//        when(projectService.getProjectEntityById(testProjectId))
+//        when(projectService.getProjectReference(testProjectId))
 //                .thenThrow(new ProjectNotFoundException(testProjectId));
 //
 //        // When & Then
 //        ProjectNotFoundException exception = assertThrows(ProjectNotFoundException.class,
 //                () -> taskService.createTask(request));
 //        assertEquals("Project not found: ID " + testProjectId, exception.getMessage());
-//        verify(userService, never()).getUserEntityById(anyLong());
+//        verify(userService, never()).getUserReference(anyLong());
 //        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
-    void createTask_reporterNotFound_throwsException() {
-        // Given
-        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
-        when(userService.getUserEntityById(testAssigneeId)).thenReturn(testAssignee);
-        when(userService.getUserEntityById(testReporterId))
-                .thenThrow(new UserNotFoundException(testReporterId));
+    void createTask_reporterNotFound_propagatesForeignKeyViolation() {
+        // Given: существование проверяет FK на INSERT, перевод в 404 — в GlobalExceptionHandler
+        when(projectService.getProjectReference(testProjectId)).thenReturn(testProject);
+        when(userService.getUserReference(testAssigneeId)).thenReturn(testAssignee);
+        when(userService.getUserReference(testReporterId)).thenReturn(testReporter);
+        when(taskRepository.saveAndFlush(any(Task.class)))
+                .thenThrow(new DataIntegrityViolationException("fk_tasks_reporter"));
 
         // When & Then
-        UserNotFoundException exception = assertThrows(UserNotFoundException.class,
-                () -> taskService.createTask(request));
-        assertEquals("User not found: ID " + testReporterId, exception.getMessage());
-        verify(userService).getUserEntityById(testReporterId);
-        verify(taskRepository, never()).save(any(Task.class));
+        assertThrows(DataIntegrityViolationException.class, () -> taskService.createTask(request));
+        verify(taskMapper, never()).toTaskResponse(any(Task.class));
     }
 
     @Test
@@ -182,8 +222,8 @@ class TaskServiceTest {
                 testProjectId, null, testReporterId, testDueDate
         );
 
-        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
-        when(userService.getUserEntityById(testReporterId)).thenReturn(testReporter);
+        when(projectService.getProjectReference(testProjectId)).thenReturn(testProject);
+        when(userService.getUserReference(testReporterId)).thenReturn(testReporter);
         Task nullAssigneeTask = Task.builder()
                 .id(testId)
                 .title(testTitle)
@@ -195,7 +235,7 @@ class TaskServiceTest {
                 .reporter(testReporter)
                 .dueDate(testDueDate)
                 .build();
-        when(taskRepository.save(any(Task.class))).thenReturn(nullAssigneeTask);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(nullAssigneeTask);
         when(taskMapper.toTaskResponse(nullAssigneeTask)).thenReturn(taskResponse); // Adjust response if needed
 
         // When
@@ -203,9 +243,9 @@ class TaskServiceTest {
 
         // Then
         assertEquals(testId, result.id());
-        verify(userService).getUserEntityById(testReporterId);
+        verify(userService).getUserReference(testReporterId);
         verifyNoMoreInteractions(userService);
-        verify(taskRepository).save(any(Task.class));
+        verify(taskRepository).saveAndFlush(any(Task.class));
     }
 
     @Test
@@ -237,10 +277,10 @@ class TaskServiceTest {
                 LocalDateTime.now(), LocalDateTime.now()
         );
 
-        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
-        when(userService.getUserEntityById(testReporterId)).thenReturn(testReporter);
-        when(userService.getUserEntityById(testAssigneeId)).thenReturn(testAssignee);
-        when(taskRepository.save(any(Task.class))).thenReturn(nullPriorityTask);
+        when(projectService.getProjectReference(testProjectId)).thenReturn(testProject);
+        when(userService.getUserReference(testReporterId)).thenReturn(testReporter);
+        when(userService.getUserReference(testAssigneeId)).thenReturn(testAssignee);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(nullPriorityTask);
         when(taskMapper.toTaskResponse(nullPriorityTask)).thenReturn(nullPriorityResponse);
 
         // When
@@ -250,10 +290,10 @@ class TaskServiceTest {
         assertEquals(testId, result.id());
         assertEquals(testTitle, result.title());
         assertNull(result.priority()); // Verify null priority in response
-        verify(projectService).getProjectEntityById(testProjectId);
-        verify(userService).getUserEntityById(testReporterId);
-        verify(userService).getUserEntityById(testAssigneeId);
-        verify(taskRepository).save(argThat(task -> task.getPriority() == null)); // Verify saved task has null priority
+        verify(projectService).getProjectReference(testProjectId);
+        verify(userService).getUserReference(testReporterId);
+        verify(userService).getUserReference(testAssigneeId);
+        verify(taskRepository).saveAndFlush(argThat(task -> task.getPriority() == null)); // Verify saved task has null priority
         verify(taskMapper).toTaskResponse(nullPriorityTask);
     }
 
@@ -286,10 +326,10 @@ class TaskServiceTest {
                 LocalDateTime.now(), LocalDateTime.now()
         );
 
-        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
-        when(userService.getUserEntityById(testReporterId)).thenReturn(testReporter);
-        when(userService.getUserEntityById(testAssigneeId)).thenReturn(testAssignee);
-        when(taskRepository.save(any(Task.class))).thenReturn(defaultStatusTask);
+        when(projectService.getProjectReference(testProjectId)).thenReturn(testProject);
+        when(userService.getUserReference(testReporterId)).thenReturn(testReporter);
+        when(userService.getUserReference(testAssigneeId)).thenReturn(testAssignee);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(defaultStatusTask);
         when(taskMapper.toTaskResponse(defaultStatusTask)).thenReturn(defaultStatusResponse);
 
         // When
@@ -299,7 +339,7 @@ class TaskServiceTest {
         assertEquals(testId, result.id());
         assertEquals(testTitle, result.title());
         assertEquals(TaskStatus.getDefault().name(), result.status()); // Verify default status in response
-        verify(taskRepository).save(argThat(task -> TaskStatus.getDefault().equals(task.getStatus()))); // Verify saved task has default status
+        verify(taskRepository).saveAndFlush(argThat(task -> TaskStatus.getDefault().equals(task.getStatus()))); // Verify saved task has default status
         verify(taskMapper).toTaskResponse(defaultStatusTask);
     }
 
@@ -332,6 +372,62 @@ class TaskServiceTest {
         verify(taskMapper, never()).toTaskResponse(any(Task.class));
     }
 
+    @Test
+    void getTaskVersion_ShouldMatchVersionOfFullResponse() {
+        // Given
+        TaskVersionRow row = new TaskVersionRow(testId, taskResponse.updatedAt(), testProject.getName(),
+                testAssignee.getUsername(), testReporter.getUsername());
+        when(taskRepository.findVersionById(testId)).thenReturn(Optional.of(row));
+
+        // When
+        ResourceVersion version = taskService.getTaskVersion(testId);
+
+        // Then
+        assertEquals(TaskVersionRow.from(taskResponse).version(), version);
+        assertTrue(version.etag().startsWith("W/\""));
+        verify(taskRepository, never()).findById(anyLong());
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    void getTaskVersion_ShouldChange_WhenAssigneeRenamed() {
+        // Given
+        TaskVersionRow before = TaskVersionRow.from(taskResponse);
+        TaskVersionRow after = new TaskVersionRow(before.id(), before.updatedAt(), before.projectName(),
+                "renamed", before.reporterUsername());
+
+        // When & Then
+        assertNotEquals(before.version().etag(), after.version().etag());
+        assertEquals(before.version().lastModified(), after.version().lastModified());
+    }
+
+    @Test
+    void getTaskVersion_notFound_throwsException() {
+        // Given
+        when(taskRepository.findVersionById(testId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTaskVersion(testId));
+    }
+
+    @Test
+    void getTasksByProjectVersion_ShouldMatchVersionOfFullPage() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
+        when(taskRepository.findVersionsByProjectId(testProjectId, pageable))
+                .thenReturn(new PageImpl<>(List.of(TaskVersionRow.from(taskResponse)), pageable, 1));
+        Page<TaskResponse> fullPage = new PageImpl<>(List.of(taskResponse), pageable, 1);
+
+        // When
+        ResourceVersion version = taskService.getTasksByProjectVersion(testProjectId, pageable);
+
+        // Then
+        assertEquals(ResourceVersion.ofPage(fullPage.map(task -> TaskVersionRow.from(task).version())), version);
+        assertEquals(ResourceVersion.NO_LAST_MODIFIED, version.lastModified());
+        verify(taskRepository, never()).findByProject(any(), any());
+    }
+
     @Test
     void getTaskEntityById_success() {
         // Given
@@ -358,6 +454,25 @@ class TaskServiceTest {
         assertEquals("Task not found: ID " + testId, exception.getMessage());
     }
 
+    @Test
+    void getTaskProjectId_success() {
+        // Given
+        when(taskRepository.findProjectIdById(testId)).thenReturn(Optional.of(testProjectId));
+
+        // When & Then
+        assertEquals(testProjectId, taskService.getTaskProjectId(testId));
+        verify(taskRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getTaskProjectId_notFound_throwsException() {
+        // Given
+        when(taskRepository.findProjectIdById(testId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTaskProjectId(testId));
+    }
+
     @Test
     void getTasksByProject_success() {
         // Given
@@ -394,6 +509,60 @@ class TaskServiceTest {
 //        verify(taskRepository, never()).findByProject(any(Project.class), any(Pageable.class));
     }
 
+    @Test
+    void getTaskFieldsByProject_ShouldSelectRequestedFieldsOnly() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Set<TaskField> fields = TaskField.parse("title, status");
+        Page<Map<String, Object>> rows = new PageImpl<>(List.of(Map.of("id", testId, "title", testTitle, "status", "TODO")));
+        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
+        when(sparseFieldRepository.findPage(eq(Task.class), any(), eq(fields), eq(pageable))).thenReturn(rows);
+
+        // When
+        Page<Map<String, Object>> result = taskService.getTaskFieldsByProject(testProjectId, fields, pageable);
+
+        // Then
+        assertSame(rows, result);
+        assertEquals(Set.of(TaskField.ID, TaskField.TITLE, TaskField.STATUS), fields);
+        verifyNoInteractions(taskMapper);
+        verify(taskRepository, never()).findByProject(any(), any());
+    }
+
+    @Test
+    void taskFieldParse_ShouldRejectUnknownField() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> TaskField.parse("title,secret"));
+        assertTrue(exception.getMessage().startsWith("Unknown field: secret"));
+        assertTrue(TaskField.parse(" ").isEmpty());
+    }
+
+    @Test
+    void taskFieldToJson_ShouldMatchFullResponseFormat() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 10, 0, 0, 123_456_000);
+        TaskResponse full = new TaskResponse(testId, testTitle, null, testStatus.name(), testPriority.name(),
+                testProjectId, null, null, null, testReporterId, null, LocalDate.of(2026, 1, 31),
+                createdAt, createdAt.plusDays(1));
+        Map<String, Object> sparse = new LinkedHashMap<>();
+        sparse.put("dueDate", TaskField.DUE_DATE.toJson(full.dueDate()));
+        sparse.put("createdAt", TaskField.CREATED_AT.toJson(full.createdAt()));
+        sparse.put("updatedAt", TaskField.UPDATED_AT.toJson(full.updatedAt()));
+        sparse.put("status", TaskField.STATUS.toJson(testStatus));
+
+        // When
+        JsonNode fullJson = objectMapper.valueToTree(full);
+        JsonNode sparseJson = objectMapper.valueToTree(sparse);
+
+        // Then: ?fields= не меняет формат значений
+        for (String field : List.of("dueDate", "createdAt", "updatedAt", "status")) {
+            assertEquals(fullJson.get(field), sparseJson.get(field), field);
+        }
+        assertEquals("2026-01-01 10:00:00", sparseJson.get("createdAt").asText());
+        assertNull(TaskField.DUE_DATE.toJson(null));
+    }
+
     @Test
     void getTasksByAssignee_success() {
         // Given
@@ -429,6 +598,147 @@ class TaskServiceTest {
         verify(taskRepository, never()).findByAssignee(any(User.class), any(Pageable.class));
     }
 
+    @Test
+    void getAllTasksSlice_withoutEstimate_returnsHasNextOnly() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(taskRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(savedTask), pageable, true));
+        when(taskMapper.toTaskResponse(savedTask)).thenReturn(taskResponse);
+
+        // When
+        SliceResponse<TaskResponse> result = taskService.getAllTasksSlice(pageable, false);
+
+        // Then
+        assertEquals(1, result.content().size());
+        assertTrue(result.hasNext());
+        assertNull(result.estimatedTotal());
+        verify(taskRepository, never()).findAll(any(Pageable.class));
+        verifyNoInteractions(rowEstimateRepository);
+    }
+
+    @Test
+    void getAllTasksSlice_withEstimate_usesPlannerStatistics() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(taskRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(savedTask), pageable, false));
+        when(taskMapper.toTaskResponse(savedTask)).thenReturn(taskResponse);
+        when(rowEstimateRepository.estimateTableRows("tasks")).thenReturn(1_200_000L);
+
+        // When
+        SliceResponse<TaskResponse> result = taskService.getAllTasksSlice(pageable, true);
+
+        // Then
+        assertFalse(result.hasNext());
+        assertEquals(1_200_000L, result.estimatedTotal());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getTasks_emptyFilter_usesEntityGraphFindAll() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Task> mockPage = new PageImpl<>(List.of(savedTask));
+        when(taskRepository.findAll(pageable)).thenReturn(mockPage);
+        when(taskMapper.toTaskResponsePage(mockPage)).thenReturn(new PageImpl<>(List.of(taskResponse)));
+
+        // When
+        Page<TaskResponse> result = taskService.getTasks(TaskFilter.NONE, pageable);
+
+        // Then
+        assertEquals(1, result.getTotalElements());
+        verify(taskRepository, never()).findBy(any(Specification.class), any(Function.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getTasks_withFilter_usesSpecification() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        TaskFilter filter = new TaskFilter(testProjectId, Set.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS), null,
+                null, null, null, null, null, null, null, null, null, null);
+        Page<Task> mockPage = new PageImpl<>(List.of(savedTask));
+        when(taskRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(mockPage);
+        when(taskMapper.toTaskResponsePage(mockPage)).thenReturn(new PageImpl<>(List.of(taskResponse)));
+
+        // When
+        Page<TaskResponse> result = taskService.getTasks(filter, pageable);
+
+        // Then
+        assertEquals(List.of(taskResponse), result.getContent());
+        verify(taskRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getTasksSlice_withFilter_skipsEstimate() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        TaskFilter filter = new TaskFilter(null, null, null, testAssigneeId, null, null, null,
+                null, null, null, null, null, null);
+        when(taskRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(new SliceImpl<>(List.of(savedTask), pageable, true));
+        when(taskMapper.toTaskResponse(savedTask)).thenReturn(taskResponse);
+
+        // When
+        SliceResponse<TaskResponse> result = taskService.getTasksSlice(filter, pageable, true);
+
+        // Then
+        assertTrue(result.hasNext());
+        assertNull(result.estimatedTotal());
+        verifyNoInteractions(rowEstimateRepository);
+    }
+
+    @Test
+    void getTasksByProjectScroll_success() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<Task> mockSlice = new SliceImpl<>(List.of(savedTask), pageable, true);
+
+        when(projectService.getProjectEntityById(testProjectId)).thenReturn(testProject);
+        when(taskRepository.findByProjectIdAndIdGreaterThanOrderByIdAsc(testProjectId, 0L, pageable)).thenReturn(mockSlice);
+        when(taskMapper.toTaskResponse(savedTask)).thenReturn(taskResponse);
+
+        // When
+        ScrollResponse<TaskResponse> result = taskService.getTasksByProjectScroll(testProjectId, null, 10);
+
+        // Then
+        assertEquals(1, result.items().size());
+        assertTrue(result.hasMore());
+        assertEquals(KeysetCursor.encode(testId), result.nextCursor());
+        verify(taskRepository).findByProjectIdAndIdGreaterThanOrderByIdAsc(testProjectId, 0L, pageable);
+    }
+
+    @Test
+    void getTasksByAssigneeScroll_lastPage_returnsNullCursor() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<Task> mockSlice = new SliceImpl<>(List.of(savedTask), pageable, false);
+
+        when(userService.getUserEntityById(testAssigneeId)).thenReturn(testAssignee);
+        when(taskRepository.findByAssigneeIdAndIdGreaterThanOrderByIdAsc(testAssigneeId, 7L, pageable)).thenReturn(mockSlice);
+        when(taskMapper.toTaskResponse(savedTask)).thenReturn(taskResponse);
+
+        // When
+        ScrollResponse<TaskResponse> result = taskService.getTasksByAssigneeScroll(testAssigneeId, KeysetCursor.encode(7L), 10);
+
+        // Then
+        assertEquals(1, result.items().size());
+        assertFalse(result.hasMore());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getTasksByAssigneeScroll_userNotFound_throwsException() {
+        // Given
+        when(userService.getUserEntityById(testAssigneeId))
+                .thenThrow(new UserNotFoundException(testAssigneeId));
+
+        // When & Then
+        assertThrows(UserNotFoundException.class,
+                () -> taskService.getTasksByAssigneeScroll(testAssigneeId, null, 10));
+        verify(taskRepository, never()).findByAssigneeIdAndIdGreaterThanOrderByIdAsc(anyLong(), anyLong(), any(Pageable.class));
+    }
+
     @Test
     void updateTask_success() {
         // Given
@@ -459,6 +769,7 @@ class TaskServiceTest {
         assertEquals(updateRequest.status().name(), result.status());
         verify(taskRepository).findById(testId);
         verify(taskRepository).save(any(Task.class));
+        verify(projectTaskCounterService).taskStatusChanged(testProjectId, testStatus, TaskStatus.IN_PROGRESS);
         verify(taskMapper).toTaskResponse(updatedTask);
     }
 
@@ -692,27 +1003,29 @@ class TaskServiceTest {
     @Test
     void deleteTask_success() {
         // Given
-        when(taskRepository.existsById(testId)).thenReturn(true);
-        doNothing().when(taskRepository).deleteById(testId);
+        when(taskRepository.findById(testId)).thenReturn(Optional.of(savedTask));
 
         // When
         taskService.deleteTask(testId);
 
         // Then
-        verify(taskRepository).existsById(testId);
-        verify(taskRepository).deleteById(testId);
+        verify(taskRepository).delete(savedTask);
+        verify(projectTaskCounterService).taskDeleted(testProjectId, testStatus);
+        verify(taskSyncService).taskDeleted(testProjectId, testId);
+        verify(searchIndexUpdater).taskDeleted(testId);
     }
 
     @Test
     void deleteTask_notFound_throwsException() {
         // Given
-        when(taskRepository.existsById(testId)).thenReturn(false);
+        when(taskRepository.findById(testId)).thenReturn(Optional.empty());
 
         // When & Then
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class,
                 () -> taskService.deleteTask(testId));
         assertEquals("Task not found: ID " + testId, exception.getMessage());
-        verify(taskRepository, never()).deleteById(testId);
+        verify(taskRepository, never()).delete(any(Task.class));
+        verifyNoInteractions(projectTaskCounterService);
     }
 
     @Test
@@ -0,0 +1,154 @@
+package com.example.colaba.unit.service;
+
+import com.example.colaba.dto.task.TaskChangesResponse;
+import com.example.colaba.dto.task.TaskTombstone;
+import com.example.colaba.entity.task.Task;
+import com.example.colaba.exception.project.ProjectNotFoundException;
+import com.example.colaba.exception.task.SyncWatermarkExpiredException;
+import com.example.colaba.mapper.TaskMapper;
+import com.example.colaba.pagination.SyncWatermark;
+import com.example.colaba.repository.TaskRepository;
+import com.example.colaba.repository.TaskTombstoneRepository;
+import com.example.colaba.service.ProjectService;
+import com.example.colaba.service.TaskSyncService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSyncServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @InjectMocks
+    private TaskSyncService taskSyncService;
+
+    @Test
+    void getTaskChanges_ShouldReturnAllTasksWithoutTombstones_OnInitialSync() {
+        // Given
+        Task task = task(5L, Instant.now().minus(Duration.ofHours(1)));
+        when(taskRepository.findChangedAfter(eq(1L), any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(task)));
+
+        // When
+        TaskChangesResponse response = taskSyncService.getTaskChanges(1L, null, 20);
+
+        // Then
+        assertEquals(1, response.changed().size());
+        assertTrue(response.deleted().isEmpty());
+        assertFalse(response.hasMore());
+        // Водяной знак отстаёт от текущего времени на settle-delay
+        SyncWatermark next = SyncWatermark.decode(response.watermark());
+        assertTrue(next.at().isBefore(Instant.now().minus(Duration.ofSeconds(29))));
+        verify(projectService).getProjectEntityById(1L);
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    void getTaskChanges_ShouldAdvanceToLastTaskAndBoundTombstones_WhenMorePagesRemain() {
+        // Given
+        Instant since = Instant.now().minus(Duration.ofDays(1)).truncatedTo(ChronoUnit.MICROS);
+        Instant lastUpdated = since.plus(Duration.ofHours(1)).truncatedTo(ChronoUnit.MICROS);
+        Task first = task(3L, since.plusSeconds(60));
+        Task last = task(9L, lastUpdated);
+        when(taskRepository.findChangedAfter(eq(1L), any(LocalDateTime.class), eq(2L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(first, last), Pageable.ofSize(2), true));
+        TaskTombstone tombstone = new TaskTombstone(4L, LocalDateTime.now());
+        when(tombstoneRepository.findByProject(1L, since, lastUpdated)).thenReturn(List.of(tombstone));
+
+        // When
+        TaskChangesResponse response = taskSyncService.getTaskChanges(
+                1L, new SyncWatermark(since, 2L).encode(), 2);
+
+        // Then
+        assertTrue(response.hasMore());
+        assertEquals(2, response.changed().size());
+        assertEquals(List.of(tombstone), response.deleted());
+        assertEquals(new SyncWatermark(lastUpdated, 9L), SyncWatermark.decode(response.watermark()));
+    }
+
+    @Test
+    void getTaskChanges_ShouldMoveOnPastFullPage_WhenItIsNewerThanSettlePoint() {
+        // Given: клиент уже у settle-точки, вся страница — последние секунды
+        Instant since = Instant.now().minus(Duration.ofSeconds(10)).truncatedTo(ChronoUnit.MICROS);
+        Task last = task(7L, Instant.now().minus(Duration.ofSeconds(5)));
+        when(taskRepository.findChangedAfter(eq(1L), any(LocalDateTime.class), eq(1L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(last), Pageable.ofSize(1), true));
+
+        // When
+        TaskChangesResponse response = taskSyncService.getTaskChanges(
+                1L, new SyncWatermark(since, 1L).encode(), 1);
+
+        // Then
+        SyncWatermark next = SyncWatermark.decode(response.watermark());
+        assertEquals(7L, next.id());
+        assertTrue(next.compareTo(new SyncWatermark(since, 1L)) > 0);
+    }
+
+    @Test
+    void getTaskChanges_ShouldThrowGone_WhenWatermarkIsOlderThanRetention() {
+        // Given
+        String since = new SyncWatermark(Instant.now().minus(Duration.ofDays(31)), 1L).encode();
+
+        // When & Then
+        assertThrows(SyncWatermarkExpiredException.class, () -> taskSyncService.getTaskChanges(1L, since, 20));
+        verifyNoInteractions(taskRepository, tombstoneRepository);
+    }
+
+    @Test
+    void getTaskChanges_ShouldRejectInvalidWatermark_AndMissingProject() {
+        assertThrows(IllegalArgumentException.class, () -> taskSyncService.getTaskChanges(1L, "garbage", 20));
+
+        when(projectService.getProjectEntityById(2L)).thenThrow(new ProjectNotFoundException(2L));
+        assertThrows(ProjectNotFoundException.class, () -> taskSyncService.getTaskChanges(2L, null, 20));
+        verify(taskRepository, never()).findChangedAfter(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void purgeTombstones_ShouldDeleteRecordsOlderThanRetention() {
+        // Given
+        when(tombstoneRepository.deleteOlderThan(any(Instant.class))).thenReturn(3);
+
+        // When
+        int purged = taskSyncService.purgeTombstones();
+
+        // Then
+        assertEquals(3, purged);
+        verify(tombstoneRepository).deleteOlderThan(argThat(cutoff ->
+                cutoff.isBefore(Instant.now().minus(Duration.ofDays(29)))));
+    }
+
+    private static Task task(Long id, Instant updatedAt) {
+        Task task = new Task();
+        task.setId(id);
+        task.setUpdatedAt(LocalDateTime.ofInstant(updatedAt, ZoneId.systemDefault()));
+        return task;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.colaba.unit.service;
+
+import com.example.colaba.dto.user.UserPurgeJobResponse;
+import com.example.colaba.exception.user.UserNotFoundException;
+import com.example.colaba.exception.user.UserPurgeJobNotFoundException;
+import com.example.colaba.repository.UserPurgeRepository;
+import com.example.colaba.repository.UserRepository;
+import com.example.colaba.service.UserPurgeService;
+import com.example.colaba.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserPurgeServiceTest {
+
+    private static final long USER_ID = 7L;
+    private static final int BATCH = 2;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserPurgeRepository userPurgeRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Runnable> submitted = new ArrayList<>();
+
+    @Test
+    void startPurge_ShouldDrainEachPhaseInBatches_ThenDeleteUser() {
+        // Given
+        UserPurgeService service = service(Runnable::run);
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        inTransaction();
+        when(userPurgeRepository.deleteAuthoredComments(USER_ID, BATCH)).thenReturn(2, 2, 1);
+        when(userPurgeRepository.deleteOwnedProjectComments(USER_ID, BATCH)).thenReturn(0);
+        when(userPurgeRepository.deleteOwnedProjectTasks(USER_ID, BATCH)).thenReturn(2, 0);
+        when(userPurgeRepository.unlinkAssignee(USER_ID, BATCH)).thenReturn(1);
+        when(userPurgeRepository.unlinkReporter(USER_ID, BATCH)).thenReturn(0);
+
+        // When
+        UserPurgeJobResponse job = service.startPurge(USER_ID);
+
+        // Then
+        assertEquals("COMPLETED", job.status());
+        assertEquals("USER", job.phase());
+        assertEquals(Map.of("AUTHORED_COMMENTS", 5L, "PROJECT_COMMENTS", 0L, "PROJECT_TASKS", 2L,
+                "ASSIGNED_TASKS", 1L, "REPORTED_TASKS", 0L, "USER", 1L), job.processedRows());
+        assertNotNull(job.finishedAt());
+        verify(transactionTemplate, times(8)).execute(any());
+        verify(userService).deleteUser(USER_ID);
+    }
+
+    @Test
+    void startPurge_ShouldMarkJobFailed_AndAllowRestart() {
+        // Given
+        UserPurgeService service = service(Runnable::run);
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        inTransaction();
+        when(userPurgeRepository.deleteAuthoredComments(USER_ID, BATCH))
+                .thenThrow(new IllegalStateException("lock timeout"))
+                .thenReturn(0);
+
+        // When
+        UserPurgeJobResponse failed = service.startPurge(USER_ID);
+        UserPurgeJobResponse restarted = service.startPurge(USER_ID);
+
+        // Then
+        assertEquals("FAILED", failed.status());
+        assertEquals("AUTHORED_COMMENTS", failed.phase());
+        assertEquals("lock timeout", failed.error());
+        assertNotEquals(failed.jobId(), restarted.jobId());
+        assertEquals("COMPLETED", restarted.status());
+    }
+
+    @Test
+    void startPurge_ShouldReturnRunningJob_ForSameUser() {
+        // Given
+        UserPurgeService service = service(submitted::add);
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+
+        // When
+        UserPurgeJobResponse first = service.startPurge(USER_ID);
+        UserPurgeJobResponse second = service.startPurge(USER_ID);
+
+        // Then
+        assertEquals(first.jobId(), second.jobId());
+        assertEquals("RUNNING", service.getJob(first.jobId()).status());
+        assertEquals(1, submitted.size());
+        verifyNoInteractions(userPurgeRepository);
+    }
+
+    @Test
+    void startPurge_ShouldThrowUserNotFound_WhenUserNotExists() {
+        // Given
+        UserPurgeService service = service(submitted::add);
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+
+        // When & Then
+        assertThrows(UserNotFoundException.class, () -> service.startPurge(USER_ID));
+        assertTrue(submitted.isEmpty());
+    }
+
+    @Test
+    void getJob_ShouldThrow_WhenUnknown() {
+        UserPurgeService service = service(submitted::add);
+
+        assertThrows(UserPurgeJobNotFoundException.class, () -> service.getJob(UUID.randomUUID()));
+        verify(userPurgeRepository, never()).deleteAuthoredComments(anyLong(), anyInt());
+    }
+
+    private UserPurgeService service(TaskExecutor executor) {
+        UserPurgeService service = new UserPurgeService(userRepository, userPurgeRepository, userService,
+                transactionTemplate, executor);
+        ReflectionTestUtils.setField(service, "batchSize", BATCH);
+        return service;
+    }
+
+    private void inTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.colaba.unit.service;
 
+import com.example.colaba.cache.CacheEvictionListener;
+import com.example.colaba.dto.common.SliceResponse;
 import com.example.colaba.dto.user.CreateUserRequest;
 import com.example.colaba.dto.user.UpdateUserRequest;
 import com.example.colaba.dto.user.UserResponse;
@@ -9,22 +11,27 @@ import com.example.colaba.exception.user.DuplicateUserEntityEmailException;
 import com.example.colaba.exception.user.DuplicateUserEntityUsernameException;
 import com.example.colaba.exception.user.UserNotFoundException;
 import com.example.colaba.mapper.UserMapper;
-import com.example.colaba.repository.ProjectRepository;
+import com.example.colaba.pagination.KeysetCursor;
+import com.example.colaba.repository.RowEstimateRepository;
+import com.example.colaba.repository.TaskRepository;
 import com.example.colaba.repository.UserRepository;
 import com.example.colaba.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,11 +41,17 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private ProjectRepository projectRepository;
+    private CacheEvictionListener cacheEvictionListener;
 
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private RowEstimateRepository rowEstimateRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
     @InjectMocks
     private UserService userService;
 
@@ -314,24 +327,30 @@ class UserServiceTest {
     @Test
     void deleteUser_success() {
         // Given
-        when(userRepository.findById(test_id)).thenReturn(Optional.of(savedUser));
-        when(projectRepository.findByOwner(savedUser)).thenReturn(List.of());
-        doNothing().when(userRepository).deleteById(test_id);
+        when(userRepository.deleteCascadeById(test_id)).thenReturn(1);
 
         // When
         userService.deleteUser(test_id);
 
-        // Then
-        verify(userRepository).deleteById(test_id);
+        // Then: задачи отвязываются с новым updated_at до DELETE, иначе их обнулит ON DELETE SET NULL
+        InOrder inOrder = inOrder(taskRepository, userRepository);
+        inOrder.verify(taskRepository).unlinkAssignee(eq(test_id), any(LocalDateTime.class));
+        inOrder.verify(taskRepository).unlinkReporter(eq(test_id), any(LocalDateTime.class));
+        inOrder.verify(userRepository).deleteCascadeById(test_id);
+        verify(userRepository, never()).findById(any());
+        verify(cacheEvictionListener).onBulkRemove(User.class, test_id);
     }
 
     @Test
     void deleteUser_notFound_throwsException() {
+        // Given
+        when(userRepository.deleteCascadeById(test_id)).thenReturn(0);
+
         // When & Then
         UserNotFoundException exception = assertThrows(UserNotFoundException.class,
                 () -> userService.deleteUser(test_id));
         assertEquals("User not found: ID " + test_id, exception.getMessage());
-        verify(userRepository, never()).deleteById(test_id);
+        verify(cacheEvictionListener, never()).onBulkRemove(any(), any());
     }
 
     @Test
@@ -351,47 +370,57 @@ class UserServiceTest {
         verify(userMapper).toUserResponsePage(mockPage);
     }
 
+    @Test
+    void getAllUsersSlice_withEstimate_returnsEstimatedTotal() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        UserResponse userResponse = new UserResponse(test_id, test_username, test_email);
+        when(userRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(savedUser), pageable, true));
+        when(userMapper.toUserResponse(savedUser)).thenReturn(userResponse);
+        when(rowEstimateRepository.estimateTableRows("users")).thenReturn(42L);
+
+        // When
+        SliceResponse<UserResponse> result = userService.getAllUsersSlice(pageable, true);
+
+        // Then
+        assertEquals(List.of(userResponse), result.content());
+        assertTrue(result.hasNext());
+        assertEquals(42L, result.estimatedTotal());
+        verify(userRepository, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     void getUsersScroll_withEmptyCursor_returnsFirstPage() {
         // Given
-        String cursor = "";
         int limit = 10;
-        int expectedPage = 0;
-        String expectedNextCursor = "1";
-
         List<User> users = List.of(savedUser);
-        Pageable pageable = PageRequest.of(expectedPage, limit, Sort.by("id"));
-        Page<User> mockPage = new PageImpl<>(users, pageable, 11);
+        Pageable pageable = PageRequest.of(0, limit);
+        Slice<User> mockSlice = new SliceImpl<>(users, pageable, true);
 
-        // Mock findAll to return Page<User>
-        when(userRepository.findAll(pageable)).thenReturn(mockPage);
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, pageable)).thenReturn(mockSlice);
         when(userMapper.toUserResponseList(users)).thenReturn(List.of(new UserResponse(test_id, test_username, test_email)));
 
         // When
-        UserScrollResponse result = userService.getUsersScroll(cursor, limit);
+        UserScrollResponse result = userService.getUsersScroll(null, limit);
 
         // Then
         assertEquals(1, result.users().size());
-        assertEquals(expectedNextCursor, result.nextCursor());
+        assertEquals(KeysetCursor.encode(test_id), result.nextCursor());
         assertTrue(result.hasMore());
-        verify(userRepository).findAll(pageable);
+        verify(userRepository).findByIdGreaterThanOrderByIdAsc(0L, pageable);
         verify(userMapper).toUserResponseList(users);
     }
 
     @Test
-    void getUsersScroll_withCursor_returnsNextPage() {
+    void getUsersScroll_withCursor_seeksAfterLastId() {
         // Given
-        String cursor = "5";
+        String cursor = KeysetCursor.encode(5L);
         int limit = 10;
-        int expectedPage = 0;
-        String expectedNextCursor = "6";
-
         List<User> users = List.of(savedUser);
-        Pageable pageable = PageRequest.of(expectedPage, limit, Sort.by("id"));
-        Page<User> mockPage = new PageImpl<>(users, pageable, 1);
+        Pageable pageable = PageRequest.of(0, limit);
+        Slice<User> mockSlice = new SliceImpl<>(users, pageable, false);
 
-        // Mock findAll to return Page<User>
-        when(userRepository.findAll(pageable)).thenReturn(mockPage);
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(5L, pageable)).thenReturn(mockSlice);
         when(userMapper.toUserResponseList(users)).thenReturn(List.of(new UserResponse(test_id, test_username, test_email)));
 
         // When
@@ -399,9 +428,17 @@ class UserServiceTest {
 
         // Then
         assertEquals(1, result.users().size());
-        assertEquals(expectedNextCursor, result.nextCursor());
+        assertNull(result.nextCursor());
         assertFalse(result.hasMore());
-        verify(userRepository).findAll(pageable);
-        verify(userMapper).toUserResponseList(users);
+        verify(userRepository).findByIdGreaterThanOrderByIdAsc(5L, pageable);
+    }
+
+    @Test
+    void getUsersScroll_invalidCursor_throwsException() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> userService.getUsersScroll("not-a-cursor", 10));
+        assertEquals("Invalid cursor", exception.getMessage());
+        verifyNoInteractions(userMapper);
     }
 }